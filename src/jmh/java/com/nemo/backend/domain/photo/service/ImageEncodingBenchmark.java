@@ -0,0 +1,133 @@
+// backend/src/jmh/java/com/nemo/backend/domain/photo/service/ImageEncodingBenchmark.java
+package com.nemo.backend.domain.photo.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 1건당 인코딩 CPU 비교.
+ * - legacySequential : 예전 방식 (WEBP → 이득 없으면 JPEG → 이득 없으면 PNG, 매번 전체 인코딩)
+ * - singlePass       : ImageFormatDecider 로 인코더 1개만 선택
+ *
+ * 디코딩 비용은 두 방식이 같으므로 @Setup 에서 한 번만 한다.
+ * 실제 포토부스 JPEG 로 돌리려면: ./gradlew jmh -Pjmh.images=/path/a.jpg,/path/b.jpg
+ * (build.gradle 이 input @Param 값을 그 파일 목록으로 바꿔서 벤치마크 JVM 에 넘긴다 → 결과에 파일별로 나옴)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageEncodingBenchmark {
+
+    /**
+     * "WxH" 면 그 크기의 합성 포토부스 이미지, 아니면 이미지 파일 경로.
+     * 기본값은 포토부스 출력물 대표 크기: 4컷 세로 스트립 / 2x2 4컷 / 휴대폰 원본을 2048 로 줄인 것
+     */
+    @Param({"600x1800", "1200x1800", "2048x1536"})
+    public String input;
+
+    private byte[] original;
+    private BufferedImage decoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if (input.matches("\\d+x\\d+")) {
+            String[] wh = input.split("x");
+            original = ImageEncoder.encode(
+                    syntheticPhotobooth(Integer.parseInt(wh[0]), Integer.parseInt(wh[1])), "jpeg", 0.92f);
+        } else {
+            original = Files.readAllBytes(new File(input).toPath());
+        }
+        decoded = ImageIO.read(new ByteArrayInputStream(original));
+    }
+
+    @Benchmark
+    public void legacySequential(Blackhole bh) throws Exception {
+        int originalSize = original.length;
+
+        byte[] webp = ImageEncoder.encode(decoded, "webp", 0.80f);
+        if ((double) webp.length / originalSize < 0.95) {
+            bh.consume(webp);
+            return;
+        }
+        byte[] jpeg = ImageEncoder.encode(ImageEncoder.toOpaqueRgb(decoded), "jpeg", 0.85f);
+        if ((double) jpeg.length / originalSize < 0.98) {
+            bh.consume(jpeg);
+            return;
+        }
+        bh.consume(ImageEncoder.encode(decoded, "png", null));
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole bh) throws Exception {
+        ImageFormatDecider.Decision d =
+                ImageFormatDecider.decide("image/jpeg", decoded, original.length, false);
+        if (d.primary() == ImageFormatDecider.Format.ORIGINAL) {
+            bh.consume(original);
+            return;
+        }
+        BufferedImage src = d.primary() == ImageFormatDecider.Format.JPEG
+                ? ImageEncoder.toOpaqueRgb(decoded) : decoded;
+        bh.consume(ImageEncoder.encode(src, d.primary().formatName, d.primary().quality));
+    }
+
+    /** 흰 프레임 + 컷별 그라데이션/노이즈(피부·조명 질감) + 로고 텍스트 */
+    private static BufferedImage syntheticPhotobooth(int w, int h) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, w, h);
+
+        Random rnd = new Random(42);
+        int cols = w > h ? 2 : (w * 2 < h ? 1 : 2);
+        int rows = 4 / cols;
+        int margin = Math.max(12, w / 40);
+        int cellW = (w - margin * (cols + 1)) / cols;
+        int cellH = (h - margin * (rows + 2)) / rows;
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int x0 = margin + c * (cellW + margin);
+                int y0 = margin + r * (cellH + margin);
+                for (int y = 0; y < cellH; y++) {
+                    for (int x = 0; x < cellW; x++) {
+                        int base = 120 + (x * 60 / cellW) + (y * 40 / cellH);
+                        int n = (int) (rnd.nextGaussian() * 12);
+                        int red = clamp(base + 40 + n);
+                        int green = clamp(base + n);
+                        int blue = clamp(base - 30 + n);
+                        img.setRGB(x0 + x, y0 + y, (red << 16) | (green << 8) | blue);
+                    }
+                }
+                g.setColor(new Color(230, 190, 160));
+                g.fillOval(x0 + cellW / 3, y0 + cellH / 5, cellW / 3, cellH / 2);
+                g.setColor(new Color(40, 30, 30));
+                g.setStroke(new BasicStroke(Math.max(2, cellW / 100f)));
+                g.drawOval(x0 + cellW / 3, y0 + cellH / 5, cellW / 3, cellH / 2);
+            }
+        }
+
+        g.setColor(Color.DARK_GRAY);
+        g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, Math.max(16, w / 20)));
+        g.drawString("PHOTO BOOTH  2025.07.20", margin, h - margin);
+        g.dispose();
+        return img;
+    }
+
+    private static int clamp(int v) {
+        return Math.max(0, Math.min(255, v));
+    }
+}
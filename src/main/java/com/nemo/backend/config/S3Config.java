@@ -10,6 +10,7 @@ import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
 import java.time.Duration;
@@ -32,6 +33,10 @@ public class S3Config {
     @Value("${app.s3.pathStyle:true}")    // LocalStack=true, 실AWS=false 권장
     private boolean pathStyle;
 
+    // presigned URL 에 들어갈 호스트 (클라이언트 기준). 에뮬레이터 → LocalStack 처럼 서버와 주소가 다를 때만 지정
+    @Value("${app.s3.public-endpoint:${app.s3.endpoint:}}")
+    private String publicEndpoint;
+
     @Bean
     public S3Client s3Client() {
         var creds = StaticCredentialsProvider.create(
@@ -64,4 +69,21 @@ public class S3Config {
         }
         return builder.build();
     }
+
+    /** presigned GET/PUT URL 서명용 (네트워크 호출 없음, 로컬에서 서명만 계산) */
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        var builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(pathStyle)
+                        .build());
+
+        if (publicEndpoint != null && !publicEndpoint.isBlank()) {
+            builder = builder.endpointOverride(URI.create(publicEndpoint));
+        }
+        return builder.build();
+    }
 }
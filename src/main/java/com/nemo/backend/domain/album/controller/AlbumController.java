@@ -9,12 +9,15 @@ import java.util.Map;
 import com.nemo.backend.domain.album.dto.*;
 import com.nemo.backend.domain.album.service.AlbumService;
 import com.nemo.backend.domain.auth.util.AuthExtractor;
+import com.nemo.backend.domain.file.FileResponses;
+import com.nemo.backend.domain.file.ZipStreamer;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(
@@ -26,6 +29,7 @@ public class AlbumController {
 
     private final AlbumService albumService;
     private final AuthExtractor authExtractor;
+    private final ZipStreamer zipStreamer;
 
     // 1) GET /api/albums : 앨범 목록 조회
     @GetMapping
@@ -278,4 +282,16 @@ public class AlbumController {
         AlbumDownloadUrlsResponse resp = albumService.getAlbumDownloadUrls(userId, albumId);
         return ResponseEntity.ok(resp);
     }
+
+    // ✅ 12) GET /api/albums/{albumId}/download.zip : 앨범 전체 사진을 ZIP 하나로 스트리밍
+    @GetMapping(value = "/{albumId}/download.zip", produces = MediaType.ALL_VALUE)
+    public ResponseEntity<StreamingResponseBody> downloadAlbumZip(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @PathVariable Long albumId
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+        // 권한/대상 확인은 응답 시작 전에 끝낸다 (스트리밍 중엔 상태 코드를 바꿀 수 없음)
+        List<ZipStreamer.Entry> entries = albumService.getAlbumZipEntries(userId, albumId);
+        return FileResponses.zip("nemo_album_" + albumId + ".zip", zipStreamer.body(entries));
+    }
 }
@@ -30,6 +30,7 @@ public class AlbumDetailResponse {
     public static class PhotoSummary {
         private Long photoId;
         private String imageUrl;
+        private String thumbnailUrl; // 그리드용 256px 렌디션 (없으면 imageUrl)
         private LocalDateTime takenAt;
         private String location;   // ✅ 명세: location (문자열만)
         private String brand;      // ✅ 명세: brand
@@ -1,14 +1,10 @@
 package com.nemo.backend.domain.album.entity;
 
 import com.nemo.backend.domain.user.entity.User;
-import com.nemo.backend.domain.photo.entity.Photo;
 import com.nemo.backend.global.entity.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Entity
 @Table(name = "album")
 @Getter @Setter
@@ -33,12 +29,5 @@ public class Album extends BaseEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    // ✅ 앨범에 포함된 사진 (N:N)
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(
-            name = "album_photos",
-            joinColumns = @JoinColumn(name = "album_id"),
-            inverseJoinColumns = @JoinColumn(name = "photo_id")
-    )
-    private List<Photo> photos = new ArrayList<>();
+    // 앨범에 포함된 사진은 AlbumPhoto(album_photos) / AlbumPhotoRepository 로 관리
 }
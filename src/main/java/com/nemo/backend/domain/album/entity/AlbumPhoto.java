@@ -0,0 +1,47 @@
+package com.nemo.backend.domain.album.entity;
+
+import com.nemo.backend.domain.photo.entity.Photo;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 앨범 ↔ 사진 연결 (album_photos)
+ * - PK (album_id, photo_id) → 같은 사진 중복 추가 불가
+ * - 추가/삭제는 AlbumPhotoRepository 의 집합 단위 INSERT / DELETE 로만 수행
+ *   (예전 @ManyToMany bag 은 변경 시마다 앨범의 연결 행 전체를 지우고 다시 넣었음)
+ */
+@Entity
+@Table(
+        name = "album_photos",
+        indexes = {
+                // 사진 → 앨범 역방향 조회 (접근 권한 확인 등)
+                @Index(name = "idx_album_photos_photo", columnList = "photo_id"),
+                // 앨범 내 추가 순서 정렬
+                @Index(name = "idx_album_photos_album_added", columnList = "album_id, added_at")
+        }
+)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlbumPhoto {
+
+    @EmbeddedId
+    private AlbumPhotoId id;
+
+    @MapsId("albumId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "album_id")
+    private Album album;
+
+    @MapsId("photoId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "photo_id")
+    private Photo photo;
+
+    /** 앨범에 추가된 시각 (앨범 내 정렬 기준) */
+    @Column(name = "added_at", nullable = false)
+    private LocalDateTime addedAt;
+}
@@ -0,0 +1,24 @@
+package com.nemo.backend.domain.album.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * album_photos 복합 PK (album_id, photo_id)
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AlbumPhotoId implements Serializable {
+
+    @Column(name = "album_id")
+    private Long albumId;
+
+    @Column(name = "photo_id")
+    private Long photoId;
+}
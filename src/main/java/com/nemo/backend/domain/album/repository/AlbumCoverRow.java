@@ -0,0 +1,15 @@
+// backend/src/main/java/com/nemo/backend/domain/album/repository/AlbumCoverRow.java
+package com.nemo.backend.domain.album.repository;
+
+/**
+ * 앨범 자동 커버 후보 (앨범별 가장 최근에 올린 살아있는 사진)
+ */
+public record AlbumCoverRow(Long albumId, String previewUrl, String thumbnailUrl, String imageUrl) {
+
+    /** 768px 렌디션 → 썸네일 → 원본 순 */
+    public String coverUrl() {
+        if (previewUrl != null && !previewUrl.isBlank()) return previewUrl;
+        if (thumbnailUrl != null && !thumbnailUrl.isBlank()) return thumbnailUrl;
+        return imageUrl;
+    }
+}
@@ -0,0 +1,5 @@
+// backend/src/main/java/com/nemo/backend/domain/album/repository/AlbumCoverUrlRow.java
+package com.nemo.backend.domain.album.repository;
+
+/** 고아 객체 정리용: 앨범 커버 URL */
+public record AlbumCoverUrlRow(Long id, String coverPhotoUrl) {}
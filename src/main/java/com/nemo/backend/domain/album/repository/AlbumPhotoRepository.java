@@ -0,0 +1,183 @@
+// backend/src/main/java/com/nemo/backend/domain/album/repository/AlbumPhotoRepository.java
+package com.nemo.backend.domain.album.repository;
+
+import com.nemo.backend.domain.album.entity.AlbumPhoto;
+import com.nemo.backend.domain.album.entity.AlbumPhotoId;
+import com.nemo.backend.domain.album.entity.AlbumShare;
+import com.nemo.backend.domain.photo.entity.Photo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * album_photos 연결 테이블 전용 Repository.
+ * -------------------------------------------
+ * - 조회는 살아있는(deleted = false) 사진 기준
+ * - 추가/삭제는 건별 엔티티 조작 없이 집합 단위 INSERT / DELETE 한 번으로 처리
+ */
+public interface AlbumPhotoRepository extends JpaRepository<AlbumPhoto, AlbumPhotoId> {
+
+    // ✅ 앨범의 살아있는 사진 (추가된 순서)
+    @Query("""
+        SELECT p
+        FROM AlbumPhoto ap
+        JOIN ap.photo p
+        WHERE ap.id.albumId = :albumId
+          AND p.deleted = false
+        ORDER BY ap.addedAt ASC, p.id ASC
+        """)
+    List<Photo> findLivePhotos(@Param("albumId") Long albumId);
+
+    // ✅ 앨범의 살아있는 사진 중 최근 업로드 순 (자동 커버 선택, LIMIT 은 Pageable 로)
+    @Query("""
+        SELECT p
+        FROM AlbumPhoto ap
+        JOIN ap.photo p
+        WHERE ap.id.albumId = :albumId
+          AND p.deleted = false
+        ORDER BY p.createdAt DESC, p.id DESC
+        """)
+    List<Photo> findLatestLivePhotos(@Param("albumId") Long albumId, Pageable limit);
+
+    // ✅ 앨범 안에 있는 사진 중 지정한 ID 들 (삭제 여부 무관)
+    @Query("""
+        SELECT p
+        FROM AlbumPhoto ap
+        JOIN ap.photo p
+        WHERE ap.id.albumId = :albumId
+          AND ap.id.photoId IN :photoIds
+        """)
+    List<Photo> findPhotosInAlbum(@Param("albumId") Long albumId, @Param("photoIds") Collection<Long> photoIds);
+
+    // ✅ 살아있는 사진 수
+    @Query("""
+        SELECT count(ap)
+        FROM AlbumPhoto ap
+        JOIN ap.photo p
+        WHERE ap.id.albumId = :albumId
+          AND p.deleted = false
+        """)
+    long countLive(@Param("albumId") Long albumId);
+
+    // ✅ 사진이 앨범에 (살아있는 상태로) 포함돼 있는지
+    @Query("""
+        SELECT count(ap) > 0
+        FROM AlbumPhoto ap
+        JOIN ap.photo p
+        WHERE ap.id.albumId = :albumId
+          AND ap.id.photoId = :photoId
+          AND p.deleted = false
+        """)
+    boolean existsLive(@Param("albumId") Long albumId, @Param("photoId") Long photoId);
+
+    // ✅ 여러 앨범에 포함된 살아있는 사진 ID
+    @Query("""
+        SELECT DISTINCT ap.id.photoId
+        FROM AlbumPhoto ap
+        JOIN ap.photo p
+        WHERE ap.id.albumId IN :albumIds
+          AND p.deleted = false
+        """)
+    List<Long> findLivePhotoIds(@Param("albumIds") Collection<Long> albumIds);
+
+    /**
+     * ✅ 사진 일괄 추가 (INSERT ... SELECT, 이미 있는 사진/삭제된 사진/남의 사진은 건너뜀)
+     * - userId 본인 사진만 추가 (남의 사진 ID 를 내 앨범에 넣어 앨범 경유로 열람하는 것 방지)
+     * - 반환값: 실제로 추가된 행 수
+     * - INSERT IGNORE 대신 NOT EXISTS 를 써서 H2(dev) / MariaDB(prod) 모두 동작
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO album_photos (album_id, photo_id, added_at)
+        SELECT :albumId, p.id, CURRENT_TIMESTAMP
+        FROM photos p
+        WHERE p.id IN (:photoIds)
+          AND p.user_id = :userId
+          AND p.deleted = false
+          AND NOT EXISTS (
+              SELECT 1 FROM album_photos ap
+              WHERE ap.album_id = :albumId
+                AND ap.photo_id = p.id)
+        """, nativeQuery = true)
+    int insertMissing(@Param("albumId") Long albumId,
+                      @Param("userId") Long userId,
+                      @Param("photoIds") Collection<Long> photoIds);
+
+    // ✅ 사진 일괄 제거 (반환값: 삭제된 행 수)
+    @Modifying
+    @Query("DELETE FROM AlbumPhoto ap WHERE ap.id.albumId = :albumId AND ap.id.photoId IN :photoIds")
+    int deleteFromAlbum(@Param("albumId") Long albumId, @Param("photoIds") Collection<Long> photoIds);
+
+    // ✅ 앨범 삭제 시 연결 전체 제거
+    @Modifying
+    @Query("DELETE FROM AlbumPhoto ap WHERE ap.id.albumId = :albumId")
+    int deleteAllInAlbum(@Param("albumId") Long albumId);
+
+    // ===== 사진 접근 권한 (PhotoAccessService) =====
+
+    /**
+     * ✅ 사진이 userId 가 소유했거나 공유(status, active)받은 앨범 중 하나에 들어 있는지
+     * - album_photos(photo_id 인덱스) ⨝ album ⨝ album_share 한 번으로 판정
+     */
+    @Query("""
+        SELECT count(ap) > 0
+        FROM AlbumPhoto ap
+        JOIN ap.photo p
+        JOIN ap.album a
+        WHERE ap.id.photoId = :photoId
+          AND p.deleted = false
+          AND (a.user.id = :userId
+               OR EXISTS (
+                   SELECT 1
+                   FROM AlbumShare s
+                   WHERE s.album = a
+                     AND s.user.id = :userId
+                     AND s.status = :status
+                     AND s.active = true))
+        """)
+    boolean existsInAccessibleAlbum(
+            @Param("userId") Long userId,
+            @Param("photoId") Long photoId,
+            @Param("status") AlbumShare.Status status
+    );
+
+    // ✅ 사진이 userId 가 공유(status, active)받은 앨범 중 하나에 들어 있는지 (상세/즐겨찾기 권한)
+    @Query("""
+        SELECT count(ap) > 0
+        FROM AlbumPhoto ap
+        JOIN ap.photo p
+        WHERE ap.id.photoId = :photoId
+          AND p.deleted = false
+          AND EXISTS (
+              SELECT 1
+              FROM AlbumShare s
+              WHERE s.album = ap.album
+                AND s.user.id = :userId
+                AND s.status = :status
+                AND s.active = true)
+        """)
+    boolean existsInSharedAlbum(
+            @Param("userId") Long userId,
+            @Param("photoId") Long photoId,
+            @Param("status") AlbumShare.Status status
+    );
+
+    // ✅ photoIds 중 albumIds 앨범들에 (살아있는 상태로) 들어 있는 사진 ID
+    @Query("""
+        SELECT DISTINCT ap.id.photoId
+        FROM AlbumPhoto ap
+        JOIN ap.photo p
+        WHERE ap.id.photoId IN :photoIds
+          AND ap.id.albumId IN :albumIds
+          AND p.deleted = false
+        """)
+    List<Long> findPhotoIdsInAlbums(
+            @Param("photoIds") Collection<Long> photoIds,
+            @Param("albumIds") Collection<Long> albumIds
+    );
+}
@@ -1,13 +1,62 @@
 // backend/src/main/java/com/nemo/backend/domain/album/repository/AlbumRepository.java
 package com.nemo.backend.domain.album.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.nemo.backend.domain.album.entity.Album;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AlbumRepository extends JpaRepository<Album, Long> {
 
+    // ✅ 고아 객체 정리: 커버 URL (id 키셋 페이지)
+    @Query("""
+        SELECT new com.nemo.backend.domain.album.repository.AlbumCoverUrlRow(a.id, a.coverPhotoUrl)
+        FROM Album a
+        WHERE a.id > :afterId
+          AND a.coverPhotoUrl IS NOT NULL
+        ORDER BY a.id ASC
+        """)
+    List<AlbumCoverUrlRow> findCoverUrls(@Param("afterId") Long afterId, Pageable pageable);
+
     // ✅ 사용자가 소유한 앨범만 조회
     List<Album> findByUserId(Long userId);
+
+    // ✅ 사용자가 소유한 앨범 ID 만 조회 (접근 권한 캐시용)
+    @Query("SELECT a.id FROM Album a WHERE a.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    // ✅ 앨범 목록용: 소유 앨범 + 살아있는 사진 수 (한 번의 GROUP BY 쿼리)
+    @Query("""
+        SELECT new com.nemo.backend.domain.album.repository.AlbumSummaryRow(
+            a.id, a.name, a.coverPhotoUrl, a.createdAt, count(p.id))
+        FROM Album a
+        LEFT JOIN AlbumPhoto ap ON ap.album = a
+        LEFT JOIN ap.photo p ON p.deleted = false
+        WHERE a.user.id = :userId
+        GROUP BY a.id, a.name, a.coverPhotoUrl, a.createdAt
+        """)
+    List<AlbumSummaryRow> findOwnedSummaries(@Param("userId") Long userId);
+
+    // ✅ 커버가 비어 있는 앨범들의 자동 커버 후보 (앨범별 최신 사진, 일괄 조회)
+    @Query("""
+        SELECT new com.nemo.backend.domain.album.repository.AlbumCoverRow(
+            a.id, p.previewUrl, p.thumbnailUrl, p.imageUrl)
+        FROM AlbumPhoto ap
+        JOIN ap.album a
+        JOIN ap.photo p
+        WHERE a.id IN :albumIds
+          AND p.deleted = false
+          AND p.createdAt = (
+              SELECT max(p2.createdAt)
+              FROM AlbumPhoto ap2
+              JOIN ap2.photo p2
+              WHERE ap2.id.albumId = a.id
+                AND p2.deleted = false)
+        ORDER BY p.id DESC
+        """)
+    List<AlbumCoverRow> findLatestCovers(@Param("albumIds") Collection<Long> albumIds);
 }
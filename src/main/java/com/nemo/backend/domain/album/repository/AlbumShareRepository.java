@@ -3,6 +3,8 @@ package com.nemo.backend.domain.album.repository;
 import com.nemo.backend.domain.album.entity.AlbumShare;
 import com.nemo.backend.domain.album.entity.AlbumShare.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,4 +28,23 @@ public interface AlbumShareRepository extends JpaRepository<AlbumShare, Long> {
 
     // ✅ 앨범별 ACCEPTED 멤버만 조회 (공유 멤버 목록용)
     List<AlbumShare> findByAlbumIdAndStatusAndActiveTrue(Long albumId, Status status);
+
+    // ✅ 공유받은 앨범 ID 만 조회 (접근 권한 캐시용)
+    @Query("SELECT s.album.id FROM AlbumShare s WHERE s.user.id = :userId AND s.status = :status AND s.active = true")
+    List<Long> findAlbumIdsByUserId(@Param("userId") Long userId, @Param("status") Status status);
+
+    // ✅ 앨범 목록용: 공유받은 앨범(status, active) + 내 역할 + 살아있는 사진 수 (한 번의 GROUP BY 쿼리)
+    @Query("""
+        SELECT new com.nemo.backend.domain.album.repository.AlbumSummaryRow(
+            a.id, a.name, a.coverPhotoUrl, a.createdAt, s.role, count(p.id))
+        FROM AlbumShare s
+        JOIN s.album a
+        LEFT JOIN AlbumPhoto ap ON ap.album = a
+        LEFT JOIN ap.photo p ON p.deleted = false
+        WHERE s.user.id = :userId
+          AND s.status = :status
+          AND s.active = true
+        GROUP BY a.id, a.name, a.coverPhotoUrl, a.createdAt, s.role
+        """)
+    List<AlbumSummaryRow> findSharedSummaries(@Param("userId") Long userId, @Param("status") Status status);
 }
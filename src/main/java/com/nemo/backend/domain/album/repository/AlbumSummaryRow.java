@@ -0,0 +1,38 @@
+// backend/src/main/java/com/nemo/backend/domain/album/repository/AlbumSummaryRow.java
+package com.nemo.backend.domain.album.repository;
+
+import com.nemo.backend.domain.album.entity.AlbumShare;
+
+import java.time.LocalDateTime;
+
+/**
+ * 앨범 목록 1행 프로젝션 (사진 컬렉션을 로딩하지 않고 COUNT 로 집계)
+ *
+ * @param role      OWNER / CO_OWNER / EDITOR / VIEWER
+ * @param liveCount 삭제되지 않은 사진 수
+ */
+public record AlbumSummaryRow(
+        Long albumId,
+        String title,
+        String coverPhotoUrl,
+        LocalDateTime createdAt,
+        String role,
+        Long liveCount
+) {
+
+    /** 내가 소유한 앨범 (JPQL constructor expression 용) */
+    public AlbumSummaryRow(Long albumId, String title, String coverPhotoUrl,
+                           LocalDateTime createdAt, Long liveCount) {
+        this(albumId, title, coverPhotoUrl, createdAt, "OWNER", liveCount);
+    }
+
+    /** 공유받은 앨범 (JPQL constructor expression 용) */
+    public AlbumSummaryRow(Long albumId, String title, String coverPhotoUrl,
+                           LocalDateTime createdAt, AlbumShare.Role role, Long liveCount) {
+        this(albumId, title, coverPhotoUrl, createdAt, role.name(), liveCount);
+    }
+
+    public int photoCount() {
+        return liveCount == null ? 0 : liveCount.intValue();
+    }
+}
@@ -0,0 +1,118 @@
+// backend/src/main/java/com/nemo/backend/domain/album/service/AlbumPermissionResolver.java
+package com.nemo.backend.domain.album.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nemo.backend.domain.album.entity.Album;
+import com.nemo.backend.domain.album.entity.AlbumShare;
+import com.nemo.backend.domain.album.entity.AlbumShare.Status;
+import com.nemo.backend.domain.album.repository.AlbumShareRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 앨범 내 사용자 역할 조회 + 캐시 ((albumId, userId) → 역할).
+ *
+ * 앨범 화면 하나에서 권한 체크가 여러 번 일어나므로 album_share 조회 결과를 짧게 캐시한다.
+ * 캐시 적중 시 DB 를 타지 않는다 (소유자 판정은 이미 로딩된 Album 의 user id 로 처리).
+ * AlbumShareService 의 공유/권한 변경/해제/수락/거절, 앨범 삭제 시 evict 로 무효화.
+ * 무효화는 커밋 후에 한다 (커밋 전에 지우면 그 사이 다른 요청이 이전 역할을 다시 캐시에 올려 TTL 동안 유지됨).
+ */
+@Component
+public class AlbumPermissionResolver {
+
+    /** 앨범 내 실질적인 역할 (OWNER 는 album.user, 나머지는 AlbumShare.Role) */
+    public enum AlbumRole {
+        OWNER,
+        CO_OWNER,
+        EDITOR,
+        VIEWER,
+        NONE;
+
+        /** 앨범/사진 조회 */
+        public boolean canView() {
+            return this != NONE;
+        }
+
+        /** 사진 추가/삭제 */
+        public boolean canEditPhotos() {
+            return this == OWNER || this == CO_OWNER || this == EDITOR;
+        }
+
+        /** 공유 요청/링크 등 공유 관리 */
+        public boolean canManageShares() {
+            return this == OWNER || this == CO_OWNER;
+        }
+
+        public static AlbumRole of(AlbumShare.Role role) {
+            return switch (role) {
+                case CO_OWNER -> CO_OWNER;
+                case EDITOR -> EDITOR;
+                case VIEWER -> VIEWER;
+            };
+        }
+    }
+
+    private record Key(Long albumId, Long userId) {}
+
+    private final AlbumShareRepository albumShareRepository;
+    private final Cache<Key, AlbumRole> roles;
+
+    public AlbumPermissionResolver(
+            AlbumShareRepository albumShareRepository,
+            @Value("${app.album.permission-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${app.album.permission-cache.max-entries:50000}") long maxEntries
+    ) {
+        this.albumShareRepository = albumShareRepository;
+        this.roles = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /** 사용자의 역할 (멤버가 아니면 NONE) */
+    public AlbumRole resolve(Album album, Long userId) {
+        if (album == null || userId == null) return AlbumRole.NONE;
+        // 소유자는 캐시 없이 바로 판정 (getUser().getId() 는 프록시 초기화 없음)
+        if (album.getUser() != null && Objects.equals(album.getUser().getId(), userId)) {
+            return AlbumRole.OWNER;
+        }
+        return roles.get(new Key(album.getId(), userId), k -> load(k.albumId(), k.userId()));
+    }
+
+    /** 한 사용자의 공유 상태/역할이 바뀐 경우 */
+    public void evict(Long albumId, Long userId) {
+        Key key = new Key(albumId, userId);
+        afterCommit(() -> roles.invalidate(key));
+    }
+
+    /** 앨범 삭제 등 앨범 전체가 바뀐 경우 */
+    public void evictAlbum(Long albumId) {
+        afterCommit(() -> roles.asMap().keySet().removeIf(k -> Objects.equals(k.albumId(), albumId)));
+    }
+
+    private static void afterCommit(Runnable evict) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
+    private AlbumRole load(Long albumId, Long userId) {
+        return albumShareRepository
+                .findByAlbumIdAndUserIdAndStatusAndActiveTrue(albumId, userId, Status.ACCEPTED)
+                .map(share -> AlbumRole.of(share.getRole()))
+                .orElse(AlbumRole.NONE);
+    }
+}
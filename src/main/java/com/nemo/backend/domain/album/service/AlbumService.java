@@ -3,23 +3,30 @@ package com.nemo.backend.domain.album.service;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.nemo.backend.domain.album.dto.*;
 import com.nemo.backend.domain.album.entity.Album;
-import com.nemo.backend.domain.album.entity.AlbumShare;
 import com.nemo.backend.domain.album.entity.AlbumShare.Status;
 import com.nemo.backend.domain.album.entity.AlbumFavorite;
+import com.nemo.backend.domain.album.repository.AlbumCoverRow;
 import com.nemo.backend.domain.album.repository.AlbumFavoriteRepository;
+import com.nemo.backend.domain.album.repository.AlbumPhotoRepository;
 import com.nemo.backend.domain.album.repository.AlbumRepository;
 import com.nemo.backend.domain.album.repository.AlbumShareRepository;
+import com.nemo.backend.domain.album.repository.AlbumSummaryRow;
+import com.nemo.backend.domain.file.FileDelivery;
+import com.nemo.backend.domain.file.ZipStreamer;
 import com.nemo.backend.domain.photo.entity.Photo;
 import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.photo.service.PhotoAccessService;
 import com.nemo.backend.domain.photo.service.PhotoStorage;
-import com.nemo.backend.domain.photo.service.S3PhotoStorage;
 import com.nemo.backend.domain.user.entity.User;
 import com.nemo.backend.global.exception.ApiException;
 import com.nemo.backend.global.exception.ErrorCode;
@@ -27,6 +34,7 @@ import com.nemo.backend.global.exception.ErrorCode;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -39,7 +47,11 @@ public class AlbumService {
     private final AlbumShareRepository albumShareRepository;
     private final PhotoRepository photoRepository;
     private final AlbumFavoriteRepository albumFavoriteRepository;
+    private final AlbumPhotoRepository albumPhotoRepository;
     private final PhotoStorage photoStorage;
+    private final PhotoAccessService photoAccessService;
+    private final AlbumPermissionResolver permissionResolver;
+    private final FileDelivery fileDelivery;
 
     private final String publicBaseUrl;
 
@@ -51,14 +63,22 @@ public class AlbumService {
             AlbumShareRepository albumShareRepository,
             PhotoRepository photoRepository,
             AlbumFavoriteRepository albumFavoriteRepository,
+            AlbumPhotoRepository albumPhotoRepository,
             PhotoStorage photoStorage,
+            PhotoAccessService photoAccessService,
+            AlbumPermissionResolver permissionResolver,
+            FileDelivery fileDelivery,
             @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl
     ) {
         this.albumRepository = albumRepository;
         this.albumShareRepository = albumShareRepository;
         this.photoRepository = photoRepository;
         this.albumFavoriteRepository = albumFavoriteRepository;
+        this.albumPhotoRepository = albumPhotoRepository;
         this.photoStorage = photoStorage;
+        this.photoAccessService = photoAccessService;
+        this.permissionResolver = permissionResolver;
+        this.fileDelivery = fileDelivery;
         this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
     }
 
@@ -66,45 +86,14 @@ public class AlbumService {
     // ownership: ALL / OWNED / SHARED
     public List<AlbumSummaryResponse> getAlbums(Long userId, AlbumOwnershipFilter ownership) {
 
-        List<AlbumSummaryResponse> owned = albumRepository.findByUserId(userId).stream()
-                .map(album -> {
-                    autoSetThumbnailIfMissing(album);
-                    int photoCount = (album.getPhotos() == null)
-                            ? 0
-                            : (int) album.getPhotos().stream()
-                            .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
-                            .count();
-                    return AlbumSummaryResponse.builder()
-                            .albumId(album.getId())
-                            .title(album.getName())
-                            .coverPhotoUrl(album.getCoverPhotoUrl())
-                            .photoCount(photoCount)
-                            .createdAt(album.getCreatedAt())
-                            .role("OWNER")
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // 사진 컬렉션을 로딩하지 않고 앨범별 살아있는 사진 수를 GROUP BY 로 한 번에 조회
+        List<AlbumSummaryResponse> owned = (ownership == AlbumOwnershipFilter.SHARED)
+                ? List.of()
+                : toSummaries(albumRepository.findOwnedSummaries(userId));
 
-        List<AlbumSummaryResponse> shared = albumShareRepository
-                .findByUserIdAndStatusAndActiveTrue(userId, Status.ACCEPTED).stream()
-                .map(share -> {
-                    Album album = share.getAlbum();
-                    autoSetThumbnailIfMissing(album);
-                    int photoCount = (album.getPhotos() == null)
-                            ? 0
-                            : (int) album.getPhotos().stream()
-                            .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
-                            .count();
-                    return AlbumSummaryResponse.builder()
-                            .albumId(album.getId())
-                            .title(album.getName())
-                            .coverPhotoUrl(album.getCoverPhotoUrl())
-                            .photoCount(photoCount)
-                            .createdAt(album.getCreatedAt())
-                            .role(share.getRole().name())
-                            .build();
-                })
-                .collect(Collectors.toList());
+        List<AlbumSummaryResponse> shared = (ownership == AlbumOwnershipFilter.OWNED)
+                ? List.of()
+                : toSummaries(albumShareRepository.findSharedSummaries(userId, Status.ACCEPTED));
 
         List<AlbumSummaryResponse> result;
 
@@ -147,15 +136,11 @@ public class AlbumService {
         Album album = albumRepository.findById(albumId)
                 .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "ALBUM_NOT_FOUND"));
 
-        String role;
-        if (album.getUser() != null && userId.equals(album.getUser().getId())) {
-            role = "OWNER";
-        } else {
-            AlbumShare share = albumShareRepository
-                    .findByAlbumIdAndUserIdAndStatusAndActiveTrue(albumId, userId, Status.ACCEPTED)
-                    .orElseThrow(() -> new ApiException(ErrorCode.FORBIDDEN, "해당 앨범에 접근할 권한이 없습니다."));
-            role = share.getRole().name();
+        AlbumPermissionResolver.AlbumRole albumRole = permissionResolver.resolve(album, userId);
+        if (!albumRole.canView()) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "해당 앨범에 접근할 권한이 없습니다.");
         }
+        String role = albumRole.name();
 
         autoSetThumbnailIfMissing(album);
         return toDetail(album, role);
@@ -176,28 +161,17 @@ public class AlbumService {
         album.setUser(ownerRef);
 
         Album saved = albumRepository.save(album);
+        photoAccessService.evict(userId);
 
-        // 초기 사진 지정
+        // 초기 사진 지정 (살아있는 사진만 한 번의 INSERT ... SELECT 로 추가)
         if (req.getPhotoIdList() != null && !req.getPhotoIdList().isEmpty()) {
-            List<Photo> photos = photoRepository.findAllById(req.getPhotoIdList());
-            List<Photo> alivePhotos = photos.stream()
-                    .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
-                    .toList();
-
-            if (saved.getPhotos() == null) {
-                saved.setPhotos(new ArrayList<>());
-            }
-            saved.getPhotos().addAll(alivePhotos);
+            albumPhotoRepository.insertMissing(saved.getId(), userId, req.getPhotoIdList());
 
             // 생성 시 사용자가 지정한 썸네일이 있으면 우선 적용 (photoIdList 안에 있는 경우)
-            if (req.getCoverPhotoId() != null) {
-                alivePhotos.stream()
-                        .filter(p -> req.getCoverPhotoId().equals(p.getId()))
-                        .findFirst()
+            if (req.getCoverPhotoId() != null && req.getPhotoIdList().contains(req.getCoverPhotoId())) {
+                photoRepository.findByIdAndDeletedIsFalse(req.getCoverPhotoId())
                         .ifPresent(p -> {
-                            String thumb = (p.getThumbnailUrl() != null && !p.getThumbnailUrl().isBlank())
-                                    ? p.getThumbnailUrl()
-                                    : p.getImageUrl();
+                            String thumb = coverUrlOf(p);
                             saved.setCoverPhotoUrl(thumb);
                         });
             }
@@ -209,20 +183,11 @@ public class AlbumService {
 
             photoRepository.findByIdAndDeletedIsFalse(req.getCoverPhotoId())
                     .ifPresent(p -> {
-                        String thumb = (p.getThumbnailUrl() != null && !p.getThumbnailUrl().isBlank())
-                                ? p.getThumbnailUrl()
-                                : p.getImageUrl();
+                        String thumb = coverUrlOf(p);
                         saved.setCoverPhotoUrl(thumb);
 
-                        // 앨범에 아직 없는 사진이면 같이 추가
-                        if (saved.getPhotos() == null) {
-                            saved.setPhotos(new ArrayList<>());
-                        }
-                        boolean exists = saved.getPhotos().stream()
-                                .anyMatch(existing -> existing.getId().equals(p.getId()));
-                        if (!exists) {
-                            saved.getPhotos().add(p);
-                        }
+                        // 앨범에 아직 없는 사진이면 같이 추가 (이미 있으면 INSERT 안 됨)
+                        albumPhotoRepository.insertMissing(saved.getId(), userId, List.of(p.getId()));
                     });
         }
 
@@ -242,24 +207,12 @@ public class AlbumService {
             throw new ApiException(ErrorCode.FORBIDDEN, "해당 앨범에 사진을 추가할 권한이 없습니다.");
         }
 
-        List<Photo> photos = photoRepository.findAllById(photoIdList);
-
-        if (album.getPhotos() == null) {
-            album.setPhotos(new ArrayList<>());
+        if (photoIdList == null || photoIdList.isEmpty()) {
+            return 0;
         }
 
-        int count = 0;
-        for (Photo p : photos) {
-            if (Boolean.TRUE.equals(p.getDeleted())) {
-                continue;
-            }
-            boolean alreadyExists = album.getPhotos().stream()
-                    .anyMatch(existing -> existing.getId().equals(p.getId()));
-            if (!alreadyExists) {
-                album.getPhotos().add(p);
-                count++;
-            }
-        }
+        // 이미 있는 사진 / 삭제된 사진을 제외하고 한 번에 INSERT (반환값 = 추가된 수)
+        int count = albumPhotoRepository.insertMissing(albumId, userId, new HashSet<>(photoIdList));
 
         // 썸네일이 비어 있으면 자동 지정
         autoSetThumbnailIfMissing(album);
@@ -275,7 +228,7 @@ public class AlbumService {
             throw new ApiException(ErrorCode.FORBIDDEN, "해당 앨범에서 사진을 삭제할 권한이 없습니다.");
         }
 
-        if (album.getPhotos() == null || album.getPhotos().isEmpty()) {
+        if (photoIdList == null || photoIdList.isEmpty()) {
             return 0;
         }
 
@@ -285,22 +238,18 @@ public class AlbumService {
         String currentCover = album.getCoverPhotoUrl();
         boolean coverWillBeRemoved = false;
         if (currentCover != null && !currentCover.isBlank()) {
-            coverWillBeRemoved = album.getPhotos().stream()
-                    .filter(p -> targetIds.contains(p.getId()))
+            coverWillBeRemoved = albumPhotoRepository.findPhotosInAlbum(albumId, targetIds).stream()
                     .anyMatch(p -> {
-                        String candidate = (p.getThumbnailUrl() != null && !p.getThumbnailUrl().isBlank())
-                                ? p.getThumbnailUrl()
-                                : p.getImageUrl();
+                        String candidate = coverUrlOf(p);
                         return currentCover.equals(candidate);
                     });
         }
 
-        int beforeSize = album.getPhotos().size();
-        album.getPhotos().removeIf(p -> targetIds.contains(p.getId()));
-        int count = beforeSize - album.getPhotos().size();
+        // DELETE ... WHERE photo_id IN (...) 한 번으로 제거
+        int count = albumPhotoRepository.deleteFromAlbum(albumId, targetIds);
 
         // 남은 사진 기반 썸네일 처리
-        if (album.getPhotos().isEmpty()) {
+        if (albumPhotoRepository.countLive(albumId) == 0) {
             album.setCoverPhotoUrl(null);
         } else if (coverWillBeRemoved) {
             album.setCoverPhotoUrl(null);
@@ -337,10 +286,7 @@ public class AlbumService {
                     .orElseThrow(() ->
                             new ApiException(ErrorCode.PHOTO_NOT_FOUND, "대표 사진으로 지정할 사진을 찾을 수 없습니다."));
 
-            boolean inAlbum = album.getPhotos() != null &&
-                    album.getPhotos().stream()
-                            .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
-                            .anyMatch(p -> p.getId().equals(coverPhotoId));
+            boolean inAlbum = albumPhotoRepository.existsLive(albumId, coverPhotoId);
 
             if (!inAlbum) {
                 throw new ApiException(
@@ -349,9 +295,7 @@ public class AlbumService {
                 );
             }
 
-            String thumb = (photo.getThumbnailUrl() != null && !photo.getThumbnailUrl().isBlank())
-                    ? photo.getThumbnailUrl()
-                    : photo.getImageUrl();
+            String thumb = coverUrlOf(photo);
             album.setCoverPhotoUrl(thumb);
         }
 
@@ -372,9 +316,14 @@ public class AlbumService {
             throw new ApiException(ErrorCode.FORBIDDEN, "해당 앨범을 삭제할 권한이 없습니다.");
         }
 
-        if (album.getPhotos() != null && !album.getPhotos().isEmpty()) {
-            album.getPhotos().clear();
-        }
+        albumPhotoRepository.deleteAllInAlbum(albumId);
+
+        // 소유자 + 공유 멤버의 접근 가능 앨범 / 역할 캐시 무효화
+        permissionResolver.evictAlbum(albumId);
+        photoAccessService.evict(userId);
+        photoAccessService.evictAll(albumShareRepository.findByAlbumIdAndActiveTrue(albumId).stream()
+                .map(share -> share.getUser().getId())
+                .toList());
 
         albumRepository.delete(album);
     }
@@ -414,14 +363,11 @@ public class AlbumService {
             Photo photo = photoRepository.findByIdAndDeletedIsFalse(photoId)
                     .orElseThrow(() -> new ApiException(ErrorCode.NOT_FOUND, "PHOTO_NOT_FOUND"));
 
-            if (album.getPhotos() == null ||
-                    album.getPhotos().stream().noneMatch(p -> p.getId().equals(photoId))) {
+            if (!albumPhotoRepository.existsLive(albumId, photoId)) {
                 throw new ApiException(ErrorCode.FORBIDDEN, "해당 앨범의 사진이 아닙니다.");
             }
 
-            thumbnailUrl = (photo.getThumbnailUrl() != null && !photo.getThumbnailUrl().isBlank())
-                    ? photo.getThumbnailUrl()
-                    : photo.getImageUrl();
+            thumbnailUrl = coverUrlOf(photo);
         }
         // 3) Body 비어 있으면 → 자동 지정
         else {
@@ -443,25 +389,11 @@ public class AlbumService {
 
     // 7) 즐겨찾기
     private boolean canAccessAlbum(Long userId, Album album) {
-        if (album.getUser() != null && userId.equals(album.getUser().getId())) {
-            return true;
-        }
-
-        return albumShareRepository
-                .findByAlbumIdAndUserIdAndStatusAndActiveTrue(album.getId(), userId, Status.ACCEPTED)
-                .isPresent();
+        return permissionResolver.resolve(album, userId).canView();
     }
 
     private boolean canManagePhotos(Long userId, Album album) {
-        if (album.getUser() != null && userId.equals(album.getUser().getId())) {
-            return true;
-        }
-
-        return albumShareRepository
-                .findByAlbumIdAndUserIdAndStatusAndActiveTrue(album.getId(), userId, Status.ACCEPTED)
-                .map(AlbumShare::getRole)
-                .map(role -> role == AlbumShare.Role.EDITOR || role == AlbumShare.Role.CO_OWNER)
-                .orElse(false);
+        return permissionResolver.resolve(album, userId).canEditPhotos();
     }
 
     @Transactional
@@ -516,10 +448,7 @@ public class AlbumService {
             );
         }
 
-        List<Photo> photos = (album.getPhotos() == null)
-                ? List.of()
-                : album.getPhotos().stream()
-                .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
+        List<Photo> photos = albumPhotoRepository.findLivePhotos(album.getId()).stream()
                 .sorted(Comparator.comparing(Photo::getCreatedAt))
                 .toList();
 
@@ -527,9 +456,9 @@ public class AlbumService {
         List<AlbumPhotoDownloadUrlDto> photoDtos = new ArrayList<>();
 
         for (Photo p : photos) {
-            String downloadUrl = p.getImageUrl();
             String filename = buildDownloadFilename(p);
-            Long fileSize = resolveFileSize(p);
+            String downloadUrl = downloadUrlOf(p.getImageUrl(), filename);
+            Long fileSize = p.getFileSize(); // 업로드 시점 기록값 (S3 HEAD 없음)
 
             photoDtos.add(AlbumPhotoDownloadUrlDto.builder()
                     .photoId(p.getId())
@@ -548,8 +477,83 @@ public class AlbumService {
                 .build();
     }
 
+    /**
+     * 앨범 ZIP 다운로드 대상 (권한은 여기서 한 번만 확인).
+     * 외부 URL 사진은 S3 key 가 없으므로 ZIP 에서 빠진다.
+     */
+    public List<ZipStreamer.Entry> getAlbumZipEntries(Long userId, Long albumId) {
+        Album album = albumRepository.findById(albumId)
+                .orElseThrow(() -> new ApiException(
+                        ErrorCode.ALBUM_NOT_FOUND,
+                        "해당 앨범을 찾을 수 없습니다.")
+                );
+
+        if (!canAccessAlbum(userId, album)) {
+            throw new ApiException(
+                    ErrorCode.FORBIDDEN,
+                    "해당 앨범의 사진을 다운로드할 권한이 없습니다."
+            );
+        }
+
+        List<ZipStreamer.Entry> entries = albumPhotoRepository.findLivePhotos(album.getId()).stream()
+                .sorted(Comparator.comparing(Photo::getCreatedAt))
+                .map(p -> {
+                    String key = extractStorageKeyFromUrl(p.getImageUrl());
+                    return key == null ? null : new ZipStreamer.Entry(buildDownloadFilename(p), key);
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (entries.isEmpty()) {
+            throw new ApiException(
+                    ErrorCode.NO_DOWNLOADABLE_PHOTOS,
+                    "다운로드 가능한 사진이 없습니다."
+            );
+        }
+        return entries;
+    }
+
 
     // 내부 유틸
+
+    /**
+     * 목록 프로젝션 → 응답 변환.
+     * 커버 규칙은 autoSetThumbnailIfMissing 과 동일 (저장하지는 않음):
+     * - 살아있는 사진이 없으면 null
+     * - 커버가 비어 있으면 최신 사진 (비어 있는 앨범들만 모아서 한 번에 조회)
+     */
+    private List<AlbumSummaryResponse> toSummaries(List<AlbumSummaryRow> rows) {
+        Set<Long> needCover = rows.stream()
+                .filter(r -> r.photoCount() > 0)
+                .filter(r -> r.coverPhotoUrl() == null || r.coverPhotoUrl().isBlank())
+                .map(AlbumSummaryRow::albumId)
+                .collect(Collectors.toSet());
+
+        Map<Long, String> autoCovers = new HashMap<>();
+        if (!needCover.isEmpty()) {
+            for (AlbumCoverRow c : albumRepository.findLatestCovers(needCover)) {
+                autoCovers.putIfAbsent(c.albumId(), c.coverUrl());
+            }
+        }
+
+        return rows.stream()
+                .map(r -> {
+                    String cover = null;
+                    if (r.photoCount() > 0) {
+                        cover = needCover.contains(r.albumId()) ? autoCovers.get(r.albumId()) : r.coverPhotoUrl();
+                    }
+                    return AlbumSummaryResponse.builder()
+                            .albumId(r.albumId())
+                            .title(r.title())
+                            .coverPhotoUrl(cover)
+                            .photoCount(r.photoCount())
+                            .createdAt(r.createdAt())
+                            .role(r.role())
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
     private String toPublicUrl(String key) {
         if (key == null) return null;
         if (key.startsWith("http://") || key.startsWith("https://")) {
@@ -562,9 +566,7 @@ public class AlbumService {
     private void autoSetThumbnailIfMissing(Album album) {
 
         // 살아있는 사진이 하나도 없으면 썸네일 제거
-        boolean hasAlivePhoto = album.getPhotos() != null &&
-                album.getPhotos().stream()
-                        .anyMatch(p -> Boolean.FALSE.equals(p.getDeleted()));
+        boolean hasAlivePhoto = albumPhotoRepository.countLive(album.getId()) > 0;
 
         if (!hasAlivePhoto) {
             album.setCoverPhotoUrl(null);
@@ -578,32 +580,32 @@ public class AlbumService {
         // 이미 값이 있으면 (사용자 지정/업로드) 건드리지 않음
     }
 
+    /** 앨범 커버용 URL: 768px 렌디션 → 썸네일 → 원본 순 */
+    private static String coverUrlOf(Photo p) {
+        if (p.getPreviewUrl() != null && !p.getPreviewUrl().isBlank()) return p.getPreviewUrl();
+        if (p.getThumbnailUrl() != null && !p.getThumbnailUrl().isBlank()) return p.getThumbnailUrl();
+        return p.getImageUrl();
+    }
+
     private String pickAutoThumbnailUrl(Album album) {
-        if (album.getPhotos() == null || album.getPhotos().isEmpty()) return null;
-
-        return album.getPhotos().stream()
-                .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
-                .sorted(Comparator.comparing(Photo::getCreatedAt).reversed())
-                .map(p -> (p.getThumbnailUrl() != null && !p.getThumbnailUrl().isBlank())
-                        ? p.getThumbnailUrl()
-                        : p.getImageUrl())
+        return albumPhotoRepository.findLatestLivePhotos(album.getId(), PageRequest.of(0, 1)).stream()
+                .map(AlbumService::coverUrlOf)
                 .findFirst()
                 .orElse(null);
     }
 
     private AlbumDetailResponse toDetail(Album album, String role) {
         List<AlbumDetailResponse.PhotoSummary> photoList =
-                (album.getPhotos() == null) ? List.of() :
-                        album.getPhotos().stream()
-                                .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
-                                .map(p -> new AlbumDetailResponse.PhotoSummary(
-                                        p.getId(),
-                                        p.getImageUrl(),
-                                        p.getTakenAt(),
-                                        p.getLocation(),
-                                        p.getBrand()
-                                ))
-                                .toList();
+                albumPhotoRepository.findLivePhotos(album.getId()).stream()
+                        .map(p -> new AlbumDetailResponse.PhotoSummary(
+                                p.getId(),
+                                p.getImageUrl(),
+                                p.getThumbnailUrl() != null ? p.getThumbnailUrl() : p.getImageUrl(),
+                                p.getTakenAt(),
+                                p.getLocation(),
+                                p.getBrand()
+                        ))
+                        .toList();
 
         int photoCount = photoList.size();
 
@@ -635,19 +637,11 @@ public class AlbumService {
         return path.substring("/files/".length());
     }
 
-    /** photo.imageUrl 기준 파일 크기 조회 */
-    private Long resolveFileSize(Photo photo) {
-        String key = extractStorageKeyFromUrl(photo.getImageUrl());
-        if (key == null) return null;
-
-        if (photoStorage instanceof S3PhotoStorage s3) {
-            try {
-                return s3.getObjectSize(key);
-            } catch (Exception e) {
-                return null;
-            }
-        }
-        return null;
+    /** redirect 모드면 S3 presigned URL (앱을 거치지 않음), 아니면 /files/ URL 그대로 */
+    private String downloadUrlOf(String imageUrl, String filename) {
+        if (!fileDelivery.isRedirect()) return imageUrl;
+        String key = extractStorageKeyFromUrl(imageUrl);
+        return key != null ? fileDelivery.presignedUrl(key, filename, "attachment") : imageUrl;
     }
 
     /** 다운로드용 파일 이름 생성 */
@@ -8,8 +8,10 @@ import com.nemo.backend.domain.album.entity.AlbumShare.Role;
 import com.nemo.backend.domain.album.entity.AlbumShare.Status;
 import com.nemo.backend.domain.album.repository.AlbumRepository;
 import com.nemo.backend.domain.album.repository.AlbumShareRepository;
+import com.nemo.backend.domain.album.service.AlbumPermissionResolver.AlbumRole;
 import com.nemo.backend.domain.friend.entity.FriendStatus;
 import com.nemo.backend.domain.friend.repository.FriendRepository;
+import com.nemo.backend.domain.photo.service.PhotoAccessService;
 import com.nemo.backend.domain.user.entity.User;
 import com.nemo.backend.domain.user.repository.UserRepository;
 import com.nemo.backend.global.exception.ApiException;
@@ -29,54 +31,32 @@ public class AlbumShareService {
     private final AlbumShareRepository albumShareRepository;
     private final FriendRepository friendRepository;
     private final UserRepository userRepository;
+    private final PhotoAccessService photoAccessService;
+    private final AlbumPermissionResolver permissionResolver;
 
     /**
-     * 앨범 내에서의 실질적인 역할
-     * - OWNER  : album.user (AlbumShare row 없음)
-     * - CO_OWNER / EDITOR / VIEWER : AlbumShare.Role 기반
-     */
-    private enum EffectiveRole {
-        OWNER,
-        CO_OWNER,
-        EDITOR,
-        VIEWER
-    }
-
-    /**
-     * 현재 사용자의 EffectiveRole 계산
+     * 현재 사용자의 AlbumRole 계산
      * - 앨범 소유자이면 OWNER
-     * - 그렇지 않으면 ACCEPTED && active=true 인 AlbumShare 를 조회
+     * - 그렇지 않으면 ACCEPTED && active=true 인 AlbumShare 의 역할 (AlbumPermissionResolver 캐시)
      *   없으면 FORBIDDEN
      */
-    private EffectiveRole resolveEffectiveRole(Album album, Long userId) {
-        if (album.getUser() != null && album.getUser().getId().equals(userId)) {
-            return EffectiveRole.OWNER;
+    private AlbumRole resolveAlbumRole(Album album, Long userId) {
+        AlbumRole role = permissionResolver.resolve(album, userId);
+        if (role == AlbumRole.NONE) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "해당 앨범의 공유 멤버가 아닙니다.");
         }
-
-        AlbumShare myShare = albumShareRepository
-                .findByAlbumIdAndUserIdAndStatusAndActiveTrue(album.getId(), userId, Status.ACCEPTED)
-                .orElseThrow(() -> new ApiException(ErrorCode.FORBIDDEN, "해당 앨범의 공유 멤버가 아닙니다."));
-
-        return switch (myShare.getRole()) {
-            case CO_OWNER -> EffectiveRole.CO_OWNER;
-            case EDITOR -> EffectiveRole.EDITOR;
-            case VIEWER -> EffectiveRole.VIEWER;
-        };
+        return role;
     }
 
     /**
-     * 특정 공유 레코드의 EffectiveRole 계산
+     * 특정 공유 레코드의 AlbumRole 계산
      * (원칙적으로 OWNER 는 AlbumShare 에 저장되지 않지만 방어적으로 한 번 더 체크)
      */
-    private EffectiveRole resolveEffectiveRoleForShare(Album album, AlbumShare share) {
+    private AlbumRole resolveAlbumRoleForShare(Album album, AlbumShare share) {
         if (album.getUser() != null && album.getUser().getId().equals(share.getUser().getId())) {
-            return EffectiveRole.OWNER;
+            return AlbumRole.OWNER;
         }
-        return switch (share.getRole()) {
-            case CO_OWNER -> EffectiveRole.CO_OWNER;
-            case EDITOR -> EffectiveRole.EDITOR;
-            case VIEWER -> EffectiveRole.VIEWER;
-        };
+        return AlbumRole.of(share.getRole());
     }
 
     /**
@@ -85,13 +65,13 @@ public class AlbumShareService {
      * - CO_OWNER : EDITOR ~ VIEWER 변경 가능
      * - EDITOR / VIEWER : 변경 불가
      */
-    private boolean canChangeMemberRole(EffectiveRole actor, EffectiveRole target) {
+    private boolean canChangeMemberRole(AlbumRole actor, AlbumRole target) {
         return switch (actor) {
-            case OWNER -> target == EffectiveRole.CO_OWNER
-                    || target == EffectiveRole.EDITOR
-                    || target == EffectiveRole.VIEWER;
-            case CO_OWNER -> target == EffectiveRole.EDITOR
-                    || target == EffectiveRole.VIEWER;
+            case OWNER -> target == AlbumRole.CO_OWNER
+                    || target == AlbumRole.EDITOR
+                    || target == AlbumRole.VIEWER;
+            case CO_OWNER -> target == AlbumRole.EDITOR
+                    || target == AlbumRole.VIEWER;
             default -> false;
         };
     }
@@ -102,13 +82,13 @@ public class AlbumShareService {
      * - CO_OWNER : EDITOR ~ VIEWER 강퇴 가능
      * - EDITOR / VIEWER : 강퇴 불가
      */
-    private boolean canKickMember(EffectiveRole actor, EffectiveRole target) {
+    private boolean canKickMember(AlbumRole actor, AlbumRole target) {
         return switch (actor) {
-            case OWNER -> target == EffectiveRole.CO_OWNER
-                    || target == EffectiveRole.EDITOR
-                    || target == EffectiveRole.VIEWER;
-            case CO_OWNER -> target == EffectiveRole.EDITOR
-                    || target == EffectiveRole.VIEWER;
+            case OWNER -> target == AlbumRole.CO_OWNER
+                    || target == AlbumRole.EDITOR
+                    || target == AlbumRole.VIEWER;
+            case CO_OWNER -> target == AlbumRole.EDITOR
+                    || target == AlbumRole.VIEWER;
             default -> false;
         };
     }
@@ -127,15 +107,7 @@ public class AlbumShareService {
     private Album getAlbumWithManagePermission(Long albumId, Long meId) {
         Album album = getAlbum(albumId);
 
-        if (album.getUser().getId().equals(meId)) {
-            return album;
-        }
-
-        AlbumShare myShare = albumShareRepository
-                .findByAlbumIdAndUserIdAndStatusAndActiveTrue(albumId, meId, Status.ACCEPTED)
-                .orElseThrow(() -> new ApiException(ErrorCode.FORBIDDEN, "앨범 공유 관리 권한이 없습니다."));
-
-        if (myShare.getRole() != Role.CO_OWNER) {
+        if (!permissionResolver.resolve(album, meId).canManageShares()) {
             throw new ApiException(ErrorCode.FORBIDDEN, "앨범 공유 관리 권한이 없습니다.");
         }
 
@@ -204,6 +176,7 @@ public class AlbumShareService {
         }
 
         albumShareRepository.saveAll(toSave);
+        toSave.forEach(share -> permissionResolver.evict(albumId, share.getUser().getId()));
 
         List<AlbumShareResponse.SharedTarget> sharedTo = toSave.stream()
                 .map(share -> AlbumShareResponse.SharedTarget.builder()
@@ -229,7 +202,7 @@ public class AlbumShareService {
         Album album = getAlbum(albumId);
 
         // 🔐 멤버 조회 권한 체크 (예외 발생 시 403)
-        resolveEffectiveRole(album, meId);
+        resolveAlbumRole(album, meId);
 
         List<AlbumShareResponse.SharedUser> result = new ArrayList<>();
 
@@ -275,11 +248,11 @@ public class AlbumShareService {
             throw new ApiException(ErrorCode.INVALID_REQUEST, "활성화된 공유가 아닙니다.");
         }
 
-        EffectiveRole actorRole = resolveEffectiveRole(album, meId);
-        EffectiveRole targetRole = resolveEffectiveRoleForShare(album, share);
+        AlbumRole actorRole = resolveAlbumRole(album, meId);
+        AlbumRole targetRole = resolveAlbumRoleForShare(album, share);
 
         // 🔒 CO_OWNER 는 다른 사용자를 CO_OWNER 로 승격시킬 수 없다
-        if (actorRole == EffectiveRole.CO_OWNER && newRole == Role.CO_OWNER) {
+        if (actorRole == AlbumRole.CO_OWNER && newRole == Role.CO_OWNER) {
             throw new ApiException(ErrorCode.FORBIDDEN, "CO_OWNER 는 다른 사용자를 CO_OWNER 로 변경할 수 없습니다.");
         }
 
@@ -288,6 +261,7 @@ public class AlbumShareService {
         }
 
         share.setRole(newRole);
+        permissionResolver.evict(albumId, targetUserId);
         return share;
     }
 
@@ -319,8 +293,8 @@ public class AlbumShareService {
             }
         } else {
             // ✅ 타인 강퇴
-            EffectiveRole actorRole = resolveEffectiveRole(album, meId);
-            EffectiveRole targetRole = resolveEffectiveRoleForShare(album, share);
+            AlbumRole actorRole = resolveAlbumRole(album, meId);
+            AlbumRole targetRole = resolveAlbumRoleForShare(album, share);
 
             if (!canKickMember(actorRole, targetRole)) {
                 throw new ApiException(ErrorCode.FORBIDDEN, "해당 사용자를 앨범에서 제거할 권한이 없습니다.");
@@ -330,6 +304,8 @@ public class AlbumShareService {
         Long removedUserId = share.getUser().getId();
         share.setActive(false);
         share.setStatus(Status.REJECTED);
+        photoAccessService.evict(removedUserId);
+        permissionResolver.evict(albumId, removedUserId);
 
         return removedUserId;
     }
@@ -352,6 +328,8 @@ public class AlbumShareService {
         }
 
         share.setStatus(Status.ACCEPTED);
+        photoAccessService.evict(meId);
+        permissionResolver.evict(share.getAlbum().getId(), meId);
     }
 
     private void rejectShareInternal(AlbumShare share, Long meId) {
@@ -364,6 +342,7 @@ public class AlbumShareService {
 
         share.setStatus(Status.REJECTED);
         share.setActive(false);
+        permissionResolver.evict(share.getAlbum().getId(), meId);
     }
 
     public AcceptShareResponse acceptShareByAlbum(Long albumId, Long meId) {
@@ -396,16 +375,16 @@ public class AlbumShareService {
     // 이 메서드는 내부용/추후용이라 HTTP 매핑은 제거했음
     @Transactional(readOnly = true)
     public List<SharedAlbumSummaryResponse> getMySharedAlbums(Long meId) {
-        List<AlbumShare> shares = albumShareRepository
-                .findByUserIdAndStatusAndActiveTrue(meId, Status.ACCEPTED);
-
-        return shares.stream()
-                .map(share -> {
-                    Album album = share.getAlbum();
-                    int photoCount = (album.getPhotos() == null) ? 0 : album.getPhotos().size();
-                    String coverUrl = album.getCoverPhotoUrl();
-                    return SharedAlbumSummaryResponse.from(album, share, coverUrl, photoCount);
-                })
+        // 앨범별 사진 컬렉션을 로딩하지 않고 살아있는 사진 수만 GROUP BY 로 집계
+        return albumShareRepository.findSharedSummaries(meId, Status.ACCEPTED).stream()
+                .map(row -> SharedAlbumSummaryResponse.builder()
+                        .albumId(row.albumId())
+                        .title(row.title())
+                        .coverPhotoUrl(row.coverPhotoUrl())
+                        .photoCount(row.photoCount())
+                        .createdAt(row.createdAt())
+                        .role(row.role())
+                        .build())
                 .toList();
     }
 
@@ -34,7 +34,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             "/swagger-ui/**",
             "/v3/api-docs/**",
             "/files/**",
-            "/actuator/**",
+            "/actuator/health",
+            "/actuator/health/**",
 
             // 회원 가입 / 로그인
             "/api/users/signup",
@@ -55,7 +56,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     // 🔒 이 경로들은 토큰이 반드시 필요합니다 (보호 대상)
     //  - PUBLIC_PATTERNS 에 포함된 것들은 예외
     private static final List<String> PROTECTED_PATTERNS = List.of(
-            "/api/**"      // 전체 API 보호, 위의 PUBLIC 은 스킵
+            "/api/**",     // 전체 API 보호, 위의 PUBLIC 은 스킵
+            "/actuator/**" // health 외 운영 지표
     );
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil) {
@@ -0,0 +1,107 @@
+// com.nemo.backend.domain.file.FileDelivery
+package com.nemo.backend.domain.file;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * 미디어 바이트 전달 방식.
+ * - proxy    : S3 → 앱(S3FileService) → 클라이언트 (기본값, LocalStack 처럼 클라이언트가 S3 에 못 붙는 환경)
+ * - redirect : /files/** 와 다운로드 API 가 짧게 유효한 presigned GET URL 로 302 (바이트는 S3 → 클라이언트 직통)
+ *
+ * 서명은 (key, disposition) 단위로 캐시해서 인기 키를 요청마다 다시 서명하지 않는다.
+ * 캐시 유지 시간은 서명 유효시간의 절반 → 내려주는 URL 은 항상 ttl/2 이상 남아 있다.
+ */
+@Component
+public class FileDelivery {
+
+    public enum Mode { PROXY, REDIRECT }
+
+    private record Signed(String url, Instant expiresAt) {}
+
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final Mode mode;
+    private final Duration ttl;
+    private final Cache<String, Signed> signed;
+
+    public FileDelivery(
+            S3Presigner presigner,
+            MeterRegistry meterRegistry,
+            @Value("${app.s3.bucket}") String bucket,
+            @Value("${app.files.delivery:proxy}") String mode,
+            @Value("${app.files.presign.ttl-seconds:900}") long ttlSeconds,
+            @Value("${app.files.presign.max-entries:50000}") long maxEntries
+    ) {
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.ttl = Duration.ofSeconds(Math.max(60, ttlSeconds));
+        this.signed = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl.dividedBy(2))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, signed, "files.presign");
+    }
+
+    public boolean isRedirect() {
+        return mode == Mode.REDIRECT;
+    }
+
+    /**
+     * presigned GET URL.
+     * @param filename    null 이 아니면 response-content-disposition 으로 파일 이름 지정
+     * @param disposition "inline" 또는 "attachment"
+     */
+    public String presignedUrl(String key, String filename, String disposition) {
+        return sign(key, filename, disposition).url();
+    }
+
+    /** presigned URL 로 302. 리다이렉트 자체는 URL 남은 유효시간의 절반만 캐시 허용 */
+    public <T> ResponseEntity<T> redirect(String key, String filename, String disposition) {
+        Signed s = sign(key, filename, disposition);
+        Duration remaining = Duration.between(Instant.now(), s.expiresAt());
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(s.url()))
+                .cacheControl(CacheControl.maxAge(remaining.dividedBy(2)).cachePrivate())
+                .build();
+    }
+
+    private Signed sign(String key, String filename, String disposition) {
+        String normalizedKey = key.startsWith("/") ? key.substring(1) : key;
+        String contentDisposition = filename == null ? null
+                : disposition + "; filename*=UTF-8''"
+                + URLEncoder.encode(filename, StandardCharsets.UTF_8).replace("+", "%20");
+        String cacheKey = contentDisposition == null ? normalizedKey : normalizedKey + "\n" + contentDisposition;
+
+        return signed.get(cacheKey, k -> {
+            GetObjectRequest.Builder get = GetObjectRequest.builder().bucket(bucket).key(normalizedKey);
+            if (contentDisposition != null) get.responseContentDisposition(contentDisposition);
+
+            PresignedGetObjectRequest p = presigner.presignGetObject(GetObjectPresignRequest.builder()
+                    .signatureDuration(ttl)
+                    .getObjectRequest(get.build())
+                    .build());
+            return new Signed(p.url().toString(), p.expiration());
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package com.nemo.backend.domain.file;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.regex.Pattern;
+
+/**
+ * /files/** 와 사진 다운로드가 공유하는 응답 조립 유틸.
+ * - 요청 헤더(If-None-Match / If-Modified-Since / Range) → S3FileService.ReadConditions
+ * - FileStream → 200 / 206 응답 (ETag, Last-Modified, Accept-Ranges, Content-Range)
+ * - 304 / 416 응답
+ * - 앨범/선택 사진 ZIP 첨부 응답
+ */
+public final class FileResponses {
+
+    /** 단일 범위만 허용: bytes=0-99, bytes=100-, bytes=-500 */
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d+-\\d*|-\\d+)$");
+
+    private FileResponses() {}
+
+    public static S3FileService.ReadConditions conditionsOf(HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.isBlank()) ifNoneMatch = null;
+
+        Instant ifModifiedSince = null;
+        try {
+            long ims = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            if (ims > 0) ifModifiedSince = Instant.ofEpochMilli(ims);
+        } catch (IllegalArgumentException ignore) {
+            // 형식이 깨진 날짜 헤더는 무시 (RFC 9110)
+        }
+
+        // 다중 범위 / 형식 오류는 무시하고 전체 응답 (RFC 9110 허용)
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null) {
+            range = range.replace(" ", "");
+            if (!SINGLE_RANGE.matcher(range).matches()) range = null;
+        }
+
+        return new S3FileService.ReadConditions(ifNoneMatch, ifModifiedSince, range);
+    }
+
+    /**
+     * @param disposition "inline" 또는 "attachment"
+     * @param cacheControl null 이면 Cache-Control 생략
+     */
+    public static ResponseEntity<StreamingResponseBody> ok(S3FileService.FileStream obj,
+                                                           String filename,
+                                                           String disposition,
+                                                           CacheControl cacheControl) {
+        String encoded = URLEncoder.encode(filename, StandardCharsets.UTF_8).replace("+", "%20");
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(obj.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(safeMediaType(obj.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition + "; filename*=UTF-8''" + encoded)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (cacheControl != null) builder.cacheControl(cacheControl);
+        if (obj.contentLength() != null) builder.contentLength(obj.contentLength());
+        if (obj.eTag() != null) builder.eTag(obj.eTag());
+        if (obj.lastModified() != null) builder.lastModified(obj.lastModified());
+        if (obj.partial()) builder.header(HttpHeaders.CONTENT_RANGE, obj.contentRange());
+
+        // 바디는 S3 → 클라이언트로 고정 버퍼 복사 (전체를 힙에 올리지 않음)
+        StreamingResponseBody body = obj::writeTo;
+        return builder.body(body);
+    }
+
+    /** 여러 파일을 묶은 ZIP 첨부 응답 (길이를 미리 알 수 없으므로 chunked) */
+    public static ResponseEntity<StreamingResponseBody> zip(String filename, StreamingResponseBody body) {
+        String encoded = URLEncoder.encode(filename, StandardCharsets.UTF_8).replace("+", "%20");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encoded)
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    public static ResponseEntity<Void> notModified(S3FileService.NotModifiedException e,
+                                                   CacheControl cacheControl) {
+        ResponseEntity.HeadersBuilder<?> builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED);
+        if (e.getETag() != null) builder.eTag(e.getETag());
+        if (cacheControl != null) builder.cacheControl(cacheControl);
+        return builder.build();
+    }
+
+    public static ResponseEntity<Void> rangeNotSatisfiable(S3FileService.RangeNotSatisfiableException e) {
+        ResponseEntity.HeadersBuilder<?> builder = ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (e.getObjectSize() != null) {
+            builder.header(HttpHeaders.CONTENT_RANGE, "bytes */" + e.getObjectSize());
+        }
+        return builder.build();
+    }
+
+    public static boolean looksLikeHtml(byte[] b) {
+        if (b == null || b.length < 5) return false;
+        String head = new String(b, 0, Math.min(b.length, 16), StandardCharsets.US_ASCII).trim().toLowerCase();
+        return head.startsWith("<!doc") || head.startsWith("<html");
+    }
+
+    public static MediaType safeMediaType(String ct) {
+        if (ct == null || ct.isBlank()) return MediaType.APPLICATION_OCTET_STREAM;
+        try { return MediaType.parseMediaType(ct); }
+        catch (Exception e) { return MediaType.APPLICATION_OCTET_STREAM; }
+    }
+}
@@ -5,11 +5,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Locale;
 
 @Service
@@ -18,7 +25,14 @@ public class S3FileService {
 
     public record FileObject(byte[] bytes, String contentType, Long contentLength) {}
 
+    /** MIME/HTML 판별에 쓰는 선두 바이트 수 (매직넘버 + "<!doctype" 정도면 충분) */
+    private static final int SNIFF_BYTES = 64;
+
+    /** 스트리밍 복사 버퍼 크기 (요청당 힙 사용량 = 이 크기로 고정) */
+    private static final int STREAM_BUFFER_SIZE = 16 * 1024;
+
     private final S3Client s3Client;
+    private final TieredFileCache fileCache;
 
     @Value("${app.s3.bucket}")
     private String bucket;
@@ -26,6 +40,16 @@ public class S3FileService {
     public FileObject get(String key) {
         String normalizedKey = key.startsWith("/") ? key.substring(1) : key;
 
+        TieredFileCache.Hit hit = fileCache.get(normalizedKey);
+        if (hit != null) {
+            try (InputStream in = hit.open(0, hit.meta().size())) {
+                byte[] data = in.readAllBytes();
+                return new FileObject(data, hit.meta().contentType(), (long) data.length);
+            } catch (IOException e) {
+                fileCache.invalidate(normalizedKey); // 디스크 항목이 깨졌으면 버리고 S3 로
+            }
+        }
+
         try {
             ResponseBytes<GetObjectResponse> bytes = s3Client.getObject(
                     b -> b.bucket(bucket).key(normalizedKey),
@@ -42,6 +66,12 @@ public class S3FileService {
                 ct = (guessed != null) ? guessed : "application/octet-stream";
             }
 
+            GetObjectResponse resp = bytes.response();
+            if (!FileResponses.looksLikeHtml(data)) {
+                fileCache.put(normalizedKey, data, new TieredFileCache.Meta(
+                        ct, data.length, resp.eTag(), resp.lastModified()));
+            }
+
             Long len = (long) data.length;
             return new FileObject(data, ct, len);
 
@@ -50,6 +80,345 @@ public class S3FileService {
         }
     }
 
+    /**
+     * 조건부/부분 요청 정보.
+     * - ifNoneMatch / ifModifiedSince : 클라이언트 캐시 검증용 (S3 GetObject 에 그대로 전달)
+     * - range : 단일 "bytes=" 범위만 지원 (그 외 형식은 null 로 들어와 전체 응답)
+     */
+    public record ReadConditions(String ifNoneMatch, Instant ifModifiedSince, String range) {
+        public static final ReadConditions NONE = new ReadConditions(null, null, null);
+    }
+
+    public FileStream openStream(String key) {
+        return openStream(key, ReadConditions.NONE);
+    }
+
+    /**
+     * 전체 바이트를 힙에 올리지 않고 S3 객체를 스트림으로 연다.
+     * - 선두 SNIFF_BYTES 만 읽어서 MIME 판별 / HTML 방어에 사용
+     * - 나머지는 FileStream#writeTo 에서 고정 버퍼로 그대로 흘려보낸다
+     * - 조건부 요청은 S3 가 판정 (304 면 바디를 아예 받지 않음)
+     * - albums/ 키는 TieredFileCache 를 먼저 보고, 조건/Range 도 캐시 메타로 로컬 판정
+     * 호출자는 반드시 writeTo 또는 close 중 하나를 호출해야 커넥션이 반환된다.
+     */
+    public FileStream openStream(String key, ReadConditions cond) {
+        return openStream(key, cond, true);
+    }
+
+    /**
+     * 캐시를 채우지 않는 읽기 (ZIP 내보내기처럼 한 번 훑고 끝나는 대량 읽기용).
+     * 이미 캐시에 있으면 그대로 쓰지만, 미스는 S3 스트림만 열고 사본을 만들지 않는다
+     * → 호출자 버퍼와 캐시 사본이 겹쳐 힙을 두 배로 쓰거나 자주 쓰는 썸네일을 밀어내지 않는다.
+     */
+    public FileStream openUncached(String key) {
+        return openStream(key, ReadConditions.NONE, false);
+    }
+
+    private FileStream openStream(String key, ReadConditions cond, boolean fillCache) {
+        String normalizedKey = key.startsWith("/") ? key.substring(1) : key;
+        ReadConditions c = (cond != null) ? cond : ReadConditions.NONE;
+
+        TieredFileCache.Hit hit = fileCache.get(normalizedKey);
+        if (hit != null) {
+            try {
+                return fromCache(hit, c);
+            } catch (IOException e) {
+                fileCache.invalidate(normalizedKey); // 디스크 항목이 깨졌으면 버리고 S3 로
+            }
+        }
+
+        GetObjectRequest.Builder req = GetObjectRequest.builder().bucket(bucket).key(normalizedKey);
+        if (c.ifNoneMatch() != null) {
+            req.ifNoneMatch(c.ifNoneMatch());
+        } else if (c.ifModifiedSince() != null) {
+            // RFC 9110: If-None-Match 가 있으면 If-Modified-Since 는 무시
+            req.ifModifiedSince(c.ifModifiedSince());
+        }
+        if (c.range() != null) {
+            req.range(c.range());
+        }
+
+        ResponseInputStream<GetObjectResponse> in;
+        try {
+            in = s3Client.getObject(req.build());
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException("S3 object not found: " + key);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 304) {
+                String etag = e.awsErrorDetails() == null ? null
+                        : e.awsErrorDetails().sdkHttpResponse().firstMatchingHeader("ETag").orElse(null);
+                throw new NotModifiedException(etag);
+            }
+            if (e.statusCode() == 416) {
+                throw new RangeNotSatisfiableException(headSize(normalizedKey));
+            }
+            throw e;
+        }
+
+        GetObjectResponse resp = in.response();
+        String contentRange = resp.contentRange();
+        boolean fromStart = contentRange == null || contentRange.startsWith("bytes 0-");
+
+        byte[] head;
+        try {
+            head = in.readNBytes(SNIFF_BYTES);
+        } catch (IOException e) {
+            in.abort();
+            throw new UncheckedIOException("S3 object read failed: " + key, e);
+        }
+
+        // 1) 시그니처로 판독 (파일 앞부분일 때만 의미 있음) → 2) 실패 시 확장자 → 3) S3 메타데이터
+        String ct = fromStart ? detectMime(head) : null;
+        if (ct == null) ct = guessFromKey(normalizedKey);
+        if (ct == null) ct = (resp.contentType() != null) ? resp.contentType() : "application/octet-stream";
+
+        // 조건 없는 전체 GET 이고 캐시 대상 크기면 클라이언트로 흘려보내면서 캐시 사본을 같이 채운다
+        // (끝까지 읽힌 경우에만 put, 중간에 끊기면 사본은 버림)
+        // 같은 키를 동시에 요청한 나머지와 채우기 예산을 넘은 요청은 사본 없이 스트리밍만 한다
+        boolean unconditional = c.ifNoneMatch() == null && c.ifModifiedSince() == null && c.range() == null;
+        Long size = resp.contentLength();
+        if (fillCache && unconditional && size != null && !FileResponses.looksLikeHtml(head)
+                && fileCache.tryBeginFill(normalizedKey, size)) {
+            TieredFileCache.Meta meta = new TieredFileCache.Meta(ct, size, resp.eTag(), resp.lastModified());
+            return new FileStream(head, new CacheFillingInputStream(in, head, meta, normalizedKey),
+                    ct, size, meta.eTag(), meta.lastModified(), null, true);
+        }
+
+        return new FileStream(head, in, ct, resp.contentLength(),
+                resp.eTag(), resp.lastModified(), contentRange, fromStart);
+    }
+
+    /** 캐시 히트: S3 와 같은 규칙으로 조건부/Range 를 로컬에서 판정 */
+    private FileStream fromCache(TieredFileCache.Hit hit, ReadConditions c) throws IOException {
+        TieredFileCache.Meta meta = hit.meta();
+
+        if (c.ifNoneMatch() != null) {
+            if (etagMatches(c.ifNoneMatch(), meta.eTag())) throw new NotModifiedException(meta.eTag());
+        } else if (c.ifModifiedSince() != null && meta.lastModified() != null
+                && meta.lastModified().getEpochSecond() <= c.ifModifiedSince().getEpochSecond()) {
+            throw new NotModifiedException(meta.eTag());
+        }
+
+        long size = meta.size();
+        long start = 0;
+        long end = size - 1;
+        String contentRange = null;
+        if (c.range() != null) {
+            long[] r = resolveRange(c.range(), size);
+            if (r == null) throw new RangeNotSatisfiableException(size);
+            start = r[0];
+            end = r[1];
+            contentRange = "bytes " + start + "-" + end + "/" + size;
+        }
+
+        long length = end - start + 1;
+        InputStream in = hit.open(start, length);
+        byte[] head = in.readNBytes(SNIFF_BYTES);
+        return new FileStream(head, in, meta.contentType(), length,
+                meta.eTag(), meta.lastModified(), contentRange, start == 0);
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch.trim().equals("*")) return true;
+        if (eTag == null) return false;
+        String target = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            if (stripWeak(candidate).equals(target)) return true;
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        String t = tag.trim();
+        return t.startsWith("W/") ? t.substring(2) : t;
+    }
+
+    /** "bytes=a-b" / "bytes=a-" / "bytes=-n" → [start, end] (만족 불가면 null) */
+    static long[] resolveRange(String range, long size) {
+        String spec = range.substring("bytes=".length());
+        int dash = spec.indexOf('-');
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || size == 0) return null;
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(spec.substring(0, dash));
+            String endPart = spec.substring(dash + 1);
+            long end = endPart.isEmpty() ? size - 1 : Math.min(Long.parseLong(endPart), size - 1);
+            if (start >= size || end < start) return null;
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Long headSize(String normalizedKey) {
+        try {
+            return s3Client.headObject(b -> b.bucket(bucket).key(normalizedKey)).contentLength();
+        } catch (S3Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 캐시 미스 스트림 tee.
+     * 읽히는 바이트를 그대로 돌려주면서 객체 크기만큼의 사본에 복사하고,
+     * Content-Length 만큼 정확히 읽고 EOF 에 도달했을 때만 캐시에 넣는다.
+     * 끝까지 읽기 전에 닫히면 사본을 버리고 S3 커넥션을 abort 한다 (남은 바디를 drain 하지 않음).
+     * 생성 전에 tryBeginFill 로 자리를 받았으므로 EOF 또는 close 에서 endFill 로 한 번 돌려준다.
+     */
+    private final class CacheFillingInputStream extends InputStream {
+        private final ResponseInputStream<GetObjectResponse> in;
+        private final TieredFileCache.Meta meta;
+        private final String key;
+        private byte[] copy;
+        private int filled;
+        private boolean completed;
+        private boolean released;
+
+        CacheFillingInputStream(ResponseInputStream<GetObjectResponse> in, byte[] head,
+                                TieredFileCache.Meta meta, String key) {
+            this.in = in;
+            this.meta = meta;
+            this.key = key;
+            this.copy = new byte[(int) meta.size()];
+            append(head, 0, head.length);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b == -1) {
+                onEof();
+            } else if (copy != null) {
+                if (filled < copy.length) copy[filled++] = (byte) b;
+                else copy = null;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n == -1) onEof();
+            else append(b, off, n);
+            return n;
+        }
+
+        private void append(byte[] b, int off, int n) {
+            if (copy == null) return;
+            if (filled + n > copy.length) {
+                copy = null; // Content-Length 보다 길게 들어옴 → 캐시하지 않음
+                return;
+            }
+            System.arraycopy(b, off, copy, filled, n);
+            filled += n;
+        }
+
+        private void onEof() {
+            if (completed) return;
+            completed = true;
+            if (copy != null && filled == copy.length) {
+                fileCache.put(key, copy, meta);
+            }
+            copy = null;
+            release();
+        }
+
+        private void release() {
+            if (released) return;
+            released = true;
+            fileCache.endFill(key, meta.size());
+        }
+
+        @Override
+        public void close() throws IOException {
+            copy = null;
+            release();
+            if (completed) {
+                in.close();
+            } else {
+                in.abort();
+            }
+        }
+    }
+
+    /**
+     * S3 응답 스트림 래퍼.
+     * head(이미 읽은 선두 바이트) + rest(나머지 스트림) 구조라서
+     * 파일 크기와 상관없이 요청당 메모리는 SNIFF_BYTES + STREAM_BUFFER_SIZE 로 일정하다.
+     */
+    public static final class FileStream implements Closeable {
+        private final byte[] head;
+        private final InputStream rest;
+        private final String contentType;
+        private final Long contentLength;
+        private final String eTag;
+        private final Instant lastModified;
+        private final String contentRange;
+        private final boolean fromStart;
+
+        FileStream(byte[] head, InputStream rest, String contentType, Long contentLength,
+                   String eTag, Instant lastModified, String contentRange, boolean fromStart) {
+            this.head = head;
+            this.rest = rest;
+            this.contentType = contentType;
+            this.contentLength = contentLength;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.contentRange = contentRange;
+            this.fromStart = fromStart;
+        }
+
+        public byte[] head() { return head; }
+        public String contentType() { return contentType; }
+        /** 이번 응답 바디 길이 (Range 요청이면 부분 길이) */
+        public Long contentLength() { return contentLength; }
+        public String eTag() { return eTag; }
+        public Instant lastModified() { return lastModified; }
+        /** 부분 응답일 때만 값이 있음 (예: "bytes 0-1023/52133") */
+        public String contentRange() { return contentRange; }
+        public boolean partial() { return contentRange != null; }
+        /** head 가 파일 첫 바이트부터인지 (HTML 방어는 이 경우에만 의미 있음) */
+        public boolean fromStart() { return fromStart; }
+
+        /** head + 나머지 바디를 고정 버퍼로 out 에 복사한 뒤 스트림을 닫는다. */
+        public void writeTo(OutputStream out) throws IOException {
+            boolean completed = false;
+            try {
+                out.write(head);
+                byte[] buf = new byte[STREAM_BUFFER_SIZE];
+                int n;
+                while ((n = rest.read(buf)) != -1) {
+                    out.write(buf, 0, n);
+                }
+                out.flush();
+                completed = true;
+            } finally {
+                if (completed) {
+                    rest.close();
+                } else {
+                    close(); // 클라이언트 끊김 등 → 남은 바디를 읽지 않고 커넥션 폐기
+                }
+            }
+        }
+
+        /** 바디를 끝까지 읽지 않고 버릴 때 사용 (S3 커넥션에 남은 바이트를 drain 하지 않음) */
+        @Override
+        public void close() {
+            if (rest instanceof ResponseInputStream<?> ris) {
+                ris.abort();
+                return;
+            }
+            try {
+                rest.close();
+            } catch (IOException ignore) {
+                // 이미 닫힌 스트림
+            }
+        }
+    }
+
     // === 간단 매직넘버 검사 ===
     private static String detectMime(byte[] b) {
         if (b == null || b.length < 4) return null;
@@ -102,4 +471,24 @@ public class S3FileService {
     public static class FileNotFoundException extends RuntimeException {
         public FileNotFoundException(String msg) { super(msg); }
     }
+
+    /** 클라이언트 캐시가 최신 (If-None-Match / If-Modified-Since 일치) → 304 */
+    public static class NotModifiedException extends RuntimeException {
+        private final String eTag;
+        public NotModifiedException(String eTag) {
+            super("Not Modified");
+            this.eTag = eTag;
+        }
+        public String getETag() { return eTag; }
+    }
+
+    /** 요청 Range 가 객체 크기를 벗어남 → 416 */
+    public static class RangeNotSatisfiableException extends RuntimeException {
+        private final Long objectSize;
+        public RangeNotSatisfiableException(Long objectSize) {
+            super("Range Not Satisfiable");
+            this.objectSize = objectSize;
+        }
+        public Long getObjectSize() { return objectSize; }
+    }
 }
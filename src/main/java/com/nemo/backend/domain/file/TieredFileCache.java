@@ -0,0 +1,332 @@
+// com.nemo.backend.domain.file.TieredFileCache
+package com.nemo.backend.domain.file;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * S3 객체 2단 읽기 캐시.
+ * - 1단: Caffeine (바이트 가중치로 크기 제한)
+ * - 2단: 로컬 디스크 LRU (1단에서 밀려난 항목을 보관, mmap 으로 읽음)
+ *
+ * albums/ 아래 키는 한 번 쓰이면 바뀌지 않으므로 삭제 시 evict 외의 무효화는 없다.
+ * 디스크 인덱스는 메모리에만 있으므로 기동 시 캐시 디렉터리를 비우고 시작한다.
+ *
+ * - evict 는 키를 tombstone 에 남긴다 → 그 뒤에 끝나는 디스크 내리기(spillToDisk)나
+ *   S3 에서 받아 채우는 중이던 put 이 삭제된 객체를 되살리지 않는다 (키는 재사용되지 않으므로 TTL 동안만 보관)
+ * - 캐시 채우기(S3 미스 → tee)는 키당 1개, 전체 fillMaxBytes 까지만 동시에 진행 (tryBeginFill / endFill)
+ * - 무효화는 인스턴스 로컬이다. 삭제를 처리하지 않은 다른 인스턴스는 LRU 로 밀려날 때까지
+ *   지워진 사진을 캐시에서 계속 내줄 수 있다 (proxy 모드 한정, redirect 모드는 S3 가 바로 404)
+ */
+@Slf4j
+@Component
+public class TieredFileCache {
+
+    /** 캐시된 객체 메타데이터 (조건부/Range 요청을 로컬에서 판정하는 데 사용) */
+    public record Meta(String contentType, long size, String eTag, Instant lastModified) {}
+
+    /** 캐시 히트 결과: 메타 + 임의 구간을 여는 바디 */
+    public interface Hit {
+        Meta meta();
+        InputStream open(long offset, long length) throws IOException;
+    }
+
+    private record MemoryEntry(Meta meta, byte[] bytes) implements Hit {
+        @Override
+        public InputStream open(long offset, long length) {
+            return new ByteArrayInputStream(bytes, (int) offset, (int) length);
+        }
+    }
+
+    private record DiskEntry(Meta meta, Path path) implements Hit {
+        @Override
+        public InputStream open(long offset, long length) throws IOException {
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+                // 매핑은 채널을 닫아도 유효 (GC 시 해제)
+                return new ByteBufferInputStream(ch.map(FileChannel.MapMode.READ_ONLY, offset, length));
+            }
+        }
+    }
+
+    private final boolean enabled;
+    private final String cacheablePrefix;
+    private final long maxObjectBytes;
+    private final long diskMaxBytes;
+    private final Path diskDir;
+
+    private final Cache<String, MemoryEntry> memory;
+
+    /** 삭제된 키 (put / spillToDisk 가 확인). 진행 중이던 채우기·내리기보다 오래 살아 있으면 충분 */
+    private static final Duration TOMBSTONE_TTL = Duration.ofHours(1);
+    private final Cache<String, Boolean> tombstones = Caffeine.newBuilder()
+            .expireAfterWrite(TOMBSTONE_TTL)
+            .maximumSize(100_000)
+            .build();
+
+    /** S3 미스에서 캐시를 채우는 중인 키와 그 버퍼 합계 */
+    private final Set<String> filling = ConcurrentHashMap.newKeySet();
+    private final AtomicLong fillingBytes = new AtomicLong();
+    private final long fillMaxBytes;
+
+    /** access-order LinkedHashMap = LRU. 모든 접근은 diskLock 으로 보호 */
+    private final LinkedHashMap<String, DiskEntry> diskIndex = new LinkedHashMap<>(256, 0.75f, true);
+    private final Object diskLock = new Object();
+    private long diskBytes = 0;
+    private volatile boolean diskAvailable;
+
+    private final Counter diskHits;
+    private final Counter diskMisses;
+    private final Counter diskEvictions;
+
+    public TieredFileCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.file-cache.enabled:true}") boolean enabled,
+            @Value("${app.file-cache.prefix:albums/}") String cacheablePrefix,
+            @Value("${app.file-cache.max-object-bytes:20971520}") long maxObjectBytes,
+            @Value("${app.file-cache.memory-max-bytes:134217728}") long memoryMaxBytes,
+            @Value("${app.file-cache.disk-max-bytes:1073741824}") long diskMaxBytes,
+            @Value("${app.file-cache.disk-dir:${java.io.tmpdir}/nemo-file-cache}") String diskDir,
+            @Value("${app.file-cache.fill-max-bytes:67108864}") long fillMaxBytes
+    ) {
+        this.enabled = enabled;
+        this.cacheablePrefix = cacheablePrefix;
+        this.maxObjectBytes = maxObjectBytes;
+        this.diskMaxBytes = diskMaxBytes;
+        this.diskDir = Paths.get(diskDir);
+        this.fillMaxBytes = fillMaxBytes;
+
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memoryMaxBytes)
+                .weigher((String k, MemoryEntry v) -> (int) Math.min(Integer.MAX_VALUE, v.bytes().length))
+                .removalListener((String k, MemoryEntry v, RemovalCause cause) -> {
+                    // 용량 초과로 밀려난 항목만 디스크로 내린다 (명시적 삭제/교체는 제외)
+                    if (k != null && v != null && cause == RemovalCause.SIZE) spillToDisk(k, v);
+                })
+                .recordStats()
+                .build();
+
+        this.diskAvailable = enabled && diskMaxBytes > 0 && prepareDiskDir();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "files.memory");
+        Gauge.builder("files.cache.memory.bytes", memory,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("files.cache.disk.bytes", this, TieredFileCache::diskBytes)
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("files.cache.disk.entries", this, TieredFileCache::diskEntries)
+                .register(meterRegistry);
+        this.diskHits = Counter.builder("files.cache.disk.requests").tag("result", "hit").register(meterRegistry);
+        this.diskMisses = Counter.builder("files.cache.disk.requests").tag("result", "miss").register(meterRegistry);
+        this.diskEvictions = Counter.builder("files.cache.disk.evictions").register(meterRegistry);
+    }
+
+    /** 캐시 대상 키인지 (size 를 모르면 null) */
+    public boolean isCacheable(String key, Long size) {
+        if (!enabled || key == null || !key.startsWith(cacheablePrefix)) return false;
+        return size == null || size <= maxObjectBytes;
+    }
+
+    public Hit get(String key) {
+        if (!isCacheable(key, null)) return null;
+
+        MemoryEntry m = memory.getIfPresent(key);
+        if (m != null) return m;
+
+        if (!diskAvailable) return null;
+        DiskEntry d;
+        synchronized (diskLock) {
+            d = diskIndex.get(key);
+        }
+        if (d == null || !Files.exists(d.path())) {
+            diskMisses.increment();
+            return null;
+        }
+        diskHits.increment();
+        return d;
+    }
+
+    public void put(String key, byte[] bytes, Meta meta) {
+        if (!isCacheable(key, (long) bytes.length) || tombstones.getIfPresent(key) != null) return;
+        memory.put(key, new MemoryEntry(meta, bytes));
+        // 확인과 put 사이에 evict 가 끼어들었으면 되돌린다 (evict 는 tombstone 을 먼저 남김)
+        if (tombstones.getIfPresent(key) != null) memory.invalidate(key);
+    }
+
+    /**
+     * S3 미스를 캐시로 채워도 되는지. 같은 키를 이미 누가 채우는 중이거나,
+     * 진행 중인 채우기 버퍼 합계가 fillMaxBytes 를 넘으면 false (그 요청은 캐시 없이 스트리밍만).
+     * true 를 받았으면 끝나거나 중단될 때 반드시 endFill 을 한 번 호출해야 한다.
+     */
+    public boolean tryBeginFill(String key, long size) {
+        if (!isCacheable(key, size) || tombstones.getIfPresent(key) != null) return false;
+        if (!filling.add(key)) return false;
+        if (fillingBytes.addAndGet(size) > fillMaxBytes) {
+            endFill(key, size);
+            return false;
+        }
+        return true;
+    }
+
+    public void endFill(String key, long size) {
+        fillingBytes.addAndGet(-size);
+        filling.remove(key);
+    }
+
+    /** 원본 삭제 시 양쪽 단에서 모두 제거하고, 진행 중인 채우기/디스크 내리기가 되살리지 않도록 tombstone 을 남긴다 */
+    public void evict(String key) {
+        if (key == null) return;
+        String normalizedKey = key.startsWith("/") ? key.substring(1) : key;
+        tombstones.put(normalizedKey, Boolean.TRUE);
+        invalidate(normalizedKey);
+    }
+
+    /** 깨진 항목 등 캐시에서만 버린다 (원본은 그대로라 다시 채워도 됨) */
+    public void invalidate(String key) {
+        if (key == null) return;
+        String normalizedKey = key.startsWith("/") ? key.substring(1) : key;
+        memory.invalidate(normalizedKey);
+        DiskEntry removed;
+        synchronized (diskLock) {
+            removed = diskIndex.remove(normalizedKey);
+            if (removed != null) diskBytes -= removed.meta().size();
+        }
+        if (removed != null) deleteQuietly(removed.path());
+    }
+
+    // ===== 디스크 단 =====
+
+    private void spillToDisk(String key, MemoryEntry v) {
+        if (!diskAvailable || v.bytes().length > diskMaxBytes) return;
+
+        Path target = diskDir.resolve(fileNameOf(key));
+        Path tmp = diskDir.resolve(target.getFileName() + ".tmp");
+        try {
+            Files.write(tmp, v.bytes());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[TieredFileCache] disk write failed: {} ({})", key, e.getMessage());
+            deleteQuietly(tmp);
+            return;
+        }
+
+        synchronized (diskLock) {
+            // 메모리에서 밀려난 뒤 여기까지 오는 사이에 evict 됨 → evict 는 디스크에서 찾지 못했으므로 여기서 버린다
+            if (tombstones.getIfPresent(key) != null) {
+                deleteQuietly(target);
+                return;
+            }
+            DiskEntry prev = diskIndex.put(key, new DiskEntry(v.meta(), target));
+            if (prev != null) diskBytes -= prev.meta().size();
+            diskBytes += v.meta().size();
+
+            // LRU: 가장 오래 안 쓴 항목부터 정리
+            Iterator<Map.Entry<String, DiskEntry>> it = diskIndex.entrySet().iterator();
+            while (diskBytes > diskMaxBytes && it.hasNext()) {
+                Map.Entry<String, DiskEntry> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                it.remove();
+                diskBytes -= eldest.getValue().meta().size();
+                deleteQuietly(eldest.getValue().path());
+                diskEvictions.increment();
+            }
+        }
+    }
+
+    private boolean prepareDiskDir() {
+        try {
+            Files.createDirectories(diskDir);
+            try (Stream<Path> files = Files.list(diskDir)) {
+                files.forEach(TieredFileCache::deleteQuietly);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("[TieredFileCache] disk tier disabled: {} ({})", diskDir, e.getMessage());
+            return false;
+        }
+    }
+
+    private long diskBytes() {
+        synchronized (diskLock) {
+            return diskBytes;
+        }
+    }
+
+    private int diskEntries() {
+        synchronized (diskLock) {
+            return diskIndex.size();
+        }
+    }
+
+    private static String fileNameOf(String key) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException ignore) {
+            // 다음 기동 시 디렉터리 정리에서 제거됨
+        }
+    }
+
+    /** mmap 버퍼를 InputStream 으로 노출 (복사 없이 페이지 캐시에서 바로 읽음) */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        ByteBufferInputStream(MappedByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? (buf.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buf.hasRemaining()) return -1;
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buf.remaining();
+        }
+    }
+}
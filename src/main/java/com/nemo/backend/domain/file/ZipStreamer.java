@@ -0,0 +1,252 @@
+// backend/src/main/java/com/nemo/backend/domain/file/ZipStreamer.java
+package com.nemo.backend.domain.file;
+
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 여러 S3 객체를 ZIP 하나로 묶어 응답에 바로 흘려보낸다 (앨범 전체 / 선택 사진 다운로드).
+ *
+ * - 이미지는 이미 압축돼 있으므로 STORED(무압축)로 쓴다
+ * - STORED 는 로컬 헤더에 CRC/크기가 먼저 들어가야 해서 객체 1개는 메모리에 받아 CRC 를 계산한 뒤 쓴다
+ * - 다음 prefetch 개 객체는 fetch 풀에서 미리 받아 두고, 앞 항목을 쓰는 동안 병렬로 내려받는다
+ * - 메모리는 요청당 최대 (prefetch + 1) × maxBufferedBytes, 동시 요청은 maxConcurrent 개까지 (넘으면 ZIP_BUSY 503)
+ * - maxBufferedBytes 를 넘는 객체(영상 등)는 버퍼링하지 않고 무압축 DEFLATE 블록으로 그대로 스트리밍
+ * - 클라이언트가 끊기면 prefetch 중이던 S3 스트림까지 모두 닫아 커넥션 풀에 남기지 않는다
+ *
+ * 객체는 캐시를 채우지 않고 읽는다 (openUncached) → 캐시 사본이 위 메모리 상한에 더해지지 않는다.
+ *
+ * 권한 확인은 호출자가 Entry 목록을 만들 때 한 번에 끝낸다 (여기서는 키만 읽음).
+ */
+@Slf4j
+@Component
+public class ZipStreamer {
+
+    /** ZIP 안의 파일 이름 + S3 key */
+    public record Entry(String name, String key) {}
+
+    /** 미리 받은 객체. bytes 가 null 이면 크기가 커서 stream 을 그대로 이어 쓴다 */
+    private record Fetched(Entry entry, byte[] bytes, long crc, S3FileService.FileStream stream) {}
+
+    /**
+     * ZIP 요청 1건이 fetch 풀에서 연 S3 스트림 목록.
+     * 요청이 중단되면 closeAll 로 아직 읽는 중이거나 쓰기 전인 스트림까지 닫는다
+     * (Future#cancel 의 인터럽트로는 블로킹 중인 S3 read 가 풀리지 않음).
+     */
+    private static final class OpenStreams {
+        private final Set<S3FileService.FileStream> open = ConcurrentHashMap.newKeySet();
+        private volatile boolean closed;
+
+        void track(S3FileService.FileStream s) throws IOException {
+            open.add(s);
+            if (closed && open.remove(s)) {
+                s.close();
+                throw new InterruptedIOException("zip aborted");
+            }
+        }
+
+        void release(S3FileService.FileStream s) {
+            open.remove(s);
+        }
+
+        void closeAll() {
+            closed = true;
+            for (S3FileService.FileStream s : open) {
+                if (open.remove(s)) s.close();
+            }
+        }
+    }
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final S3FileService fileService;
+    private final int prefetch;
+    private final long maxBufferedBytes;
+    private final Semaphore concurrent;
+    private final ThreadPoolExecutor fetchExecutor;
+
+    public ZipStreamer(
+            S3FileService fileService,
+            @Value("${app.zip.fetch-threads:8}") int fetchThreads,
+            @Value("${app.zip.prefetch:4}") int prefetch,
+            @Value("${app.zip.max-buffered-bytes:20971520}") long maxBufferedBytes,
+            @Value("${app.zip.max-concurrent:4}") int maxConcurrent
+    ) {
+        this.fileService = fileService;
+        this.prefetch = Math.max(1, prefetch);
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.concurrent = new Semaphore(Math.max(1, maxConcurrent));
+
+        AtomicInteger seq = new AtomicInteger();
+        // 큐가 차면 요청 스레드가 직접 받는다 → 동시 ZIP 요청이 많아도 자연스럽게 속도 조절
+        this.fetchExecutor = new ThreadPoolExecutor(
+                fetchThreads, fetchThreads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, fetchThreads * this.prefetch * 4)),
+                r -> {
+                    Thread t = new Thread(r, "zip-fetch-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * 동시 ZIP 슬롯을 응답 시작 전에 잡는다 (가득 차면 ZIP_BUSY).
+     * 슬롯은 스트리밍이 끝나거나 중단될 때 반환된다.
+     */
+    public StreamingResponseBody body(List<Entry> entries) {
+        if (!concurrent.tryAcquire()) {
+            throw new ApiException(ErrorCode.ZIP_BUSY);
+        }
+        return out -> {
+            try {
+                write(entries, out);
+            } finally {
+                concurrent.release();
+            }
+        };
+    }
+
+    /**
+     * entries 순서대로 ZIP 을 out 에 쓴다.
+     * 없는 객체는 건너뛰고, 클라이언트가 끊기면(IOException) 남은 prefetch 를 정리하고 중단.
+     */
+    public void write(List<Entry> entries, OutputStream out) throws IOException {
+        ArrayDeque<Future<Fetched>> window = new ArrayDeque<>();
+        OpenStreams streams = new OpenStreams();
+        Set<String> usedNames = new HashSet<>();
+        int next = 0;
+
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE))) {
+            // STORED 가 아닌 항목(큰 객체)에만 적용됨: 무압축 DEFLATE 블록
+            zip.setLevel(Deflater.NO_COMPRESSION);
+
+            while (next < entries.size() && window.size() < prefetch) {
+                window.add(submit(entries.get(next++), streams));
+            }
+            while (!window.isEmpty()) {
+                Fetched f = await(window.poll());
+                if (next < entries.size()) {
+                    window.add(submit(entries.get(next++), streams));
+                }
+                if (f == null) continue;
+                writeEntry(zip, f, uniqueName(f.entry().name(), usedNames));
+                if (f.stream() != null) streams.release(f.stream());
+            }
+            zip.finish();
+        } finally {
+            for (Future<Fetched> fu : window) {
+                discard(fu);
+            }
+            streams.closeAll();
+        }
+    }
+
+    private Future<Fetched> submit(Entry entry, OpenStreams streams) {
+        return fetchExecutor.submit(() -> fetch(entry, streams));
+    }
+
+    /** 작은 객체는 끝까지 받아 CRC 계산, 큰 객체는 열어만 둔다. 없는 객체는 null */
+    private Fetched fetch(Entry entry, OpenStreams streams) throws IOException {
+        S3FileService.FileStream s;
+        try {
+            s = fileService.openUncached(entry.key());
+        } catch (S3FileService.FileNotFoundException e) {
+            log.warn("[Zip] skip missing object: key={}", entry.key());
+            return null;
+        }
+        streams.track(s);
+
+        Long len = s.contentLength();
+        if (len == null || len > maxBufferedBytes) {
+            return new Fetched(entry, null, 0L, s);
+        }
+
+        ByteArrayOutputStream buf = new ByteArrayOutputStream((int) (long) len);
+        try {
+            s.writeTo(buf);
+        } finally {
+            streams.release(s);
+        }
+        byte[] data = buf.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return new Fetched(entry, data, crc.getValue(), null);
+    }
+
+    private static void writeEntry(ZipOutputStream zip, Fetched f, String name) throws IOException {
+        ZipEntry ze = new ZipEntry(name);
+        if (f.bytes() != null) {
+            ze.setMethod(ZipEntry.STORED);
+            ze.setSize(f.bytes().length);
+            ze.setCompressedSize(f.bytes().length);
+            ze.setCrc(f.crc());
+            zip.putNextEntry(ze);
+            zip.write(f.bytes());
+        } else {
+            // 크기/CRC 는 data descriptor 로 뒤에 붙는다
+            ze.setMethod(ZipEntry.DEFLATED);
+            zip.putNextEntry(ze);
+            f.stream().writeTo(zip);
+        }
+        zip.closeEntry();
+    }
+
+    private static Fetched await(Future<Fetched> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("zip fetch interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException io) throw io;
+            throw new IOException("zip fetch failed: " + cause, cause);
+        }
+    }
+
+    /** 남은 prefetch 정리: 진행 중인 항목은 취소하고, 열린 S3 스트림은 closeAll 에서 모두 닫는다 */
+    private static void discard(Future<Fetched> future) {
+        future.cancel(true);
+    }
+
+    /** 같은 이름이 겹치면 name (1).ext 형태로 */
+    private static String uniqueName(String name, Set<String> used) {
+        if (used.add(name)) return name;
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String ext = dot > 0 ? name.substring(dot) : "";
+        for (int i = 1; ; i++) {
+            String candidate = base + " (" + i + ")" + ext;
+            if (used.add(candidate)) return candidate;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+}
@@ -4,39 +4,40 @@ package com.nemo.backend.domain.photo.controller;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nemo.backend.domain.auth.util.AuthExtractor;
-import com.nemo.backend.domain.album.entity.Album;
-import com.nemo.backend.domain.album.entity.AlbumShare;
-import com.nemo.backend.domain.album.repository.AlbumRepository;
-import com.nemo.backend.domain.album.repository.AlbumShareRepository;
 import com.nemo.backend.domain.photo.entity.Photo;
 import com.nemo.backend.domain.photo.repository.PhotoRepository;
 import com.nemo.backend.domain.photo.dto.PhotoListItemDto;
 import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
 import com.nemo.backend.domain.photo.dto.PhotoUploadRequest;
 import com.nemo.backend.domain.photo.dto.SelectedPhotosDownloadUrlsResponse;
+import com.nemo.backend.domain.photo.service.DirectUploadService;
+import com.nemo.backend.domain.photo.service.PhotoAccessService;
 import com.nemo.backend.domain.photo.service.PhotoService;
+import com.nemo.backend.domain.photo.service.PhotoTagService;
 import com.nemo.backend.domain.user.entity.User;
 import com.nemo.backend.domain.user.repository.UserRepository;
 import com.nemo.backend.global.exception.ApiException;
 import com.nemo.backend.global.exception.ErrorCode;
 import com.nemo.backend.web.PageMetaDto;
 import com.nemo.backend.web.PagedResponse;
+import com.nemo.backend.domain.file.FileDelivery;
+import com.nemo.backend.domain.file.FileResponses;
 import com.nemo.backend.domain.file.S3FileService;
+import com.nemo.backend.domain.file.ZipStreamer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI; // ✅ 추가
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -55,9 +56,12 @@ public class PhotoController {
     private final AuthExtractor authExtractor;
     private final UserRepository userRepository;
     private final PhotoRepository photoRepository;
-    private final AlbumRepository albumRepository;
-    private final AlbumShareRepository albumShareRepository;
+    private final PhotoAccessService photoAccessService;
     private final S3FileService fileService;   // ✅ 추가
+    private final ZipStreamer zipStreamer;
+    private final FileDelivery fileDelivery;
+    private final DirectUploadService directUploadService;
+    private final PhotoTagService photoTagService;
 
     @org.springframework.beans.factory.annotation.Value("${app.public-base-url:http://localhost:8080}")
     private String publicBaseUrl;              // ✅ 추가
@@ -185,7 +189,7 @@ public class PhotoController {
                 ? dto.getTakenAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
                 : (takenAt != null ? takenAt.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
 
-        List<String> tagList = parseStringArray(tagListJson);
+        List<String> tagList = dto.getTagList();   // 정규화되어 저장된 태그
         List<FriendDto> friendList = parseFriendList(friendIdListJson);
 
         PhotoUploadResponse resp = new PhotoUploadResponse(
@@ -196,7 +200,8 @@ public class PhotoController {
                 dto.getBrand(),
                 tagList,
                 friendList,
-                dto.getMemo() != null ? dto.getMemo() : ""
+                dto.getMemo() != null ? dto.getMemo() : "",
+                dto.getStatus()
         );
 
         return ResponseEntity
@@ -263,7 +268,7 @@ public class PhotoController {
                 ? dto.getTakenAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
                 : (takenAt != null ? takenAt.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
 
-        List<String> tagList = parseStringArray(tagListJson);
+        List<String> tagList = dto.getTagList();   // 정규화되어 저장된 태그
         List<FriendDto> friendList = parseFriendList(friendIdListJson);
 
         PhotoUploadResponse resp = new PhotoUploadResponse(
@@ -274,7 +279,113 @@ public class PhotoController {
                 dto.getBrand(),
                 tagList,
                 friendList,
-                dto.getMemo() != null ? dto.getMemo() : ""
+                dto.getMemo() != null ? dto.getMemo() : "",
+                dto.getStatus()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(resp);
+    }
+
+    // ========================================================
+    // 2-1) 직접 업로드 URL 발급  (POST /api/photos/uploads)
+    //      앱 서버를 거치지 않고 S3 에 바로 PUT → 2-2) confirm
+    // ========================================================
+    @Operation(
+            summary = "직접 업로드 URL 발급",
+            description = "S3 staging 키에 대한 presigned PUT URL 을 발급합니다. 응답의 headers 를 그대로 붙여 업로드한 뒤 confirm 을 호출하세요."
+    )
+    @PostMapping(
+            value = "/uploads",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<DirectUploadTicketResponse> issueDirectUpload(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @org.springframework.web.bind.annotation.RequestBody DirectUploadRequest body
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+
+        if (body == null) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "요청 본문이 필요합니다.");
+        }
+
+        DirectUploadService.Ticket t =
+                directUploadService.issue(userId, body.filename(), body.contentType(), body.size());
+
+        return ResponseEntity.ok(new DirectUploadTicketResponse(
+                t.uploadKey(),
+                t.uploadUrl(),
+                t.method(),
+                t.headers(),
+                t.expiresAt().toString()
+        ));
+    }
+
+    // ========================================================
+    // 2-2) 직접 업로드 확정  (POST /api/photos/uploads/confirm)
+    // ========================================================
+    @Operation(
+            summary = "직접 업로드 확정",
+            description = "presigned PUT 으로 올린 파일을 사진으로 등록합니다. 압축/렌디션은 비동기로 처리되며 status 로 완료를 확인합니다."
+    )
+    @PostMapping(
+            value = "/uploads/confirm",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<PhotoUploadResponse> confirmDirectUpload(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @org.springframework.web.bind.annotation.RequestBody DirectUploadConfirmRequest body
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+
+        if (body == null || body.uploadKey() == null || body.uploadKey().isBlank()) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "uploadKey는 필수입니다.");
+        }
+
+        LocalDateTime takenAt = null;
+        if (body.takenAt() != null && !body.takenAt().isBlank()) {
+            try {
+                takenAt = LocalDateTime.parse(body.takenAt(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            } catch (DateTimeParseException e) {
+                throw new ApiException(
+                        ErrorCode.INVALID_ARGUMENT,
+                        "촬영 날짜 형식이 잘못되었습니다. ISO 8601 형식을 사용해주세요."
+                );
+            }
+        }
+
+        PhotoResponseDto dto = photoService.confirmDirectUpload(
+                userId,
+                body.uploadKey(),
+                body.qrCode(),
+                body.brand(),
+                body.location(),
+                takenAt,
+                body.memo(),
+                body.tagList()
+        );
+
+        List<FriendDto> friendList = new ArrayList<>();
+        if (body.friendIdList() != null) {
+            for (Long id : body.friendIdList()) {
+                friendList.add(new FriendDto(id, ""));
+            }
+        }
+
+        PhotoUploadResponse resp = new PhotoUploadResponse(
+                dto.getId(),
+                dto.getImageUrl(),
+                dto.getTakenAt() != null ? dto.getTakenAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null,
+                dto.getLocation(),
+                dto.getBrand(),
+                dto.getTagList(),
+                friendList,
+                dto.getMemo() != null ? dto.getMemo() : "",
+                dto.getStatus()
         );
 
         return ResponseEntity
@@ -316,11 +427,32 @@ public class PhotoController {
         Pageable pageable = PageRequest.of(page, size, sort);
 
         var pageDto = photoService.list(userId, pageable, favorite, brand, tag);
+        return ResponseEntity.ok(toPagedList(pageDto));
+    }
+
+    // ========================================================
+    // 3-0) 사진 검색  (GET /api/photos/search?q=)
+    //      메모/장소/브랜드 bigram 검색, 점수(장소 > 브랜드 > 메모) 순
+    // ========================================================
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PagedResponse<PhotoListItemDto>> search(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "page", required = false, defaultValue = "0") Integer page,
+            @RequestParam(value = "size", required = false, defaultValue = "20") Integer size
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+        var pageDto = photoService.search(userId, query, PageRequest.of(page, size));
+        return ResponseEntity.ok(toPagedList(pageDto));
+    }
+
+    private static PagedResponse<PhotoListItemDto> toPagedList(Page<PhotoResponseDto> pageDto) {
         DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
         List<PhotoListItemDto> items = pageDto.map(p -> PhotoListItemDto.builder()
                 .photoId(p.getId())
                 .imageUrl(p.getImageUrl())
+                .thumbnailUrl(p.getThumbnailUrl() != null ? p.getThumbnailUrl() : p.getImageUrl())
                 .takenAt(p.getTakenAt() != null ? p.getTakenAt().format(ISO) : null)
                 .location(p.getLocation())
                 .brand(p.getBrand())
@@ -334,8 +466,21 @@ public class PhotoController {
                 pageDto.getTotalPages(),
                 pageDto.getNumber()
         );
+        return new PagedResponse<>(items, meta);
+    }
 
-        return ResponseEntity.ok(new PagedResponse<>(items, meta));
+    // ========================================================
+    // 3-1) 태그별 사진 수  (GET /api/photos/tags)
+    // ========================================================
+    @GetMapping(value = "/tags", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TagFacetResponse>> tagFacets(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+        List<TagFacetResponse> resp = photoTagService.facets(userId).stream()
+                .map(r -> new TagFacetResponse(r.tag(), r.count()))
+                .toList();
+        return ResponseEntity.ok(resp);
     }
 
     // ========================================================
@@ -362,7 +507,7 @@ public class PhotoController {
                         : null,
                 dto.getLocation(),
                 dto.getBrand(),
-                Collections.emptyList(),
+                dto.getTagList(),
                 Collections.emptyList(),
                 dto.getMemo() != null ? dto.getMemo() : "",
                 dto.isFavorite(),
@@ -376,6 +521,28 @@ public class PhotoController {
         return ResponseEntity.ok(resp);
     }
 
+    // ========================================================
+    // 4-1) 업로드 처리 상태 조회  (GET /api/photos/{photoId}/status)
+    //      갤러리 업로드는 비동기로 압축/렌디션을 만들므로 클라이언트가 READY 까지 폴링
+    // ========================================================
+    @GetMapping(value = "/{photoId}/status",
+            produces = "application/json; charset=UTF-8")
+    public ResponseEntity<PhotoStatusResponse> getStatus(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @PathVariable Long photoId
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+        PhotoResponseDto dto = photoService.getStatus(userId, photoId);
+
+        PhotoStatusResponse resp = new PhotoStatusResponse(
+                dto.getId(),
+                dto.getStatus(),
+                dto.getImageUrl(),
+                dto.getThumbnailUrl()
+        );
+        return ResponseEntity.ok(resp);
+    }
+
     // ========================================================
     // 5) 사진 상세정보 수정  (PATCH /api/photos/{photoId}/details)
     // ========================================================
@@ -405,7 +572,8 @@ public class PhotoController {
                 takenAt,
                 body.location(),
                 body.brand(),
-                body.memo()
+                body.memo(),
+                body.tagList()
         );
 
         User owner = userRepository.findById(dto.getUserId())
@@ -419,7 +587,7 @@ public class PhotoController {
                         : null,
                 dto.getLocation(),
                 dto.getBrand(),
-                body.tagList() != null ? body.tagList() : Collections.emptyList(),
+                dto.getTagList(),
                 Collections.emptyList(),
                 dto.getMemo() != null ? dto.getMemo() : "",
                 dto.isFavorite(),
@@ -466,13 +634,36 @@ public class PhotoController {
         return ResponseEntity.ok(body);
     }
 
+    // ========================================================
+    // 7-1) 선택 사진 일괄 삭제  (POST /api/photos/delete)
+    //      S3 객체는 삭제 대기열로 넘겨 DeleteObjects 한 번에 정리
+    // ========================================================
+    @PostMapping(value = "/delete", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> deleteAll(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @org.springframework.web.bind.annotation.RequestBody SelectedPhotosDeleteRequest body
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+        if (body == null || body.photoIdList() == null || body.photoIdList().isEmpty()) {
+            throw new ApiException(ErrorCode.INVALID_REQUEST, "photoIdList는 비어 있을 수 없습니다.");
+        }
+
+        int deleted = photoService.deleteAll(userId, body.photoIdList());
+
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("deletedCount", deleted);
+        resp.put("message", "사진이 성공적으로 삭제되었습니다.");
+        return ResponseEntity.ok(resp);
+    }
+
     // 8) 단일 사진 다운로드  (GET /api/photos/{photoId}/download)
     //     - 사진 소유자이거나
     //     - 사진이 포함된 앨범의 멤버(OWNER / CO_OWNER / EDITOR / VIEWER)인 경우만 허용
     @GetMapping(value = "/{photoId}/download", produces = MediaType.ALL_VALUE)
     public ResponseEntity<?> downloadPhoto(
             @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
-            @PathVariable Long photoId
+            @PathVariable Long photoId,
+            HttpServletRequest request
     ) {
         Long userId = authExtractor.extractUserId(authorizationHeader);
 
@@ -500,22 +691,20 @@ public class PhotoController {
         // ✅ 우리 서비스가 관리하는 /files/{key} 형태면 S3에서 직접 200으로 내려줌
         String key = extractStorageKeyFromUrl(imageUrl);
         if (key != null) {
-            S3FileService.FileObject obj = fileService.get(key);
-            byte[] bytes = obj.bytes();
-            String ct = (obj.contentType() == null || obj.contentType().isBlank())
-                    ? "application/octet-stream"
-                    : obj.contentType();
-
             String filename = key.substring(key.lastIndexOf('/') + 1);
-            String encoded = URLEncoder.encode(filename, StandardCharsets.UTF_8)
-                    .replace("+", "%20");
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(ct))
-                    .contentLength(bytes.length)
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename*=UTF-8''" + encoded)
-                    .body(new ByteArrayResource(bytes));
+            if (fileDelivery.isRedirect()) {
+                return fileDelivery.redirect(key, filename, "attachment");
+            }
+            try {
+                // Range / If-None-Match 는 S3 GetObject 로 그대로 전달 (영상 탐색 지원)
+                S3FileService.FileStream obj =
+                        fileService.openStream(key, FileResponses.conditionsOf(request));
+                return FileResponses.ok(obj, filename, "attachment", null);
+            } catch (S3FileService.NotModifiedException e) {
+                return FileResponses.notModified(e, null);
+            } catch (S3FileService.RangeNotSatisfiableException e) {
+                return FileResponses.rangeNotSatisfiable(e);
+            }
         }
 
         // ⚠️ 외부 CDN(URL이 우리 publicBaseUrl이 아닌 경우)은 여전히 302로 우회
@@ -548,6 +737,28 @@ public class PhotoController {
         return ResponseEntity.ok(resp);
     }
 
+    // ========================================================
+    // 10) 선택 사진 ZIP 다운로드 (POST /api/photos/download.zip)
+    // ========================================================
+    @PostMapping(value = "/download.zip", produces = MediaType.ALL_VALUE)
+    public ResponseEntity<StreamingResponseBody> downloadZip(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @org.springframework.web.bind.annotation.RequestBody SelectedPhotosDownloadRequest body
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+
+        if (body == null || body.photoIdList() == null || body.photoIdList().isEmpty()) {
+            throw new ApiException(
+                    ErrorCode.INVALID_REQUEST,
+                    "photoIdList는 비어 있을 수 없습니다."
+            );
+        }
+
+        // 권한/대상 확인은 응답 시작 전에 끝낸다 (스트리밍 중엔 상태 코드를 바꿀 수 없음)
+        List<ZipStreamer.Entry> entries = photoService.getZipEntries(userId, body.photoIdList());
+        return FileResponses.zip("nemo_photos.zip", zipStreamer.body(entries));
+    }
+
 
     // ========================================================
     // 내부 DTO & 유틸
@@ -573,7 +784,15 @@ public class PhotoController {
             String brand,
             List<String> tagList,
             List<FriendDto> friendList,
-            String memo
+            String memo,
+            String status          // PROCESSING 이면 /{photoId}/status 로 완료 확인
+    ) {}
+
+    public static record PhotoStatusResponse(
+            long photoId,
+            String status,        // PROCESSING / READY / FAILED
+            String imageUrl,
+            String thumbnailUrl
     ) {}
 
     public static record FriendDto(
@@ -619,6 +838,40 @@ public class PhotoController {
             List<Long> photoIdList
     ) {}
 
+    public static record SelectedPhotosDeleteRequest(
+            List<Long> photoIdList
+    ) {}
+
+    public static record TagFacetResponse(
+            String tag,
+            long count
+    ) {}
+
+    public static record DirectUploadRequest(
+            String filename,
+            String contentType,
+            Long size               // 바이트. 서명에 포함되므로 실제 업로드 크기와 같아야 함
+    ) {}
+
+    public static record DirectUploadTicketResponse(
+            String uploadKey,
+            String uploadUrl,
+            String method,
+            Map<String, String> headers,
+            String expiresAt
+    ) {}
+
+    public static record DirectUploadConfirmRequest(
+            String uploadKey,
+            String qrCode,          // 있으면 브랜드 추론에만 사용
+            String takenAt,
+            String location,
+            String brand,
+            List<String> tagList,
+            List<Long> friendIdList,
+            String memo
+    ) {}
+
     // === 권한/앨범 유틸 ===
 
     /**
@@ -627,55 +880,11 @@ public class PhotoController {
      * - 사진이 포함된 앨범의 멤버(OWNER / CO_OWNER / EDITOR / VIEWER)이면 true
      */
     private boolean canDownloadPhoto(Long userId, Photo photo) {
-        if (photo.getUserId() != null && photo.getUserId().equals(userId)) {
-            return true;
-        }
-        Set<Long> accessiblePhotoIds = getAlbumPhotoIdsUserCanAccess(userId);
-        return accessiblePhotoIds.contains(photo.getId());
-    }
-
-    /**
-     * 현재 사용자(userId)가 멤버로 접근 가능한 모든 앨범에 포함된 사진 ID 집합
-     * - 내가 소유한 앨범
-     * - 공유받아서 수락한 앨범(Status.ACCEPTED, active=true)
-     */
-    private Set<Long> getAlbumPhotoIdsUserCanAccess(Long userId) {
-        Set<Long> ids = new HashSet<>();
-
-        // 내가 소유한 앨범
-        List<Album> myAlbums = albumRepository.findByUserId(userId);
-        for (Album album : myAlbums) {
-            if (album.getPhotos() == null) continue;
-            album.getPhotos().stream()
-                    .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
-                    .forEach(p -> ids.add(p.getId()));
-        }
-
-        // 공유받은 앨범 (ACCEPTED + active)
-        List<AlbumShare> shares =
-                albumShareRepository.findByUserIdAndStatusAndActiveTrue(userId, AlbumShare.Status.ACCEPTED);
-        for (AlbumShare share : shares) {
-            Album album = share.getAlbum();
-            if (album == null || album.getPhotos() == null) continue;
-            album.getPhotos().stream()
-                    .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
-                    .forEach(p -> ids.add(p.getId()));
-        }
-
-        return ids;
+        return photoAccessService.canDownload(userId, photo);
     }
 
     // === 기존 JSON 파서 유틸 ===
 
-    private List<String> parseStringArray(String jsonArray) {
-        if (jsonArray == null || jsonArray.isBlank()) return Collections.emptyList();
-        try {
-            return JSON.readValue(jsonArray, new TypeReference<List<String>>() {});
-        } catch (Exception e) {
-            return Collections.emptyList();
-        }
-    }
-
     private List<FriendDto> parseFriendList(String friendIdListJson) {
         if (friendIdListJson == null || friendIdListJson.isBlank()) return Collections.emptyList();
         try {
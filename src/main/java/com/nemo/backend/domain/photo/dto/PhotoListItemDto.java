@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 
 /**
  * 프론트 명세에 맞춘 사진 목록 아이템 DTO
- * fields: photoId, imageUrl, takenAt, location, brand, isFavorite
+ * fields: photoId, imageUrl, thumbnailUrl, takenAt, location, brand, isFavorite
  */
 @Data
 @NoArgsConstructor
@@ -16,6 +16,7 @@ import lombok.NoArgsConstructor;
 public class PhotoListItemDto {
     private Long photoId;
     private String imageUrl;
+    private String thumbnailUrl; // 그리드용 256px 렌디션 (없으면 imageUrl)
     private String takenAt;   // ISO-8601 문자열 (예: 2025-07-20T17:23:00)
     private String location;  // 현재 엔티티에 위치명이 없으면 null/""로 반환
     private String brand;
@@ -4,6 +4,7 @@ package com.nemo.backend.domain.photo.dto;
 import com.nemo.backend.domain.photo.entity.Photo;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 사진 상세/목록 조회용 DTO (서비스 ↔ 컨트롤러 내부용).
@@ -14,34 +15,47 @@ public class PhotoResponseDto {
     private Long userId;
     private String imageUrl;
     private String thumbnailUrl;
+    private String previewUrl;
     private String brand;
     private LocalDateTime takenAt;
     private String location;        // 명세: location 문자열 하나
     private LocalDateTime createdAt;
     private boolean favorite;
     private String memo;
+    private String status;          // PROCESSING / READY / FAILED
+    private List<String> tagList = List.of();
+
+    public PhotoResponseDto(Photo photo, List<String> tagList) {
+        this(photo);
+        this.tagList = tagList != null ? tagList : List.of();
+    }
 
     public PhotoResponseDto(Photo photo) {
         this.id = photo.getId();
         this.userId = photo.getUserId();
         this.imageUrl = photo.getImageUrl();
         this.thumbnailUrl = photo.getThumbnailUrl();
+        this.previewUrl = photo.getPreviewUrl();
         this.brand = photo.getBrand();
         this.takenAt = photo.getTakenAt();
         this.location = photo.getLocation();
         this.createdAt = photo.getCreatedAt();
         this.favorite = Boolean.TRUE.equals(photo.getFavorite());
         this.memo = photo.getMemo();
+        this.status = photo.getStatus().name();
     }
 
     public Long getId() { return id; }
     public Long getUserId() { return userId; }
     public String getImageUrl() { return imageUrl; }
     public String getThumbnailUrl() { return thumbnailUrl; }
+    public String getPreviewUrl() { return previewUrl; }
     public String getBrand() { return brand; }
     public LocalDateTime getTakenAt() { return takenAt; }
     public String getLocation() { return location; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public boolean isFavorite() { return favorite; }
     public String getMemo() { return memo; }
+    public String getStatus() { return status; }
+    public List<String> getTagList() { return tagList; }
 }
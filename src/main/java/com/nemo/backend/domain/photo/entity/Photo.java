@@ -10,7 +10,19 @@ import java.time.LocalDateTime;
  * (QR 중복 해시 사용 X)
  */
 @Entity
-@Table(name = "photos")
+@Table(
+        name = "photos",
+        indexes = {
+                // 타임라인/타임랩스 기간 조회 (user_id = ? AND deleted = ? AND taken_at 범위)
+                @Index(name = "idx_photos_user_deleted_taken", columnList = "user_id, deleted, taken_at"),
+                // storage_key 로 사진 찾기 (처리 중 행은 staging 키)
+                @Index(name = "idx_photos_storage_key", columnList = "storage_key")
+        },
+        uniqueConstraints = {
+                // 직접 업로드 confirm 은 업로드 키당 1번만 (동시 confirm 은 INSERT 에서 막힘)
+                @UniqueConstraint(name = "uk_photos_upload_key", columnNames = {"upload_key"})
+        }
+)
 public class Photo {
 
     @Id
@@ -22,9 +34,12 @@ public class Photo {
     @Column(nullable = false)
     private String imageUrl;
 
-    /** 썸네일용 (API 응답에는 노출 안 함) */
+    /** 그리드용 256px 렌디션 (렌디션이 없던 기존 데이터는 imageUrl 과 동일) */
     private String thumbnailUrl;
 
+    /** 상세/앨범 커버용 768px 렌디션 (없으면 null → imageUrl 사용) */
+    private String previewUrl;
+
     private LocalDateTime takenAt;
 
     /** 명세서의 location 필드 (장소 문자열) */
@@ -44,6 +59,40 @@ public class Photo {
     private LocalDateTime createdAt = LocalDateTime.now();
     private Boolean deleted = false;
 
+    /** 업로드 처리 상태 (비동기 파이프라인) */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private PhotoStatus status = PhotoStatus.READY;
+
+    // --- 저장 객체 메타 (업로드 시점에 기록 → 다운로드 목록에서 S3 HEAD 불필요) ---
+
+    /** imageUrl 이 가리키는 S3 key (외부 URL 사진이면 null) */
+    @Column(name = "storage_key", length = 512)
+    private String storageKey;
+
+    /** 본 이미지 바이트 수 (기록 전 데이터는 null → PhotoMetaBackfill 이 채움) */
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    /** 최종 저장 MIME (압축 후 image/webp 등) */
+    @Column(name = "mime_type", length = 100)
+    private String mimeType;
+
+    /** 본 이미지 픽셀 크기 (영상/기존 데이터는 null) */
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    /** 직접 업로드(presigned PUT)로 만든 사진의 업로드 키 (그 외 경로는 null). 처리 후 storage_key 가 바뀌어도 유지 */
+    @Column(name = "upload_key", length = 512)
+    private String uploadKey;
+
+    /** 원본 바이트 SHA-256 (hex). 값이 있으면 stored_assets 를 공유 → 삭제 시 참조 카운트로 정리 */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     public Photo() {
     }
 
@@ -75,6 +124,9 @@ public class Photo {
     public String getThumbnailUrl() { return thumbnailUrl; }
     public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
 
+    public String getPreviewUrl() { return previewUrl; }
+    public void setPreviewUrl(String previewUrl) { this.previewUrl = previewUrl; }
+
     public LocalDateTime getTakenAt() { return takenAt; }
     public void setTakenAt(LocalDateTime takenAt) { this.takenAt = takenAt; }
 
@@ -95,4 +147,29 @@ public class Photo {
 
     public Boolean getDeleted() { return deleted; }
     public void setDeleted(Boolean deleted) { this.deleted = deleted; }
+
+    /** 컬럼 추가 전 데이터(null)는 READY 로 본다 */
+    public PhotoStatus getStatus() { return status != null ? status : PhotoStatus.READY; }
+    public void setStatus(PhotoStatus status) { this.status = status; }
+
+    public String getStorageKey() { return storageKey; }
+    public void setStorageKey(String storageKey) { this.storageKey = storageKey; }
+
+    public Long getFileSize() { return fileSize; }
+    public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
+
+    public String getMimeType() { return mimeType; }
+    public void setMimeType(String mimeType) { this.mimeType = mimeType; }
+
+    public Integer getWidth() { return width; }
+    public void setWidth(Integer width) { this.width = width; }
+
+    public Integer getHeight() { return height; }
+    public void setHeight(Integer height) { this.height = height; }
+
+    public String getUploadKey() { return uploadKey; }
+    public void setUploadKey(String uploadKey) { this.uploadKey = uploadKey; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
 }
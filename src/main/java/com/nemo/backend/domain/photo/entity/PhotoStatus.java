@@ -0,0 +1,14 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/entity/PhotoStatus.java
+package com.nemo.backend.domain.photo.entity;
+
+/**
+ * 업로드 처리 상태.
+ * - PROCESSING : 원본만 staging 에 올라간 상태 (압축/렌디션 생성 대기 중)
+ * - READY      : 처리 완료 (기존 데이터는 모두 READY 로 취급)
+ * - FAILED     : 비동기 처리 실패 (원본 staging URL 은 그대로 남음)
+ */
+public enum PhotoStatus {
+    PROCESSING,
+    READY,
+    FAILED
+}
@@ -0,0 +1,50 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/entity/PhotoTag.java
+package com.nemo.backend.domain.photo.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사진 태그 1개 (photo_tags).
+ * - user_id 는 photos.user_id 를 복사해 둔 값 → (user_id, tag, photo_id) 인덱스만으로 태그 필터/집계
+ * - 같은 사진에 같은 태그는 한 번만 (uk_photo_tags_photo_tag)
+ * - 태그 문자열은 PhotoTagService.normalize 를 거친 값만 저장
+ */
+@Entity
+@Table(
+        name = "photo_tags",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_photo_tags_photo_tag", columnNames = {"photo_id", "tag"})
+        },
+        indexes = {
+                // 태그 필터 (EXISTS) / 태그별 개수 집계
+                @Index(name = "idx_photo_tags_user_tag_photo", columnList = "user_id, tag, photo_id")
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PhotoTag {
+
+    public static final int MAX_LENGTH = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "photo_id", nullable = false)
+    private Long photoId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "tag", nullable = false, length = MAX_LENGTH)
+    private String tag;
+
+    public PhotoTag(Long photoId, Long userId, String tag) {
+        this.photoId = photoId;
+        this.userId = userId;
+        this.tag = tag;
+    }
+}
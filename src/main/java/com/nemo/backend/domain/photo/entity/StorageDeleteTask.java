@@ -0,0 +1,55 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/entity/StorageDeleteTask.java
+package com.nemo.backend.domain.photo.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * S3 삭제 대기열 1건 (storage_delete_queue).
+ * - 사진 soft delete 와 같은 트랜잭션에서 들어가므로, 커밋된 삭제는 S3 실패와 관계없이 언젠가 지워진다
+ * - StorageDeleteQueue 워커가 next_attempt_at 이 지난 행을 DeleteObjects 로 처리하고 성공하면 행을 지운다
+ * - 실패하면 attempts 를 올리고 지수 백오프로 next_attempt_at 을 미룬다 (StorageDeleteTaskRepository.reschedule)
+ */
+@Entity
+@Table(
+        name = "storage_delete_queue",
+        indexes = {
+                // 워커 폴링 (next_attempt_at <= now ORDER BY next_attempt_at)
+                @Index(name = "idx_storage_delete_queue_next", columnList = "next_attempt_at, id")
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StorageDeleteTask {
+
+    public static final int MAX_ERROR_LENGTH = 300;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_key", nullable = false, length = 512)
+    private String objectKey;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public StorageDeleteTask(String objectKey) {
+        this.objectKey = objectKey;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
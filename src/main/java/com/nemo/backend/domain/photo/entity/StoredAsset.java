@@ -0,0 +1,75 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/entity/StoredAsset.java
+package com.nemo.backend.domain.photo.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 기반 저장 객체 (stored_assets).
+ * - 원본 바이트 SHA-256 1개당 1행 → 같은 파일을 다시 올리면 디코딩/압축/S3 PUT 없이 키를 재사용
+ * - ref_count = 이 객체를 가리키는 살아있는 사진 수. 0 이 되면 행을 지우고 S3 객체를 삭제 대기열로 보낸다
+ * - 키/메타는 처음 처리한 결과 그대로 (본 이미지 + 768/256 렌디션)
+ */
+@Entity
+@Table(
+        name = "stored_assets",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_stored_assets_hash", columnNames = {"content_hash"})
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StoredAsset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "storage_key", nullable = false, length = 512)
+    private String storageKey;
+
+    @Column(name = "preview_key", length = 512)
+    private String previewKey;
+
+    @Column(name = "thumbnail_key", length = 512)
+    private String thumbnailKey;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "mime_type", length = 100)
+    private String mimeType;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public StoredAsset(String contentHash, String storageKey, String previewKey, String thumbnailKey,
+                       Long fileSize, String mimeType, Integer width, Integer height) {
+        this.contentHash = contentHash;
+        this.storageKey = storageKey;
+        this.previewKey = previewKey;
+        this.thumbnailKey = thumbnailKey;
+        this.fileSize = fileSize;
+        this.mimeType = mimeType;
+        this.width = width;
+        this.height = height;
+        this.refCount = 1;
+        this.createdAt = LocalDateTime.now();
+    }
+}
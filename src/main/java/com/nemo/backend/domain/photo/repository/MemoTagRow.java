@@ -0,0 +1,5 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/repository/MemoTagRow.java
+package com.nemo.backend.domain.photo.repository;
+
+/** 태그 보정용: photo_tags 도입 전 사진의 메모 */
+public record MemoTagRow(Long id, Long userId, String memo) {}
@@ -0,0 +1,5 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/repository/PhotoRefRow.java
+package com.nemo.backend.domain.photo.repository;
+
+/** 고아 객체 정리용: 사진 1장이 참조하는 URL/키 */
+public record PhotoRefRow(Long id, String imageUrl, String thumbnailUrl, String previewUrl, String storageKey) {}
@@ -2,18 +2,25 @@
 package com.nemo.backend.domain.photo.repository;
 
 import com.nemo.backend.domain.photo.entity.Photo;
+import com.nemo.backend.domain.photo.entity.PhotoStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PhotoRepository extends JpaRepository<Photo, Long> {
 
     // ✅ 사진 목록 조회용 동적 필터 (favorite / brand / tag)
+    //    tag 는 photo_tags (user_id, tag, photo_id) 인덱스로 EXISTS 판정 (정규화된 값으로 넘길 것)
+    //    memoFallback 이면 태그가 하나도 없는 사진(photo_tags 도입 전)은 예전처럼 memo 부분 일치로도 찾는다
     @Query("""
         SELECT p
         FROM Photo p
@@ -21,22 +28,177 @@ public interface PhotoRepository extends JpaRepository<Photo, Long> {
           AND p.deleted = false
           AND (:favorite IS NULL OR p.favorite = :favorite)
           AND (:brand IS NULL OR p.brand = :brand)
-          AND (:tag IS NULL OR p.memo LIKE %:tag%)
+          AND (:tag IS NULL
+               OR EXISTS (
+                    SELECT 1 FROM PhotoTag t
+                    WHERE t.userId = :userId
+                      AND t.tag = :tag
+                      AND t.photoId = p.id)
+               OR (:memoFallback = true
+                   AND p.memo LIKE CONCAT('%', :tag, '%')
+                   AND NOT EXISTS (SELECT 1 FROM PhotoTag t2 WHERE t2.photoId = p.id)))
         """)
     Page<Photo> findForList(
             @Param("userId") Long userId,
             @Param("favorite") Boolean favorite,
             @Param("brand") String brand,
             @Param("tag") String tag,
+            @Param("memoFallback") boolean memoFallback,
             Pageable pageable
     );
 
+    // ✅ 태그 보정 대상: 메모에 '#' 이 있고 태그가 하나도 없는 사진 (id 키셋 페이지)
+    @Query("""
+        SELECT new com.nemo.backend.domain.photo.repository.MemoTagRow(p.id, p.userId, p.memo)
+        FROM Photo p
+        WHERE p.id > :afterId
+          AND p.deleted = false
+          AND p.memo LIKE '%#%'
+          AND NOT EXISTS (SELECT 1 FROM PhotoTag t WHERE t.photoId = p.id)
+        ORDER BY p.id ASC
+        """)
+    List<MemoTagRow> findTagBackfillCandidates(@Param("afterId") Long afterId, Pageable pageable);
+
     // ✅ 특정 사진이 살아있는지 검사할 때 사용
     Optional<Photo> findByIdAndDeletedIsFalse(Long id);
 
     // ✅ 타임라인용: 촬영일시 기준 내림차순 전체 조회 (그대로 유지)
     List<Photo> findByUserIdAndDeletedIsFalseOrderByTakenAtDesc(Long userId);
 
+    // ✅ 검색 색인 적재 (사용자별 첫 검색 시 1회, 필요한 컬럼만)
+    @Query("""
+        SELECT new com.nemo.backend.domain.photo.repository.SearchDocRow(p.id, p.memo, p.location, p.brand)
+        FROM Photo p
+        WHERE p.userId = :userId
+          AND p.deleted = false
+        ORDER BY p.id ASC
+        """)
+    List<SearchDocRow> findSearchDocs(@Param("userId") Long userId);
+
+    // ✅ 고아 객체 정리: 살아있는 사진이 참조하는 URL/키 (id 키셋 페이지)
+    @Query("""
+        SELECT new com.nemo.backend.domain.photo.repository.PhotoRefRow(
+            p.id, p.imageUrl, p.thumbnailUrl, p.previewUrl, p.storageKey)
+        FROM Photo p
+        WHERE p.id > :afterId
+          AND p.deleted = false
+        ORDER BY p.id ASC
+        """)
+    List<PhotoRefRow> findStorageRefs(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByDeletedIsFalse();
+
+    // ✅ 직접 업로드 confirm 중복 방지 (빠른 거절용, 동시 confirm 은 uk_photos_upload_key 가 막음)
+    boolean existsByUploadKey(String uploadKey);
+
     // ✅ 유저의 전체 사진 개수 조회 (삭제되지 않은 것만)
     int countByUserIdAndDeletedIsFalse(Long userId);
+
+    // ✅ 비동기 업로드 처리 완료 → 최종 URL 반영
+    //    아직 expected(PROCESSING) 인 행만 갱신 → 처리 중 삭제됐거나 같은 사진의 다른 작업이 먼저 끝났으면 0 반환
+    //    contentHash 는 stored_assets 에 등록된 경우에만 채우고, null 로는 덮어쓰지 않는다
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Photo p
+        SET p.imageUrl = :imageUrl,
+            p.thumbnailUrl = :thumbnailUrl,
+            p.previewUrl = :previewUrl,
+            p.status = :status,
+            p.storageKey = :storageKey,
+            p.fileSize = :fileSize,
+            p.mimeType = :mimeType,
+            p.width = :width,
+            p.height = :height,
+            p.contentHash = COALESCE(:contentHash, p.contentHash)
+        WHERE p.id = :id
+          AND p.deleted = false
+          AND p.status = :expected
+        """)
+    int completeProcessing(
+            @Param("id") Long id,
+            @Param("expected") PhotoStatus expected,
+            @Param("imageUrl") String imageUrl,
+            @Param("thumbnailUrl") String thumbnailUrl,
+            @Param("previewUrl") String previewUrl,
+            @Param("status") PhotoStatus status,
+            @Param("storageKey") String storageKey,
+            @Param("fileSize") Long fileSize,
+            @Param("mimeType") String mimeType,
+            @Param("width") Integer width,
+            @Param("height") Integer height,
+            @Param("contentHash") String contentHash
+    );
+
+    // ✅ 저장 객체 메타 보정 대상 (업로드 시점 기록 이전 데이터, id 키셋 페이지)
+    //    status 컬럼 추가 이전 행은 NULL 이므로 READY 로 취급
+    @Query("""
+        SELECT p
+        FROM Photo p
+        WHERE p.id > :afterId
+          AND p.fileSize IS NULL
+          AND p.deleted = false
+          AND (p.status IS NULL OR p.status = :status)
+        ORDER BY p.id ASC
+        """)
+    List<Photo> findMetaBackfillCandidates(
+            @Param("afterId") Long afterId,
+            @Param("status") PhotoStatus status,
+            Pageable pageable
+    );
+
+    // ✅ HEAD 결과 반영 (그 사이 업로드 처리/다른 보정이 먼저 채웠으면 건드리지 않음)
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Photo p
+        SET p.storageKey = :storageKey,
+            p.fileSize = :fileSize,
+            p.mimeType = :mimeType
+        WHERE p.id = :id
+          AND p.fileSize IS NULL
+        """)
+    int backfillStorageMeta(
+            @Param("id") Long id,
+            @Param("storageKey") String storageKey,
+            @Param("fileSize") Long fileSize,
+            @Param("mimeType") String mimeType
+    );
+
+    // ✅ 일괄 soft delete (본인 사진 중 아직 살아있는 것만, 반환값 = 실제 삭제 수)
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Photo p
+        SET p.deleted = true
+        WHERE p.id IN :ids
+          AND p.userId = :userId
+          AND p.deleted = false
+        """)
+    int softDeleteAll(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // ✅ 재시작 등으로 작업이 사라져 멈춘 처리 대상 (id 키셋 페이지)
+    @Query("""
+        SELECT new com.nemo.backend.domain.photo.repository.ProcessingPhotoRow(p.id, p.storageKey, p.mimeType)
+        FROM Photo p
+        WHERE p.id > :afterId
+          AND p.status = :status
+          AND p.deleted = false
+          AND p.createdAt < :before
+        ORDER BY p.id ASC
+        """)
+    List<ProcessingPhotoRow> findStaleProcessing(
+            @Param("afterId") Long afterId,
+            @Param("status") PhotoStatus status,
+            @Param("before") LocalDateTime before,
+            Pageable pageable
+    );
+
+    // ✅ 비동기 업로드 처리 실패 표시 (다른 작업이 먼저 완료했으면 건드리지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Photo p SET p.status = :status WHERE p.id = :id AND p.status = :expected")
+    int updateStatusIf(@Param("id") Long id,
+                       @Param("expected") PhotoStatus expected,
+                       @Param("status") PhotoStatus status);
 }
@@ -0,0 +1,41 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/repository/PhotoTagRepository.java
+package com.nemo.backend.domain.photo.repository;
+
+import com.nemo.backend.domain.photo.entity.PhotoTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PhotoTagRepository extends JpaRepository<PhotoTag, Long> {
+
+    // ✅ 사진 1장의 태그 (상세/수정 응답)
+    @Query("SELECT t.tag FROM PhotoTag t WHERE t.photoId = :photoId ORDER BY t.id ASC")
+    List<String> findTagsByPhotoId(@Param("photoId") Long photoId);
+
+    boolean existsByPhotoId(Long photoId);
+
+    // ✅ 태그 교체 (수정 시 기존 태그 전체 삭제 후 다시 저장) / 사진 삭제 시 정리
+    @Modifying
+    @Query("DELETE FROM PhotoTag t WHERE t.photoId = :photoId")
+    int deleteByPhotoId(@Param("photoId") Long photoId);
+
+    // ✅ 일괄 삭제용
+    @Modifying
+    @Query("DELETE FROM PhotoTag t WHERE t.photoId IN :photoIds")
+    int deleteByPhotoIdIn(@Param("photoIds") Collection<Long> photoIds);
+
+    // ✅ 태그 facet: (user_id, tag, photo_id) 인덱스만 읽고 집계
+    //    삭제된 사진의 태그는 삭제 시점에 지우므로 photos 와 조인하지 않는다
+    @Query("""
+        SELECT new com.nemo.backend.domain.photo.repository.TagCountRow(t.tag, COUNT(t))
+        FROM PhotoTag t
+        WHERE t.userId = :userId
+        GROUP BY t.tag
+        ORDER BY COUNT(t) DESC, t.tag ASC
+        """)
+    List<TagCountRow> countByTag(@Param("userId") Long userId);
+}
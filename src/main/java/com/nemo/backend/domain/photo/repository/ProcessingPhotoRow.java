@@ -0,0 +1,5 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/repository/ProcessingPhotoRow.java
+package com.nemo.backend.domain.photo.repository;
+
+/** 처리 복구용: PROCESSING 에 멈춘 사진의 staging 원본 키/타입 */
+public record ProcessingPhotoRow(Long id, String storageKey, String mimeType) {}
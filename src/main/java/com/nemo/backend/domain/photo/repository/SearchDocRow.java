@@ -0,0 +1,5 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/repository/SearchDocRow.java
+package com.nemo.backend.domain.photo.repository;
+
+/** 검색 색인 적재용 (사진 ID + 색인 대상 필드만) */
+public record SearchDocRow(Long id, String memo, String location, String brand) {}
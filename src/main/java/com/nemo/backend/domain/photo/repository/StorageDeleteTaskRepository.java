@@ -0,0 +1,42 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/repository/StorageDeleteTaskRepository.java
+package com.nemo.backend.domain.photo.repository;
+
+import com.nemo.backend.domain.photo.entity.StorageDeleteTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface StorageDeleteTaskRepository extends JpaRepository<StorageDeleteTask, Long> {
+
+    // ✅ 워커 폴링: 재시도 시각이 지난 행 (idx_storage_delete_queue_next)
+    @Query("""
+        SELECT t
+        FROM StorageDeleteTask t
+        WHERE t.nextAttemptAt <= :now
+        ORDER BY t.nextAttemptAt ASC, t.id ASC
+        """)
+    List<StorageDeleteTask> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // ✅ 삭제 실패 → 재시도 시각 연기 (워커가 이미 지운 행은 영향 없음)
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE StorageDeleteTask t
+        SET t.attempts = t.attempts + 1,
+            t.nextAttemptAt = :nextAttemptAt,
+            t.lastError = :lastError
+        WHERE t.id IN :ids
+        """)
+    int reschedule(
+            @Param("ids") Collection<Long> ids,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError
+    );
+}
@@ -0,0 +1,5 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/repository/StoredAssetRefRow.java
+package com.nemo.backend.domain.photo.repository;
+
+/** 고아 객체 정리용: 공유 저장 결과(stored_assets) 1행이 참조하는 키 */
+public record StoredAssetRefRow(Long id, String storageKey, String previewKey, String thumbnailKey) {}
@@ -0,0 +1,57 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/repository/StoredAssetRepository.java
+package com.nemo.backend.domain.photo.repository;
+
+import com.nemo.backend.domain.photo.entity.StoredAsset;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface StoredAssetRepository extends JpaRepository<StoredAsset, Long> {
+
+    Optional<StoredAsset> findByContentHash(String contentHash);
+
+    boolean existsByContentHash(String contentHash);
+
+    // ✅ 재사용: 아직 참조가 남아 있는 경우에만 +1 (0 이면 삭제 진행 중이므로 새로 올린다)
+    @Modifying
+    @Query("UPDATE StoredAsset a SET a.refCount = a.refCount + 1 WHERE a.contentHash = :hash AND a.refCount > 0")
+    int acquire(@Param("hash") String contentHash);
+
+    // ✅ QR 가져오기 재사용: since 이후 등록된 것만 (같은 URL 을 오래 재활용하는 부스 대비)
+    @Modifying
+    @Query("""
+        UPDATE StoredAsset a
+        SET a.refCount = a.refCount + 1
+        WHERE a.contentHash = :hash
+          AND a.refCount > 0
+          AND a.createdAt >= :since
+        """)
+    int acquireSince(@Param("hash") String contentHash, @Param("since") LocalDateTime since);
+
+    // ✅ 사진 삭제 시 -1
+    @Modifying
+    @Query("UPDATE StoredAsset a SET a.refCount = a.refCount - 1 WHERE a.contentHash = :hash AND a.refCount > 0")
+    int release(@Param("hash") String contentHash);
+
+    // ✅ 고아 객체 정리: 공유 저장 결과가 참조하는 키 (id 키셋 페이지)
+    //    참조하는 사진 행이 없어도 ref_count 가 남아 있으면 다음 acquire 가 이 키로 연결하므로 모두 참조로 본다
+    @Query("""
+        SELECT new com.nemo.backend.domain.photo.repository.StoredAssetRefRow(
+            a.id, a.storageKey, a.previewKey, a.thumbnailKey)
+        FROM StoredAsset a
+        WHERE a.id > :afterId
+        ORDER BY a.id ASC
+        """)
+    List<StoredAssetRefRow> findStorageRefs(@Param("afterId") Long afterId, Pageable pageable);
+
+    // ✅ 마지막 참조가 빠졌으면 행 삭제 (반환값 1 이면 호출자가 S3 객체 삭제)
+    @Modifying
+    @Query("DELETE FROM StoredAsset a WHERE a.contentHash = :hash AND a.refCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String contentHash);
+}
@@ -0,0 +1,5 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/repository/TagCountRow.java
+package com.nemo.backend.domain.photo.repository;
+
+/** 태그별 사진 수 (GROUP BY 프로젝션) */
+public record TagCountRow(String tag, Long count) {}
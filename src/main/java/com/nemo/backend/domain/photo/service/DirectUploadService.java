@@ -0,0 +1,105 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/DirectUploadService.java
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 앱 서버를 거치지 않는 직접 업로드 (presigned PUT).
+ *
+ * 1) issue   : staging/direct/{userId}/... 키에 대한 presigned PUT 발급 (Content-Type / Content-Length 서명 포함)
+ * 2) 클라이언트가 S3(LocalStack) 에 바로 PUT
+ * 3) verify  : 키 소유자 / 객체 존재 / 크기 확인 → 이후는 갤러리 업로드와 같은 PhotoProcessingPipeline 으로 처리
+ *
+ * 이미지 디코딩 가능 여부는 파이프라인 prepare 단계에서 확인한다 (실패하면 Photo FAILED).
+ */
+@Service
+public class DirectUploadService {
+
+    /** presigned PUT 발급 결과. 클라이언트는 headers 를 그대로 붙여서 method 로 보낸다 */
+    public record Ticket(String uploadKey, String uploadUrl, String method,
+                         Map<String, String> headers, Instant expiresAt) {}
+
+    private static final String PREFIX = "staging/direct/";
+
+    private final S3Presigner presigner;
+    private final S3PhotoStorage storage;
+    private final String bucket;
+    private final long maxBytes;
+    private final Duration ttl;
+
+    public DirectUploadService(
+            S3Presigner presigner,
+            S3PhotoStorage storage,
+            @Value("${app.s3.bucket}") String bucket,
+            @Value("${app.photo.direct-upload.max-bytes:20971520}") long maxBytes,
+            @Value("${app.photo.direct-upload.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.presigner = presigner;
+        this.storage = storage;
+        this.bucket = bucket;
+        this.maxBytes = maxBytes;
+        this.ttl = Duration.ofSeconds(Math.max(60, ttlSeconds));
+    }
+
+    public Ticket issue(Long userId, String filename, String contentType, Long size) {
+        String mime = contentType == null ? "" : contentType.trim().toLowerCase(Locale.ROOT);
+        if (!mime.startsWith("image/")) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "이미지 파일만 업로드할 수 있습니다: " + contentType);
+        }
+        if (size == null || size <= 0) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "size(바이트)는 필수입니다.");
+        }
+        if (size > maxBytes) {
+            throw new ApiException(ErrorCode.FILE_TOO_LARGE,
+                    "파일 크기는 최대 " + (maxBytes / (1024 * 1024)) + "MB 입니다.");
+        }
+
+        String key = String.format("%s%d/%s/%s.%s", PREFIX, userId, LocalDate.now(), UUID.randomUUID(),
+                S3PhotoStorage.extensionForMime(mime, filename));
+
+        // Content-Length 를 서명에 넣어서 선언한 크기 외의 바디는 S3 가 거절하게 한다
+        PresignedPutObjectRequest p = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(mime)
+                        .contentLength(size)
+                        .build())
+                .build());
+
+        return new Ticket(key, p.url().toString(), p.httpRequest().method().name(),
+                Map.of("Content-Type", mime), p.expiration());
+    }
+
+    /** confirm 단계: 본인 키인지, 실제로 올라왔는지, 크기가 허용 범위인지 */
+    public S3PhotoStorage.ObjectMeta verify(Long userId, String uploadKey) {
+        if (uploadKey == null || !uploadKey.startsWith(PREFIX + userId + "/") || uploadKey.contains("..")) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "본인이 발급받은 업로드 키가 아닙니다.");
+        }
+
+        S3PhotoStorage.ObjectMeta meta = storage.headObject(uploadKey);
+        if (meta == null) {
+            throw new ApiException(ErrorCode.UPLOAD_NOT_FOUND);
+        }
+        if (meta.size() <= 0 || meta.size() > maxBytes) {
+            storage.delete(uploadKey);
+            throw new ApiException(ErrorCode.FILE_TOO_LARGE);
+        }
+        return meta;
+    }
+}
@@ -0,0 +1,101 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/ImageEncoder.java
+package com.nemo.backend.domain.photo.service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * ImageIO 인코딩 유틸 (S3PhotoStorage / 벤치마크 공용).
+ */
+public final class ImageEncoder {
+
+    private ImageEncoder() {}
+
+    /** WEBP writer 가 등록돼 있는지 (Sejda webp-imageio) */
+    public static boolean hasWebpWriter() {
+        return ImageIO.getImageWritersByFormatName("webp").hasNext()
+                || ImageIO.getImageWritersByMIMEType("image/webp").hasNext();
+    }
+
+    /**
+     * @param formatName "webp" / "jpeg" / "png"
+     * @param quality    0.0 ~ 1.0 (null 이면 writer 기본값, 무손실 포맷은 무시)
+     */
+    public static byte[] encode(BufferedImage image, String formatName, Float quality) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageWriter writer = null;
+        ImageOutputStream ios = null;
+        try {
+            // 1) 포맷 이름으로 writer 찾기
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+            // 2) webp인 경우 MIME 기반으로 한 번 더 시도
+            if (!writers.hasNext() && "webp".equalsIgnoreCase(formatName)) {
+                writers = ImageIO.getImageWritersByMIMEType("image/webp");
+            }
+            if (!writers.hasNext()) {
+                throw new IllegalStateException("ImageWriter not found for format: " + formatName);
+            }
+
+            writer = writers.next();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+
+            if (quality != null && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+
+                // ★ compressionType 먼저 지정
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0) {
+                    String chosen = types[0];
+                    for (String t : types) {
+                        if (t != null && t.toLowerCase(Locale.ROOT).contains("lossy")) {
+                            chosen = t;
+                            break;
+                        }
+                    }
+                    param.setCompressionType(chosen);
+                }
+
+                param.setCompressionQuality(quality); // 0.0 ~ 1.0
+            }
+
+            ios = ImageIO.createImageOutputStream(out);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+            ios.flush();
+
+            byte[] encoded = out.toByteArray();
+
+            // ★ 여기서 0바이트면 실패로 간주해서 예외 던짐
+            if (encoded.length == 0) {
+                throw new IllegalStateException("Encoded image is empty for format: " + formatName);
+            }
+
+            return encoded;
+        } finally {
+            if (ios != null) ios.close();
+            if (writer != null) writer.dispose();
+            out.close();
+        }
+    }
+
+    /** JPEG 용: 투명도 있으면 흰 배경에 합성 */
+    public static BufferedImage toOpaqueRgb(BufferedImage work) {
+        if (work.getType() == BufferedImage.TYPE_INT_RGB) return work;
+        BufferedImage rgbImage = new BufferedImage(work.getWidth(), work.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = rgbImage.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, work.getWidth(), work.getHeight());
+        g2d.drawImage(work, 0, 0, null);
+        g2d.dispose();
+        return rgbImage;
+    }
+}
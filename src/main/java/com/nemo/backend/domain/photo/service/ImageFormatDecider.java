@@ -0,0 +1,148 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/ImageFormatDecider.java
+package com.nemo.backend.domain.photo.service;
+
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+/**
+ * 업로드 이미지의 최종 인코딩 포맷을 "한 번에" 고른다.
+ *
+ * 예전에는 WEBP → JPEG → PNG 를 전부 인코딩해 보고 크기를 비교했는데 (2048px 기준 최대 3회 인코딩),
+ * 아래의 싼 신호만으로 인코더 1개를 고르고 실제 인코더 오류가 날 때만 fallback 을 쓴다.
+ *
+ * - 원본 MIME        : 이미 손실 압축(JPEG/WEBP)이고 리사이즈도 안 했고 충분히 작으면 원본 유지
+ * - 알파 채널        : 실제로 투명 픽셀이 있으면 JPEG 제외
+ * - 픽셀 수          : 작은 그래픽은 PNG 가 유리할 수 있음
+ * - 샘플 엔트로피    : 64x64 격자 휘도 히스토그램 엔트로피 (낮으면 단색/그래픽, 높으면 사진)
+ */
+public final class ImageFormatDecider {
+
+    public enum Format {
+        WEBP("webp", "image/webp", 0.80f),
+        JPEG("jpeg", "image/jpeg", 0.85f),
+        PNG("png", "image/png", null),
+        /** 재인코딩 없이 원본 바이트 그대로 */
+        ORIGINAL(null, null, null);
+
+        public final String formatName;
+        public final String mime;
+        public final Float quality;
+
+        Format(String formatName, String mime, Float quality) {
+            this.formatName = formatName;
+            this.mime = mime;
+            this.quality = quality;
+        }
+    }
+
+    /** primary 인코딩이 "실패"했을 때만 fallback 사용 (크기 비교로 재시도하지 않음) */
+    public record Decision(Format primary, Format fallback, String reason) {}
+
+    /** 이 이하 bytes/pixel 의 손실 압축 원본은 다시 인코딩해도 이득이 거의 없음 */
+    static final double KEEP_ORIGINAL_BPP = 0.35;
+    /** 휘도 엔트로피가 이 값(bit) 미만이면 그래픽/단색 계열로 본다 (사진은 보통 6~7.5) */
+    static final double LOW_ENTROPY_BITS = 3.5;
+    /** PNG 후보로 볼 최대 픽셀 수 (1MP) */
+    static final long PNG_MAX_PIXELS = 1_000_000L;
+
+    private static final int SAMPLE_GRID = 64;
+
+    private static final boolean WEBP_AVAILABLE = ImageEncoder.hasWebpWriter();
+
+    private ImageFormatDecider() {}
+
+    /**
+     * @param sourceMime    원본 MIME (판별 결과)
+     * @param image         디코딩(+리사이즈)된 이미지
+     * @param originalBytes 원본 바이트 수
+     * @param resized       디코딩 후 리사이즈 했는지 (했으면 원본 유지 불가)
+     */
+    public static Decision decide(String sourceMime, BufferedImage image, int originalBytes, boolean resized) {
+        return decide(sourceMime, image, originalBytes, resized, WEBP_AVAILABLE);
+    }
+
+    static Decision decide(String sourceMime, BufferedImage image, int originalBytes,
+                           boolean resized, boolean webpAvailable) {
+        String mime = sourceMime == null ? "" : sourceMime.toLowerCase(Locale.ROOT);
+        long pixels = (long) image.getWidth() * image.getHeight();
+        double bpp = pixels > 0 ? (double) originalBytes / pixels : Double.MAX_VALUE;
+        boolean lossySource = mime.equals("image/jpeg") || mime.equals("image/webp");
+
+        // 1) 이미 잘 압축된 손실 원본 → 재인코딩 생략 (화질 저하 + CPU 낭비만 있음)
+        if (lossySource && !resized && bpp <= KEEP_ORIGINAL_BPP) {
+            return new Decision(Format.ORIGINAL, Format.ORIGINAL, "compact lossy source (bpp=" + round(bpp) + ")");
+        }
+
+        boolean alpha = usesAlpha(image);
+        double entropy = sampledLumaEntropy(image);
+        boolean graphic = entropy < LOW_ENTROPY_BITS;
+        Format lossy = webpAvailable ? Format.WEBP : Format.JPEG;
+
+        // 2) 투명 픽셀 있음 → JPEG 제외
+        if (alpha) {
+            if (graphic || !webpAvailable) {
+                return new Decision(Format.PNG, webpAvailable ? Format.WEBP : Format.ORIGINAL,
+                        "alpha + " + (graphic ? "low entropy" : "no webp writer"));
+            }
+            return new Decision(Format.WEBP, Format.PNG, "alpha photo");
+        }
+
+        // 3) 작은 그래픽(스티커/캡처 등) → PNG
+        if (graphic && pixels <= PNG_MAX_PIXELS) {
+            return new Decision(Format.PNG, lossy, "small low-entropy image (H=" + round(entropy) + ")");
+        }
+
+        // 4) 일반 사진 → WEBP (없으면 JPEG)
+        return new Decision(lossy, lossy == Format.WEBP ? Format.JPEG : Format.ORIGINAL,
+                "photo (H=" + round(entropy) + ", bpp=" + round(bpp) + ")");
+    }
+
+    /** 알파 채널이 있어도 전부 불투명이면 false (격자 샘플링) */
+    static boolean usesAlpha(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) return false;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int stepX = Math.max(1, w / SAMPLE_GRID);
+        int stepY = Math.max(1, h / SAMPLE_GRID);
+        for (int y = 0; y < h; y += stepY) {
+            for (int x = 0; x < w; x += stepX) {
+                if ((image.getRGB(x, y) >>> 24) != 0xFF) return true;
+            }
+        }
+        return false;
+    }
+
+    /** 최대 64x64 격자 샘플의 휘도(0~255) 히스토그램 Shannon 엔트로피 (bit, 0~8) */
+    static double sampledLumaEntropy(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int stepX = Math.max(1, w / SAMPLE_GRID);
+        int stepY = Math.max(1, h / SAMPLE_GRID);
+
+        int[] hist = new int[256];
+        int n = 0;
+        for (int y = 0; y < h; y += stepY) {
+            for (int x = 0; x < w; x += stepX) {
+                int rgb = image.getRGB(x, y);
+                int r = (rgb >> 16) & 0xFF;
+                int g = (rgb >> 8) & 0xFF;
+                int b = rgb & 0xFF;
+                hist[(r * 77 + g * 150 + b * 29) >> 8]++;
+                n++;
+            }
+        }
+        if (n == 0) return 0;
+
+        double entropy = 0;
+        for (int c : hist) {
+            if (c == 0) continue;
+            double p = (double) c / n;
+            entropy -= p * (Math.log(p) / Math.log(2));
+        }
+        return entropy;
+    }
+
+    private static String round(double v) {
+        return String.format(Locale.ROOT, "%.2f", v);
+    }
+}
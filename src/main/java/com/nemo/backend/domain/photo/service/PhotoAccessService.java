@@ -0,0 +1,129 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoAccessService.java
+package com.nemo.backend.domain.photo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nemo.backend.domain.album.entity.AlbumShare;
+import com.nemo.backend.domain.album.repository.AlbumPhotoRepository;
+import com.nemo.backend.domain.album.repository.AlbumRepository;
+import com.nemo.backend.domain.album.repository.AlbumShareRepository;
+import com.nemo.backend.domain.photo.entity.Photo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 사진 접근 권한 판정.
+ *
+ * - 상세/즐겨찾기(canAccess): 사진 소유자 이거나, 공유 수락(ACCEPTED, active)한 앨범에 들어 있음
+ * - 다운로드(canDownload / filterAccessible): 위 + 내가 소유한 앨범에 들어 있음 (공유 멤버가 올린 사진)
+ * 앨범에는 본인 사진만 추가할 수 있으므로 (AlbumPhotoRepository.insertMissing) 남의 사진을 내 앨범 경유로 열 수 없다.
+ *
+ * - 단건: album_photos ⨝ album ⨝ album_share EXISTS 쿼리 1번
+ * - 여러 건: 사용자별 "접근 가능한 앨범 ID" 를 짧은 TTL 로 캐시해 두고 IN 쿼리 1번
+ *   공유/공유해제/수락/앨범 생성·삭제 시 evict 로 즉시 무효화 (TTL 은 놓친 경우의 안전장치)
+ */
+@Service
+public class PhotoAccessService {
+
+    private final AlbumPhotoRepository albumPhotoRepository;
+    private final AlbumRepository albumRepository;
+    private final AlbumShareRepository albumShareRepository;
+
+    /** userId → 접근 가능한 앨범 ID */
+    private final Cache<Long, Set<Long>> accessibleAlbumIds;
+
+    public PhotoAccessService(
+            AlbumPhotoRepository albumPhotoRepository,
+            AlbumRepository albumRepository,
+            AlbumShareRepository albumShareRepository,
+            @Value("${app.photo.access-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${app.photo.access-cache.max-users:10000}") long maxUsers
+    ) {
+        this.albumPhotoRepository = albumPhotoRepository;
+        this.albumRepository = albumRepository;
+        this.albumShareRepository = albumShareRepository;
+        this.accessibleAlbumIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    /** 사진 1장 상세/즐겨찾기 접근 가능 여부 */
+    public boolean canAccess(Long userId, Photo photo) {
+        if (userId == null || photo == null) return false;
+        if (Objects.equals(photo.getUserId(), userId)) return true;
+        return albumPhotoRepository.existsInSharedAlbum(userId, photo.getId(), AlbumShare.Status.ACCEPTED);
+    }
+
+    /** 사진 1장 다운로드 가능 여부 */
+    public boolean canDownload(Long userId, Photo photo) {
+        if (userId == null || photo == null) return false;
+        if (Objects.equals(photo.getUserId(), userId)) return true;
+        return albumPhotoRepository.existsInAccessibleAlbum(userId, photo.getId(), AlbumShare.Status.ACCEPTED);
+    }
+
+    /**
+     * 여러 장 중 접근 가능한 사진 ID.
+     * 본인 사진은 쿼리 없이 통과, 나머지만 앨범 ID IN 조건으로 한 번에 확인.
+     */
+    public Set<Long> filterAccessible(Long userId, Collection<Photo> photos) {
+        Set<Long> result = new HashSet<>();
+        Set<Long> others = new HashSet<>();
+        for (Photo p : photos) {
+            if (Objects.equals(p.getUserId(), userId)) {
+                result.add(p.getId());
+            } else {
+                others.add(p.getId());
+            }
+        }
+        if (others.isEmpty()) return result;
+
+        Set<Long> albumIds = accessibleAlbumIds(userId);
+        if (!albumIds.isEmpty()) {
+            result.addAll(albumPhotoRepository.findPhotoIdsInAlbums(others, albumIds));
+        }
+        return result;
+    }
+
+    /** 내가 소유했거나 공유 수락한 앨범 ID (캐시) */
+    public Set<Long> accessibleAlbumIds(Long userId) {
+        return accessibleAlbumIds.get(userId, this::loadAccessibleAlbumIds);
+    }
+
+    /**
+     * 사용자의 앨범 소속이 바뀌었을 때 호출 (공유 수락/해제, 앨범 생성/삭제).
+     * 커밋 후에 무효화한다 (커밋 전에 지우면 그 사이 조회가 이전 목록을 다시 캐시에 올림)
+     */
+    public void evict(Long userId) {
+        if (userId != null) afterCommit(() -> accessibleAlbumIds.invalidate(userId));
+    }
+
+    public void evictAll(Collection<Long> userIds) {
+        List<Long> ids = List.copyOf(userIds);
+        afterCommit(() -> accessibleAlbumIds.invalidateAll(ids));
+    }
+
+    private static void afterCommit(Runnable evict) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
+    private Set<Long> loadAccessibleAlbumIds(Long userId) {
+        Set<Long> ids = new HashSet<>(albumRepository.findIdsByUserId(userId));
+        ids.addAll(albumShareRepository.findAlbumIdsByUserId(userId, AlbumShare.Status.ACCEPTED));
+        return Collections.unmodifiableSet(ids);
+    }
+}
@@ -0,0 +1,120 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoMetaBackfill.java
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.entity.Photo;
+import com.nemo.backend.domain.photo.entity.PhotoStatus;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * photos.file_size / mime_type / storage_key 보정 작업.
+ *
+ * 업로드 시점에 메타를 기록하기 전의 행만 대상으로, S3 HEAD 를 parallelism 개까지 동시에 보내 채운다.
+ * id 키셋으로 batchSize 씩 훑으므로 한 번 돌면 끝까지 가고, 채울 행이 없으면 쿼리 1번으로 끝난다.
+ * - 외부 URL(우리 /files/ 가 아닌) 사진과 S3 에 없는 객체는 건너뛴다
+ * - width/height 는 HEAD 로 알 수 없어서 채우지 않는다 (새 업로드부터 기록)
+ */
+@Slf4j
+@Component
+public class PhotoMetaBackfill {
+
+    private final PhotoRepository photoRepository;
+    private final S3PhotoStorage storage;
+    private final String publicBaseUrl;
+    private final int batchSize;
+    private final ExecutorService headExecutor;
+
+    public PhotoMetaBackfill(
+            PhotoRepository photoRepository,
+            S3PhotoStorage storage,
+            @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl,
+            @Value("${app.photo.meta-backfill.parallelism:8}") int parallelism,
+            @Value("${app.photo.meta-backfill.batch-size:200}") int batchSize
+    ) {
+        this.photoRepository = photoRepository;
+        this.storage = storage;
+        this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
+        this.batchSize = Math.max(1, batchSize);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.headExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread t = new Thread(r, "photo-meta-backfill-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Scheduled(cron = "${app.photo.meta-backfill.cron:0 0 5 * * *}")
+    public void backfill() {
+        long afterId = 0L;
+        int filled = 0;
+        int skipped = 0;
+
+        while (true) {
+            List<Photo> batch = photoRepository.findMetaBackfillCandidates(
+                    afterId, PhotoStatus.READY, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) break;
+            afterId = batch.get(batch.size() - 1).getId();
+
+            // 배치 안에서만 병렬 (동시에 나가는 HEAD 는 최대 parallelism 개)
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>(batch.size());
+            for (Photo p : batch) {
+                String key = extractStorageKeyFromUrl(p.getImageUrl());
+                if (key == null) {
+                    skipped++;
+                    continue;
+                }
+                futures.add(CompletableFuture.supplyAsync(() -> fill(p.getId(), key), headExecutor));
+            }
+            for (CompletableFuture<Boolean> f : futures) {
+                if (f.join()) filled++;
+                else skipped++;
+            }
+        }
+
+        if (filled > 0 || skipped > 0) {
+            log.info("[PhotoMetaBackfill] filled={}, skipped={}", filled, skipped);
+        } else {
+            log.debug("[PhotoMetaBackfill] nothing to fill");
+        }
+    }
+
+    private boolean fill(Long photoId, String key) {
+        try {
+            S3PhotoStorage.ObjectMeta meta = storage.headObject(key);
+            if (meta == null) {
+                log.warn("[PhotoMetaBackfill] object missing: photoId={}, key={}", photoId, key);
+                return false;
+            }
+            return photoRepository.backfillStorageMeta(photoId, key, meta.size(), meta.contentType()) > 0;
+        } catch (Exception e) {
+            log.warn("[PhotoMetaBackfill] failed: photoId={}, key={}, err={}", photoId, key, e.toString());
+            return false;
+        }
+    }
+
+    /** publicBaseUrl + "/files/{key}" 형태가 아니면 null */
+    private String extractStorageKeyFromUrl(String url) {
+        if (url == null || !url.startsWith(publicBaseUrl)) return null;
+        String path = url.substring(publicBaseUrl.length());
+        if (!path.startsWith("/files/")) return null;
+        return path.substring("/files/".length());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        headExecutor.shutdownNow();
+    }
+}
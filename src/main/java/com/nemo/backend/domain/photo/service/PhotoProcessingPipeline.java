@@ -0,0 +1,337 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoProcessingPipeline.java
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.entity.PhotoStatus;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.photo.repository.ProcessingPhotoRow;
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 갤러리 업로드 비동기 처리 파이프라인.
+ *
+ * 요청 스레드: 원본을 staging/ 에 올리고 Photo(PROCESSING) 저장 → 즉시 응답
+ * 워커:       staging 다운로드(IO) → 디코딩/압축/렌디션(CPU) → 업로드(IO) → Photo READY
+ *
+ * - CPU 단계는 코어 수 크기 풀, S3 입출력은 별도 풀에서 실행 (인코딩이 IO 대기에 막히지 않도록)
+ * - 동시에 처리 중인 업로드 수는 maxInFlight 로 제한. 가득 차면 요청 단계에서 UPLOAD_BUSY(503)
+ * - 작업은 메모리에만 있으므로, 재시작/장애로 PROCESSING 에 멈춘 행은 recoverStale 이 storage_key 로 다시 넣는다
+ * - 종료 시 새 요청은 거절하고 진행 중인 작업이 끝날 때까지 shutdownWait 만큼 기다린다
+ */
+@Slf4j
+@Component
+public class PhotoProcessingPipeline {
+
+    /** 처리 대기/진행 중인 업로드 1건. contentHash 가 있으면 완료 시 stored_assets 에 등록 */
+    public record Job(Long photoId, String stagingKey, String originalFilename, String contentType,
+                      String contentHash) {}
+
+    private static final int RECOVER_PAGE_SIZE = 200;
+
+    private final S3PhotoStorage storage;
+    private final PhotoRepository photoRepository;
+    private final StoredAssetService storedAssetService;
+    private final String publicBaseUrl;
+    private final boolean enabled;
+
+    private final int maxInFlight;
+    private final Duration recoverAfter;
+    private final Duration shutdownWait;
+
+    private final Semaphore inFlight;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean shuttingDown;
+    private final ThreadPoolExecutor encodeExecutor;
+    private final ThreadPoolExecutor ioExecutor;
+
+    public PhotoProcessingPipeline(
+            S3PhotoStorage storage,
+            PhotoRepository photoRepository,
+            StoredAssetService storedAssetService,
+            @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl,
+            @Value("${app.photo.processing.enabled:true}") boolean enabled,
+            @Value("${app.photo.processing.encode-threads:0}") int encodeThreads,
+            @Value("${app.photo.processing.io-threads:8}") int ioThreads,
+            @Value("${app.photo.processing.max-in-flight:32}") int maxInFlight,
+            @Value("${app.photo.processing.recover-after-minutes:30}") long recoverAfterMinutes,
+            @Value("${app.photo.processing.shutdown-wait-seconds:25}") long shutdownWaitSeconds
+    ) {
+        this.storage = storage;
+        this.photoRepository = photoRepository;
+        this.storedAssetService = storedAssetService;
+        this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.recoverAfter = Duration.ofMinutes(Math.max(1, recoverAfterMinutes));
+        this.shutdownWait = Duration.ofSeconds(Math.max(0, shutdownWaitSeconds));
+
+        int cpu = encodeThreads > 0 ? encodeThreads : Runtime.getRuntime().availableProcessors();
+        this.inFlight = new Semaphore(maxInFlight);
+        // 큐 용량 = maxInFlight → permit 을 받은 작업은 큐에서 거절되지 않음
+        this.encodeExecutor = newPool("photo-encode", cpu, maxInFlight);
+        this.ioExecutor = newPool("photo-io", ioThreads, maxInFlight * 2);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 요청 1건이 잡은 자리. reserve 시점에 현재 트랜잭션에 정리 훅을 걸어 두므로,
+     * 이후 어디서 예외가 나도(태그/색인/저장 등) 롤백 시 자리와 staging 원본이 정리된다.
+     */
+    public static final class Reservation {
+        private final boolean ownsStaging;
+        private String stagingKey;
+        private Job job;
+        private boolean finished;
+
+        private Reservation(boolean ownsStaging) {
+            this.ownsStaging = ownsStaging;
+        }
+
+        public String stagingKey() {
+            return stagingKey;
+        }
+    }
+
+    /**
+     * 요청 스레드에서 먼저 자리를 잡는다 (직접 업로드 confirm: staging 원본은 클라이언트가 올린 것).
+     * 이미 maxInFlight 건이 처리 중이면 바로 503 으로 거절.
+     * 롤백 시 staging 원본은 재시도할 수 있게 남겨 두고 자리만 돌려준다.
+     */
+    public Reservation reserve() {
+        return reserve(false);
+    }
+
+    /**
+     * 요청 스레드 단계: 자리 확보 → 원본을 가공 없이 staging/ 에 업로드.
+     * 업로드가 실패하면 자리를 바로 돌려주고 예외를 그대로 던진다 (HTML/비이미지는 INVALID_ARGUMENT).
+     * 이후 트랜잭션이 롤백되면 staging 원본도 지운다.
+     */
+    public Reservation stage(byte[] data, String originalFilename, String contentType) {
+        Reservation r = reserve(true);
+        try {
+            r.stagingKey = storage.storeStaging(data, originalFilename, contentType);
+            return r;
+        } catch (RuntimeException e) {
+            finish(r);
+            throw e;
+        }
+    }
+
+    /**
+     * 트랜잭션 커밋 후에 작업을 넣는다 (커밋 전엔 워커가 Photo 행을 못 볼 수 있음).
+     * 정리/제출은 reserve 때 건 훅이 처리한다.
+     */
+    public void submitAfterCommit(Reservation r, Job job) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            r.finished = true; // 자리는 파이프라인이 끝날 때 돌려준다
+            submit(job);
+            return;
+        }
+        r.job = job;
+    }
+
+    private Reservation reserve(boolean ownsStaging) {
+        if (shuttingDown || !inFlight.tryAcquire()) {
+            throw new ApiException(ErrorCode.UPLOAD_BUSY);
+        }
+        Reservation r = new Reservation(ownsStaging);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (r.job != null && !r.finished) {
+                        r.finished = true;
+                        submit(r.job);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED && r.ownsStaging) {
+                        deleteQuietly(r.stagingKey);
+                    }
+                    // 커밋됐지만 작업을 넣지 않은 경우(중간에 다른 경로로 빠짐)도 여기서 자리를 돌려준다
+                    finish(r);
+                }
+            });
+        }
+        return r;
+    }
+
+    /** 자리를 한 번만 돌려준다 */
+    private void finish(Reservation r) {
+        if (r.finished) return;
+        r.finished = true;
+        inFlight.release();
+    }
+
+    /**
+     * 재시작/배포/장애로 메모리 작업이 사라져 PROCESSING 에 멈춘 사진을 다시 넣는다.
+     * storage_key(= staging 원본)로 작업을 재구성하고, 자리가 없으면 다음 주기로 미룬다.
+     * recoverAfter 보다 오래된 행만 대상이라 다른 인스턴스가 처리 중인 작업과는 거의 겹치지 않는다
+     * (겹쳐도 completeProcessing 이 PROCESSING 행만 갱신하므로 먼저 끝난 쪽만 반영되고, 늦은 쪽은 자기 결과물을 지운다).
+     * 원본 해시는 행에 없으므로 복구된 작업은 stored_assets 에 등록하지 않는다.
+     */
+    @Scheduled(initialDelayString = "${app.photo.processing.recover-initial-delay-ms:60000}",
+            fixedDelayString = "${app.photo.processing.recover-interval-ms:300000}")
+    public void recoverStale() {
+        if (!enabled || shuttingDown) return;
+
+        LocalDateTime before = LocalDateTime.now().minus(recoverAfter);
+        PageRequest page = PageRequest.of(0, RECOVER_PAGE_SIZE);
+        int resubmitted = 0;
+        long afterId = 0L;
+        for (List<ProcessingPhotoRow> rows;
+             !(rows = photoRepository.findStaleProcessing(afterId, PhotoStatus.PROCESSING, before, page)).isEmpty(); ) {
+            for (ProcessingPhotoRow row : rows) {
+                afterId = row.id();
+                if (row.storageKey() == null || running.contains(row.id())) continue;
+                if (!inFlight.tryAcquire()) {
+                    log.info("[PhotoProcessing] recover: no free slot, resubmitted={}, rest next round", resubmitted);
+                    return;
+                }
+                String key = row.storageKey();
+                submit(new Job(row.id(), key, key.substring(key.lastIndexOf('/') + 1), row.mimeType(), null));
+                resubmitted++;
+            }
+        }
+        if (resubmitted > 0) {
+            log.info("[PhotoProcessing] recover: resubmitted={}", resubmitted);
+        }
+    }
+
+    private void submit(Job job) {
+        running.add(job.photoId());
+        try {
+            pipeline(job);
+        } catch (RejectedExecutionException e) {
+            // permit 으로 막고 있어서 정상적으로는 오지 않음 (종료 중 등)
+            running.remove(job.photoId());
+            onFailure(job, e);
+            inFlight.release();
+        }
+    }
+
+    private void pipeline(Job job) {
+        CompletableFuture
+                .supplyAsync(() -> storage.readObject(job.stagingKey()), ioExecutor)
+                .thenApplyAsync(bytes -> storage.prepare(bytes, job.originalFilename(), job.contentType(), true),
+                        encodeExecutor)
+                .thenApplyAsync(storage::upload, ioExecutor)
+                .whenComplete((stored, err) -> {
+                    try {
+                        if (err != null) {
+                            onFailure(job, err);
+                        } else {
+                            onSuccess(job, stored);
+                        }
+                    } finally {
+                        running.remove(job.photoId());
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private void onSuccess(Job job, StoredPhoto stored) {
+        String imageUrl = toPublicUrl(stored.key());
+        String thumbnailUrl = stored.thumbnailKey() != null ? toPublicUrl(stored.thumbnailKey()) : imageUrl;
+        String previewUrl = stored.previewKey() != null ? toPublicUrl(stored.previewKey()) : null;
+
+        int updated;
+        try {
+            updated = storedAssetService.completeProcessing(
+                    job.photoId(), job.contentHash(), stored, imageUrl, thumbnailUrl, previewUrl);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 내용이 동시에 처리돼 다른 업로드가 먼저 등록함 → 이 사진은 자기 키를 그대로 쓴다
+            updated = storedAssetService.completeProcessing(
+                    job.photoId(), null, stored, imageUrl, thumbnailUrl, previewUrl);
+        }
+
+        if (updated == 0) {
+            // 처리 도중 사진이 삭제됐거나 다른 작업(복구 재제출)이 먼저 반영함 → 방금 만든 결과물은 정리
+            deleteQuietly(stored.key());
+            deleteQuietly(stored.previewKey());
+            deleteQuietly(stored.thumbnailKey());
+        }
+        deleteQuietly(job.stagingKey());
+
+        log.info("[PhotoProcessing] done: photoId={}, key={}, applied={}", job.photoId(), stored.key(), updated > 0);
+    }
+
+    private void onFailure(Job job, Throwable err) {
+        Throwable cause = (err instanceof CompletionException && err.getCause() != null) ? err.getCause() : err;
+        log.warn("[PhotoProcessing] failed: photoId={}, stagingKey={}, err={}",
+                job.photoId(), job.stagingKey(), cause.toString());
+        try {
+            // staging 원본은 남겨서 imageUrl 로 계속 볼 수 있게 한다
+            photoRepository.updateStatusIf(job.photoId(), PhotoStatus.PROCESSING, PhotoStatus.FAILED);
+        } catch (Exception e) {
+            log.error("[PhotoProcessing] status update failed: photoId={}, err={}", job.photoId(), e.toString());
+        }
+    }
+
+    public String toPublicUrl(String key) {
+        return String.format("%s/files/%s", publicBaseUrl, key);
+    }
+
+    private void deleteQuietly(String key) {
+        if (key == null) return;
+        try {
+            storage.delete(key);
+        } catch (Exception e) {
+            log.warn("[PhotoProcessing] cleanup failed: key={}, err={}", key, e.toString());
+        }
+    }
+
+    /**
+     * 새 자리는 더 주지 않고, 진행 중인 작업이 모두 자리를 돌려줄 때까지 기다린 뒤 풀을 닫는다.
+     * 시간 안에 못 끝낸 작업은 PROCESSING 으로 남아 다음 기동 후 recoverStale 이 다시 처리한다.
+     */
+    @PreDestroy
+    void shutdown() {
+        shuttingDown = true;
+        try {
+            if (!inFlight.tryAcquire(maxInFlight, shutdownWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("[PhotoProcessing] shutdown: {} jobs still running, left for recovery", running.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        encodeExecutor.shutdown();
+        ioExecutor.shutdown();
+    }
+
+    private static ThreadPoolExecutor newPool(String name, int threads, int queueCapacity) {
+        AtomicInteger seq = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, name + "-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}
@@ -0,0 +1,292 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoSearchIndex.java
+package com.nemo.backend.domain.photo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nemo.backend.domain.photo.entity.Photo;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.photo.repository.SearchDocRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 사진 메모/장소/브랜드 검색용 인메모리 역색인 (사용자별).
+ *
+ * - 토큰: PhotoSearchTokenizer (한글 bigram)
+ * - 사용자 안에서 사진마다 docNo(int)를 발급하고, posting 은 (docNo << 2 | 필드) 를 담은 int[] 로 둔다
+ *   (docNo 오름차순이라 AND 교집합을 한 번씩 훑어서 구한다)
+ * - 랭킹: 토큰마다 idf × 필드 가중치(장소 3 / 브랜드 2 / 메모 1) 합, 동점이면 최근 사진 먼저
+ * - 색인은 사용자의 첫 검색 때 DB 에서 한 번 적재하고, 이후에는 업로드/수정/삭제 커밋 후 증분 반영
+ * - 삭제/수정된 docNo 는 비트로만 표시했다가 절반을 넘으면 압축
+ *
+ * 인스턴스 로컬 캐시이므로 다른 인스턴스에서 바뀐 내용은 ttl 이 지나 다시 적재될 때 반영된다.
+ */
+@Slf4j
+@Component
+public class PhotoSearchIndex {
+
+    private static final int FIELD_MEMO = 0;
+    private static final int FIELD_LOCATION = 1;
+    private static final int FIELD_BRAND = 2;
+    private static final int[] FIELD_WEIGHT = {1, 3, 2, 0};
+
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final PhotoRepository photoRepository;
+    private final int maxResults;
+    private final Cache<Long, UserIndex> users;
+
+    public PhotoSearchIndex(
+            PhotoRepository photoRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.photo.search.max-users:2000}") long maxUsers,
+            @Value("${app.photo.search.ttl-minutes:30}") long ttlMinutes,
+            @Value("${app.photo.search.max-results:1000}") int maxResults
+    ) {
+        this.photoRepository = photoRepository;
+        this.maxResults = Math.max(1, maxResults);
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMinutes(Math.max(1, ttlMinutes)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "photo.search");
+    }
+
+    /** 검색어에 맞는 사진 ID (점수 내림차순, 최대 maxResults 개) */
+    public long[] search(Long userId, String query) {
+        String q = query == null ? "" : query.strip();
+        if (q.length() > MAX_QUERY_LENGTH) q = q.substring(0, MAX_QUERY_LENGTH);
+
+        List<String> tokens = PhotoSearchTokenizer.queryTokens(q);
+        if (tokens.isEmpty()) return new long[0];
+        return users.get(userId, this::load).search(tokens, maxResults);
+    }
+
+    /** 저장/수정된 사진을 커밋 후 색인에 반영 (롤백되면 아무것도 하지 않음) */
+    public void indexAfterCommit(Photo photo) {
+        Long userId = photo.getUserId();
+        long photoId = photo.getId();
+        String memo = photo.getMemo();
+        String location = photo.getLocation();
+        String brand = photo.getBrand();
+        afterCommit(userId, idx -> idx.put(photoId, memo, location, brand));
+    }
+
+    public void removeAfterCommit(Long userId, Long photoId) {
+        long id = photoId;
+        afterCommit(userId, idx -> idx.remove(id));
+    }
+
+    private void afterCommit(Long userId, Consumer<UserIndex> change) {
+        Runnable apply = () -> {
+            UserIndex idx = users.getIfPresent(userId);
+            if (idx != null) {
+                change.accept(idx);
+            } else {
+                // 적재 중이면 invalidate 가 적재 완료를 기다렸다가 버린다 → 다음 검색이 최신 상태로 다시 적재
+                users.invalidate(userId);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    private UserIndex load(Long userId) {
+        long started = System.nanoTime();
+        UserIndex idx = new UserIndex();
+        List<SearchDocRow> rows = photoRepository.findSearchDocs(userId);
+        for (SearchDocRow r : rows) {
+            idx.put(r.id(), r.memo(), r.location(), r.brand());
+        }
+        log.debug("[PhotoSearch] loaded userId={}, docs={}, tokens={}, took={}ms",
+                userId, rows.size(), idx.tokenCount(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return idx;
+    }
+
+    // ========================================================
+    // 사용자 1명의 색인
+    // ========================================================
+    static final class UserIndex {
+
+        private static final int COMPACT_MIN_REMOVED = 1024;
+
+        private long[] photoIds = new long[64];
+        private int docCount;
+        private int liveCount;
+        private final Map<Long, Integer> docOf = new HashMap<>();
+        private final BitSet removed = new BitSet();
+        private final Map<String, IntList> postings = new HashMap<>();
+
+        synchronized void put(long photoId, String memo, String location, String brand) {
+            retire(photoId);
+
+            int doc = docCount++;
+            if (doc == photoIds.length) photoIds = Arrays.copyOf(photoIds, doc * 2);
+            photoIds[doc] = photoId;
+            docOf.put(photoId, doc);
+            liveCount++;
+
+            // 같은 토큰이 여러 필드에 있으면 같은 docNo 항목이 연달아 들어간다
+            addField(doc, FIELD_MEMO, memo);
+            addField(doc, FIELD_LOCATION, location);
+            addField(doc, FIELD_BRAND, brand);
+            maybeCompact();
+        }
+
+        synchronized void remove(long photoId) {
+            retire(photoId);
+            maybeCompact();
+        }
+
+        synchronized int tokenCount() {
+            return postings.size();
+        }
+
+        synchronized long[] search(List<String> tokens, int limit) {
+            IntList[] lists = new IntList[tokens.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(tokens.get(i));
+                if (lists[i] == null) return new long[0];
+            }
+            // 짧은 posting 부터 → 뒤쪽 토큰은 이미 걸러진 doc 만 점수 반영
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            float[] score = new float[docCount];
+            int[] hits = new int[docCount];
+            for (int t = 0; t < lists.length; t++) {
+                IntList pl = lists[t];
+                float idf = (float) Math.log(1.0 + (double) liveCount / pl.size);
+                int prevDoc = -1;
+                int best = 0;
+                for (int k = 0; k < pl.size; k++) {
+                    int doc = pl.values[k] >>> 2;
+                    if (doc != prevDoc) {
+                        if (prevDoc >= 0) accumulate(prevDoc, t, idf * best, score, hits);
+                        prevDoc = doc;
+                        best = 0;
+                    }
+                    best = Math.max(best, FIELD_WEIGHT[pl.values[k] & 3]);
+                }
+                if (prevDoc >= 0) accumulate(prevDoc, t, idf * best, score, hits);
+            }
+
+            int matched = 0;
+            int[] docs = new int[Math.min(liveCount, lists[0].size)];
+            for (int k = 0; k < lists[0].size; k++) {
+                int doc = lists[0].values[k] >>> 2;
+                if (hits[doc] == lists.length) {
+                    hits[doc] = -1; // 같은 doc 의 다른 필드 항목은 한 번만
+                    docs[matched++] = doc;
+                }
+            }
+
+            Integer[] ranked = new Integer[matched];
+            for (int i = 0; i < matched; i++) ranked[i] = docs[i];
+            Arrays.sort(ranked, (a, b) -> {
+                int c = Float.compare(score[b], score[a]);
+                return c != 0 ? c : Long.compare(photoIds[b], photoIds[a]);
+            });
+
+            long[] out = new long[Math.min(limit, matched)];
+            for (int i = 0; i < out.length; i++) out[i] = photoIds[ranked[i]];
+            return out;
+        }
+
+        /** 앞선 토큰을 모두 만족한 doc 만 이번 토큰 점수를 더한다 (AND) */
+        private void accumulate(int doc, int tokenIndex, float s, float[] score, int[] hits) {
+            if (hits[doc] != tokenIndex || removed.get(doc)) return;
+            hits[doc]++;
+            score[doc] += s;
+        }
+
+        private void retire(long photoId) {
+            Integer old = docOf.remove(photoId);
+            if (old != null) {
+                removed.set(old);
+                liveCount--;
+            }
+        }
+
+        private void addField(int doc, int field, String text) {
+            for (String token : PhotoSearchTokenizer.indexTokens(text)) {
+                postings.computeIfAbsent(token, k -> new IntList()).add(doc << 2 | field);
+            }
+        }
+
+        /** 지워진 docNo 가 살아있는 수보다 많아지면 docNo 를 다시 매기고 posting 을 정리 */
+        private void maybeCompact() {
+            int dead = docCount - liveCount;
+            if (dead < COMPACT_MIN_REMOVED || dead < liveCount) return;
+
+            int[] remap = new int[docCount];
+            long[] ids = new long[Math.max(64, liveCount)];
+            int next = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (removed.get(doc)) {
+                    remap[doc] = -1;
+                } else {
+                    remap[doc] = next;
+                    ids[next++] = photoIds[doc];
+                }
+            }
+
+            Iterator<IntList> it = postings.values().iterator();
+            while (it.hasNext()) {
+                IntList pl = it.next();
+                pl.remap(remap);
+                if (pl.size == 0) it.remove();
+            }
+
+            docOf.replaceAll((id, doc) -> remap[doc]);
+            photoIds = ids;
+            docCount = next;
+            removed.clear();
+        }
+    }
+
+    /** 자라는 int 배열 (박싱 없는 posting) */
+    static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            values[size++] = v;
+        }
+
+        /** docNo 재매핑 (-1 이면 제거). 순서는 그대로라 오름차순 유지 */
+        void remap(int[] remap) {
+            int w = 0;
+            for (int r = 0; r < size; r++) {
+                int doc = remap[values[r] >>> 2];
+                if (doc >= 0) values[w++] = doc << 2 | (values[r] & 3);
+            }
+            size = w;
+            values = Arrays.copyOf(values, Math.max(1, w));
+        }
+    }
+}
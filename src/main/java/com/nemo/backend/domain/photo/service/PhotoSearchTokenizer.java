@@ -0,0 +1,80 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoSearchTokenizer.java
+package com.nemo.backend.domain.photo.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색용 토크나이저 (한글 bigram).
+ *
+ * 형태소 분석 없이 글자 2개씩 잘라 색인한다. "성수동카페" → 성수, 수동, 동카, 카페
+ * → "성수", "카페", "수동카" 처럼 어절 중간 부분 문자열로 검색해도 걸린다.
+ * - NFKC 정규화 + 소문자 (전각 문자·영문 대소문자 통일)
+ * - 글자/숫자가 아닌 문자는 어절 경계
+ * - 색인 시에는 한 글자 검색을 위해 unigram 도 같이 넣는다
+ */
+final class PhotoSearchTokenizer {
+
+    private PhotoSearchTokenizer() {}
+
+    /** 색인용: 어절별 bigram + unigram (중복 제거) */
+    static Set<String> indexTokens(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            for (int i = 0; i < word.length(); ) {
+                int cp = word.codePointAt(i);
+                int next = i + Character.charCount(cp);
+                out.add(word.substring(i, next));
+                if (next < word.length()) {
+                    int cp2 = word.codePointAt(next);
+                    out.add(word.substring(i, next + Character.charCount(cp2)));
+                }
+                i = next;
+            }
+        }
+        return out;
+    }
+
+    /** 검색어용: 어절이 두 글자 이상이면 bigram 만, 한 글자면 unigram */
+    static List<String> queryTokens(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            if (word.codePointCount(0, word.length()) == 1) {
+                out.add(word);
+                continue;
+            }
+            for (int i = 0; ; ) {
+                int next = i + Character.charCount(word.codePointAt(i));
+                if (next >= word.length()) break;
+                int end = next + Character.charCount(word.codePointAt(next));
+                out.add(word.substring(i, end));
+                i = next;
+            }
+        }
+        return new ArrayList<>(out);
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isBlank()) return words;
+
+        String s = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            boolean wordChar = Character.isLetterOrDigit(cp);
+            if (wordChar && start < 0) start = i;
+            if (!wordChar && start >= 0) {
+                words.add(s.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(cp);
+        }
+        if (start >= 0) words.add(s.substring(start));
+        return words;
+    }
+}
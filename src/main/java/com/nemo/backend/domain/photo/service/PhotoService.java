@@ -1,6 +1,7 @@
 // backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoService.java
 package com.nemo.backend.domain.photo.service;
 
+import com.nemo.backend.domain.file.ZipStreamer;
 import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
 import com.nemo.backend.domain.photo.dto.SelectedPhotosDownloadUrlsResponse;
 import org.springframework.data.domain.Page;
@@ -43,8 +44,29 @@ public interface PhotoService {
         return list(userId, pageable, null, null, null);
     }
 
+    // ✅ 메모/장소/브랜드 검색 (인메모리 bigram 색인, 점수 순)
+    Page<PhotoResponseDto> search(Long userId, String query, Pageable pageable);
+
+    // ✅ presigned PUT 으로 S3 에 직접 올린 파일을 사진으로 등록 (처리는 비동기 파이프라인)
+    PhotoResponseDto confirmDirectUpload(
+            Long userId,
+            String uploadKey,
+            String qrCode,
+            String brand,
+            String location,
+            LocalDateTime takenAt,
+            String memo,
+            List<String> tagList
+    );
+
     void delete(Long userId, Long photoId);
 
+    // ✅ 선택 사진 일괄 삭제 (본인 사진만). 반환값 = 실제 삭제된 장수
+    int deleteAll(Long userId, List<Long> photoIdList);
+
+    // ✅ 비동기 업로드 처리 상태 (PROCESSING / READY / FAILED)
+    PhotoResponseDto getStatus(Long userId, Long photoId);
+
     PhotoResponseDto getDetail(Long userId, Long photoId);
 
     PhotoResponseDto updateDetails(
@@ -53,11 +75,15 @@ public interface PhotoService {
             LocalDateTime takenAt,
             String location,
             String brand,
-            String memo
+            String memo,
+            List<String> tagList        // null 이면 태그 변경 없음
     );
 
     boolean toggleFavorite(Long userId, Long photoId);
 
     // ✅ 선택된 사진들에 대한 다운로드 URL 목록 조회
     SelectedPhotosDownloadUrlsResponse getDownloadUrls(Long userId, List<Long> photoIdList);
+
+    // ✅ 선택된 사진들을 ZIP 으로 묶을 대상 (권한은 한 번에 판정)
+    List<ZipStreamer.Entry> getZipEntries(Long userId, List<Long> photoIdList);
 }
@@ -1,15 +1,17 @@
 // backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoServiceImpl.java
 package com.nemo.backend.domain.photo.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nemo.backend.domain.file.FileDelivery;
+import com.nemo.backend.domain.file.ZipStreamer;
 import com.nemo.backend.domain.photo.dto.PhotoDownloadUrlDto;
 import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
 import com.nemo.backend.domain.photo.dto.SelectedPhotosDownloadUrlsResponse;
 import com.nemo.backend.domain.photo.entity.Photo;
+import com.nemo.backend.domain.photo.entity.PhotoStatus;
 import com.nemo.backend.domain.photo.repository.PhotoRepository;
-import com.nemo.backend.domain.album.entity.AlbumShare;
-import com.nemo.backend.domain.album.repository.AlbumShareRepository;
 import com.nemo.backend.domain.storage.service.StorageService;
 import com.nemo.backend.global.exception.ApiException;
 import com.nemo.backend.global.exception.ErrorCode;
@@ -18,15 +20,15 @@ import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.*;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -48,30 +50,54 @@ import static com.nemo.backend.domain.photo.service.S3PhotoStorage.StorageExcept
 @Transactional
 public class PhotoServiceImpl implements PhotoService {
 
-    private static final int CONNECT_TIMEOUT_MS = 5000;
-    private static final int READ_TIMEOUT_MS    = 10000;
     private static final int MAX_REDIRECTS      = 5;
     private static final int MAX_HTML_FOLLOW    = 2;
-    private static final long MAX_BYTES         = 50L * 1024 * 1024;
-    private static final String USER_AGENT      = "Mozilla/5.0 Nemo/1.0";
     private static final int MIN_IMAGE_BYTES    = 5 * 1024;
+    private static final int MAX_BULK_DELETE    = 1000;
 
     private static final ObjectMapper JSON = new ObjectMapper();
 
     private final PhotoRepository photoRepository;
     private final PhotoStorage storage;
-    private final AlbumShareRepository albumShareRepository;
+    private final PhotoAccessService photoAccessService;
     private final String publicBaseUrl;
     private final StorageService storageService;
+    private final PhotoProcessingPipeline processingPipeline;
+    private final FileDelivery fileDelivery;
+    private final DirectUploadService directUploadService;
+    private final PhotoTagService photoTagService;
+    private final PhotoSearchIndex searchIndex;
+    private final StorageDeleteQueue storageDeleteQueue;
+    private final StoredAssetService storedAssetService;
+    private final QrHttpClient qrHttp;
+    private final boolean tagMemoFallback;
 
     public PhotoServiceImpl(PhotoRepository photoRepository,
                             PhotoStorage storage,
-                            AlbumShareRepository albumShareRepository,
-                            @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl, StorageService storageService) {
+                            PhotoAccessService photoAccessService,
+                            @Value("${app.public-base-url:http://localhost:8080}") String publicBaseUrl, StorageService storageService,
+                            PhotoProcessingPipeline processingPipeline,
+                            FileDelivery fileDelivery,
+                            DirectUploadService directUploadService,
+                            PhotoTagService photoTagService,
+                            PhotoSearchIndex searchIndex,
+                            StorageDeleteQueue storageDeleteQueue,
+                            StoredAssetService storedAssetService,
+                            QrHttpClient qrHttp,
+                            @Value("${app.photo.tag-backfill.enabled:true}") boolean tagMemoFallback) {
         this.photoRepository = photoRepository;
         this.storage = storage;
-        this.albumShareRepository = albumShareRepository;
+        this.photoAccessService = photoAccessService;
         this.storageService = storageService;
+        this.processingPipeline = processingPipeline;
+        this.fileDelivery = fileDelivery;
+        this.directUploadService = directUploadService;
+        this.photoTagService = photoTagService;
+        this.searchIndex = searchIndex;
+        this.storageDeleteQueue = storageDeleteQueue;
+        this.storedAssetService = storedAssetService;
+        this.qrHttp = qrHttp;
+        this.tagMemoFallback = tagMemoFallback;
         this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
     }
 
@@ -101,7 +127,8 @@ public class PhotoServiceImpl implements PhotoService {
                 (image != null ? image.getOriginalFilename() : null)
         );
 
-        storageService.checkPhotoLimitOrThrow(userId);
+        // 잠금 없이 한도만 먼저 확인 (QR 다운로드/S3 업로드 전에 빠르게 거절)
+        storageService.checkPhotoSlotOrThrow(userId);
 
         if ((qrUrlOrPayload == null || qrUrlOrPayload.isBlank()) && (image == null || image.isEmpty())) {
             throw new ApiException(ErrorCode.INVALID_ARGUMENT, "image 또는 qrUrl/qrCode 중 하나는 필수입니다.");
@@ -111,18 +138,57 @@ public class PhotoServiceImpl implements PhotoService {
 
         String storedImage;
         String storedThumb;
+        String storedPreview;
+        PhotoProcessingPipeline.Reservation staged = null; // 비동기 처리 대상이면 staging 원본 + 처리 자리
+        StoredPhoto storedMeta = null; // 우리 스토리지에 올린 본 이미지 메타 (외부 URL 이면 null)
+        String contentHash = null;     // stored_assets 를 공유하는 사진이면 원본 SHA-256
+        String pendingHash = null;     // 비동기 처리 완료 시 등록할 해시
 
         if (image != null && !image.isEmpty()) {
             try {
-                String key = storage.store(image);
-                String url = toPublicUrl(key);
-                storedImage = url;
-                storedThumb = url;
+                // 읽으면서 SHA-256 계산 → 같은 원본이 이미 저장돼 있으면 처리/업로드 없이 재사용
+                StoredAssetService.HashedBytes data = StoredAssetService.read(image);
+                StoredPhoto reused = storedAssetService.acquire(data.sha256());
+
+                if (reused != null) {
+                    storedImage = toPublicUrl(reused.key());
+                    storedThumb = reused.thumbnailKey() != null ? toPublicUrl(reused.thumbnailKey()) : storedImage;
+                    storedPreview = reused.previewKey() != null ? toPublicUrl(reused.previewKey()) : null;
+                    storedMeta = reused;
+                    contentHash = data.sha256();
+                } else if (processingPipeline.isEnabled()) {
+                    // 원본만 staging 에 올리고 압축/렌디션은 워커에서 처리 (요청 스레드 점유 최소화)
+                    // 이후 롤백되면 staging 원본/자리는 트랜잭션 훅이 정리
+                    staged = processingPipeline.stage(
+                            data.bytes(), image.getOriginalFilename(), image.getContentType());
+                    String stagingKey = staged.stagingKey();
+                    pendingHash = data.sha256();
+                    storedImage = toPublicUrl(stagingKey);
+                    storedThumb = storedImage;
+                    storedPreview = null;
+                    // 처리 완료 시 최종 메타로 교체된다 (실패하면 staging 원본 메타가 그대로 남음)
+                    storedMeta = new StoredPhoto(stagingKey, null, null,
+                            image.getSize(), image.getContentType(), null, null);
+                } else {
+                    StoredPhoto stored = storage.storeBytesWithRenditions(
+                            data.bytes(), image.getOriginalFilename(), image.getContentType());
+                    storedImage = toPublicUrl(stored.key());
+                    storedThumb = stored.thumbnailKey() != null ? toPublicUrl(stored.thumbnailKey()) : storedImage;
+                    storedPreview = stored.previewKey() != null ? toPublicUrl(stored.previewKey()) : null;
+                    storedMeta = stored;
+                    if (storedAssetService.register(data.sha256(), stored)) {
+                        contentHash = data.sha256();
+                    }
+                }
             } catch (ApiException ae) {
                 if (ae.getErrorCode() == ErrorCode.INVALID_ARGUMENT && looksLikeUrl(qrUrlOrPayload)) {
-                    AssetPair ap = fetchAssetsFromQrPayload(qrUrlOrPayload);
+                    QrImport qi = importFromQr(qrUrlOrPayload);
+                    AssetPair ap = qi.assets();
                     storedImage = ap.imageUrl;
                     storedThumb = ap.thumbnailUrl != null ? ap.thumbnailUrl : ap.imageUrl;
+                    storedPreview = ap.previewUrl;
+                    storedMeta = ap.stored;
+                    contentHash = qi.contentHash();
                     if (takenAt == null) takenAt = ap.takenAt;
                 } else {
                     throw ae;
@@ -134,9 +200,13 @@ public class PhotoServiceImpl implements PhotoService {
             if (!looksLikeUrl(qrUrlOrPayload)) {
                 throw new InvalidQrException("지원하지 않는 QR/URL 포맷입니다.");
             }
-            AssetPair ap = fetchAssetsFromQrPayload(qrUrlOrPayload);
+            QrImport qi = importFromQr(qrUrlOrPayload);
+            AssetPair ap = qi.assets();
             storedImage = ap.imageUrl;
             storedThumb = ap.thumbnailUrl != null ? ap.thumbnailUrl : ap.imageUrl;
+            storedPreview = ap.previewUrl;
+            storedMeta = ap.stored;
+            contentHash = qi.contentHash();
             if (takenAt == null) takenAt = ap.takenAt;
         }
 
@@ -153,10 +223,78 @@ public class PhotoServiceImpl implements PhotoService {
                 takenAt,
                 location
         );
+        photo.setPreviewUrl(storedPreview);
         photo.setMemo(memo);
+        photo.setContentHash(contentHash);
+        applyStorageMeta(photo, storedMeta);
+
+        // 자리 확정은 저장 직전에: users 행 잠금을 다운로드/업로드 내내 들고 있지 않도록
+        storageService.reservePhotoSlotOrThrow(userId);
 
+        if (staged == null) {
+            Photo saved = photoRepository.save(photo);
+            List<String> tags = photoTagService.replaceTags(saved.getId(), userId, parseTagList(tagListJson));
+            searchIndex.indexAfterCommit(saved);
+            return new PhotoResponseDto(saved, tags);
+        }
+
+        photo.setStatus(PhotoStatus.PROCESSING);
         Photo saved = photoRepository.save(photo);
-        return new PhotoResponseDto(saved);
+        List<String> tags = photoTagService.replaceTags(saved.getId(), userId, parseTagList(tagListJson));
+        searchIndex.indexAfterCommit(saved);
+        processingPipeline.submitAfterCommit(staged, new PhotoProcessingPipeline.Job(
+                saved.getId(), staged.stagingKey(), image.getOriginalFilename(), image.getContentType(), pendingHash));
+        return new PhotoResponseDto(saved, tags);
+    }
+
+    // ========================================================
+    // 1-1) 직접 업로드 확정 (presigned PUT → confirm)
+    //      바이트는 이미 staging 에 있으므로 갤러리 업로드의 stage() 이후 단계와 같다
+    // ========================================================
+    @Override
+    public PhotoResponseDto confirmDirectUpload(Long userId,
+                                                String uploadKey,
+                                                String qrCode,
+                                                String brand,
+                                                String location,
+                                                LocalDateTime takenAt,
+                                                String memo,
+                                                List<String> tagList) {
+        S3PhotoStorage.ObjectMeta meta = directUploadService.verify(userId, uploadKey);
+        if (photoRepository.existsByUploadKey(uploadKey)) {
+            throw new ApiException(ErrorCode.UPLOAD_ALREADY_CONFIRMED);
+        }
+
+        storageService.reservePhotoSlotOrThrow(userId);
+        // 롤백되면 자리만 돌려주고 staging 원본은 재시도할 수 있게 남겨 둔다
+        PhotoProcessingPipeline.Reservation reserved = processingPipeline.reserve();
+
+        if (brand == null || brand.isBlank()) {
+            brand = (qrCode != null) ? inferBrand(qrCode) : "기타";
+        }
+        if (takenAt == null) takenAt = LocalDateTime.now();
+
+        String imageUrl = toPublicUrl(uploadKey);
+        Photo photo = new Photo(userId, imageUrl, imageUrl, brand, takenAt, location);
+        photo.setMemo(memo);
+        photo.setStatus(PhotoStatus.PROCESSING);
+        photo.setUploadKey(uploadKey);
+        applyStorageMeta(photo, new StoredPhoto(uploadKey, null, null,
+                meta.size(), meta.contentType(), null, null));
+
+        Photo saved;
+        try {
+            // 같은 키로 동시에 들어온 confirm 은 unique 제약에서 하나만 남는다 (롤백 → 자리/permit 반환)
+            saved = photoRepository.saveAndFlush(photo);
+        } catch (DataIntegrityViolationException e) {
+            throw new ApiException(ErrorCode.UPLOAD_ALREADY_CONFIRMED);
+        }
+        List<String> tags = photoTagService.replaceTags(saved.getId(), userId, tagList);
+        searchIndex.indexAfterCommit(saved);
+        String filename = uploadKey.substring(uploadKey.lastIndexOf('/') + 1);
+        processingPipeline.submitAfterCommit(reserved, new PhotoProcessingPipeline.Job(
+                saved.getId(), uploadKey, filename, meta.contentType(), null));
+        return new PhotoResponseDto(saved, tags);
     }
 
     // ========================================================
@@ -170,7 +308,8 @@ public class PhotoServiceImpl implements PhotoService {
                                        String brand,
                                        String tag) {
 
-        Page<Photo> page = photoRepository.findForList(userId, favorite, brand, tag, pageable);
+        Page<Photo> page = photoRepository.findForList(
+                userId, favorite, brand, PhotoTagService.normalize(tag), tagMemoFallback, pageable);
         return page.map(PhotoResponseDto::new);
     }
 
@@ -186,6 +325,36 @@ public class PhotoServiceImpl implements PhotoService {
         return list(userId, pageable, null, null, null);
     }
 
+    // ========================================================
+    // 2-1) 사진 검색 (메모/장소/브랜드, 점수 순)
+    //      색인이 ID 순위를 주고, DB 는 현재 페이지 ID 만 PK 로 조회
+    // ========================================================
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PhotoResponseDto> search(Long userId, String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "검색어(q)는 필수입니다.");
+        }
+
+        long[] ranked = searchIndex.search(userId, query);
+        int from = (int) Math.min(pageable.getOffset(), ranked.length);
+        int to = Math.min(from + pageable.getPageSize(), ranked.length);
+
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) pageIds.add(ranked[i]);
+
+        Map<Long, Photo> byId = photoRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Photo::getId, p -> p));
+        List<PhotoResponseDto> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            Photo p = byId.get(id);
+            if (p != null && !Boolean.TRUE.equals(p.getDeleted()) && userId.equals(p.getUserId())) {
+                content.add(new PhotoResponseDto(p));
+            }
+        }
+        return new PageImpl<>(content, pageable, ranked.length);
+    }
+
     // ========================================================
     // 3) 사진 삭제
     // ========================================================
@@ -197,25 +366,85 @@ public class PhotoServiceImpl implements PhotoService {
             throw new ApiException(ErrorCode.UNAUTHORIZED, "삭제 권한이 없습니다.");
         }
 
-        // ===== S3 저장소에서 실제 파일 삭제 (best-effort) =====
-        try {
-            String imageKey = extractStorageKeyFromUrl(photo.getImageUrl());
-            String thumbKey = extractStorageKeyFromUrl(photo.getThumbnailUrl());
+        // 조건부 UPDATE: 동시에 같은 사진을 지우는 요청이 있어도 참조 카운트/장수 반환은 한 번만
+        if (photoRepository.softDeleteAll(userId, List.of(photoId)) == 0) {
+            return;
+        }
+        // S3 객체는 같은 트랜잭션에서 삭제 대기열에 넣고 워커가 DeleteObjects 로 지운다 (실패 시 재시도)
+        storageDeleteQueue.enqueue(storageKeysOf(photo));
+        photoTagService.deleteTags(photoId);
+        searchIndex.removeAfterCommit(userId, photoId);
+        storageService.releasePhotoSlot(userId);
+    }
 
-            if (imageKey != null) {
-                storage.delete(imageKey);
-            }
-            if (thumbKey != null && !thumbKey.equals(imageKey)) {
-                storage.delete(thumbKey);
-            }
-        } catch (Exception e) {
-            // S3 삭제 실패해도 서비스 전체 장애로 가지 않게 워닝만 남기고 넘어감
-            log.warn("[PHOTO][delete] S3 삭제 실패 photoId={}, err={}", photoId, e.toString());
+    // ========================================================
+    // 3-0) 사진 일괄 삭제 (본인 사진만, UPDATE 1번 + 삭제 대기열 적재)
+    // ========================================================
+    @Override
+    public int deleteAll(Long userId, List<Long> photoIdList) {
+        if (photoIdList == null || photoIdList.isEmpty()) {
+            throw new ApiException(ErrorCode.INVALID_REQUEST, "photoIdList는 비어 있을 수 없습니다.");
+        }
+        List<Long> ids = photoIdList.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > MAX_BULK_DELETE) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT,
+                    "한 번에 최대 " + MAX_BULK_DELETE + "장까지 삭제할 수 있습니다.");
         }
-        // ===== 여기까지 S3 삭제 =====
 
-        photo.setDeleted(true);
-        photoRepository.save(photo);
+        List<Photo> photos = photoRepository.findAllById(ids).stream()
+                .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
+                .toList();
+        if (photos.stream().anyMatch(p -> !userId.equals(p.getUserId()))) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "본인 사진만 삭제할 수 있습니다.");
+        }
+        if (photos.isEmpty()) return 0;
+
+        List<Long> targetIds = photos.stream().map(Photo::getId).toList();
+        int deleted = photoRepository.softDeleteAll(userId, targetIds);
+        if (deleted != targetIds.size()) {
+            // 그 사이 다른 요청이 일부를 지움 → 참조 카운트가 두 번 빠지지 않게 전체 롤백
+            throw new ApiException(ErrorCode.CONFLICT, "다른 요청에서 이미 삭제된 사진이 있습니다. 다시 시도해 주세요.");
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (Photo p : photos) keys.addAll(storageKeysOf(p));
+        storageDeleteQueue.enqueue(keys);
+
+        photoTagService.deleteTags(targetIds);
+        storageService.releasePhotoSlots(userId, deleted);
+        targetIds.forEach(id -> searchIndex.removeAfterCommit(userId, id));
+        return deleted;
+    }
+
+    /**
+     * 사진 삭제 시 지울 S3 키 (본 이미지 / 렌디션 / 처리 중이면 staging 원본).
+     * stored_assets 를 공유하는 사진은 참조 -1 후 마지막 참조였을 때만 키를 돌려준다.
+     */
+    private List<String> storageKeysOf(Photo photo) {
+        if (photo.getContentHash() != null) {
+            return storedAssetService.release(photo.getContentHash());
+        }
+        List<String> keys = new ArrayList<>(4);
+        for (String url : new String[]{photo.getImageUrl(), photo.getThumbnailUrl(), photo.getPreviewUrl()}) {
+            String key = extractStorageKeyFromUrl(url);
+            if (key != null) keys.add(key);
+        }
+        if (photo.getStorageKey() != null) keys.add(photo.getStorageKey());
+        return keys;
+    }
+
+    // ========================================================
+    // 3-1) 업로드 처리 상태 조회 (비동기 파이프라인 폴링용, 소유자만)
+    // ========================================================
+    @Override
+    @Transactional(readOnly = true)
+    public PhotoResponseDto getStatus(Long userId, Long photoId) {
+        Photo photo = photoRepository.findByIdAndDeletedIsFalse(photoId)
+                .orElseThrow(() -> new ApiException(ErrorCode.PHOTO_NOT_FOUND, "해당 사진을 찾을 수 없습니다."));
+        if (!photo.getUserId().equals(userId)) {
+            throw new ApiException(ErrorCode.FORBIDDEN, "해당 사진에 접근할 권한이 없습니다.");
+        }
+        return new PhotoResponseDto(photo);
     }
 
     // ========================================================
@@ -231,11 +460,11 @@ public class PhotoServiceImpl implements PhotoService {
             // 명세상 403 Forbidden 사용 :contentReference[oaicite:4]{index=4}
             throw new ApiException(ErrorCode.FORBIDDEN, "해당 사진에 접근할 권한이 없습니다.");
         }
-        return new PhotoResponseDto(photo);
+        return new PhotoResponseDto(photo, photoTagService.tagsOf(photoId));
     }
 
     // ========================================================
-    // 5) 사진 상세 정보 수정 (촬영일시, 위치, 브랜드, 메모)
+    // 5) 사진 상세 정보 수정 (촬영일시, 위치, 브랜드, 메모, 태그)
     // ========================================================
     @Override
     public PhotoResponseDto updateDetails(Long userId,
@@ -243,7 +472,8 @@ public class PhotoServiceImpl implements PhotoService {
                                           LocalDateTime takenAt,
                                           String location,
                                           String brand,
-                                          String memo) {
+                                          String memo,
+                                          List<String> tagList) {
 
         Photo photo = photoRepository.findByIdAndDeletedIsFalse(photoId)
                 .orElseThrow(() -> new ApiException(ErrorCode.INVALID_ARGUMENT, "해당 사진을 찾을 수 없습니다."));
@@ -265,7 +495,23 @@ public class PhotoServiceImpl implements PhotoService {
         }
 
         Photo saved = photoRepository.save(photo);
-        return new PhotoResponseDto(saved);
+        searchIndex.indexAfterCommit(saved);
+        // tagList 가 null 이면 기존 태그 유지, 빈 배열이면 전부 삭제
+        List<String> tags = (tagList != null)
+                ? photoTagService.replaceTags(photoId, userId, tagList)
+                : photoTagService.tagsOf(photoId);
+        return new PhotoResponseDto(saved, tags);
+    }
+
+    /** multipart 의 tagList(JSON 문자열 배열) 파싱. 형식이 틀리면 태그 없음으로 본다 */
+    private List<String> parseTagList(String tagListJson) {
+        if (tagListJson == null || tagListJson.isBlank()) return List.of();
+        try {
+            return JSON.readValue(tagListJson, new TypeReference<List<String>>() {});
+        } catch (Exception e) {
+            log.warn("[PHOTO][tag] tagList 파싱 실패: {}", e.getMessage());
+            return List.of();
+        }
     }
 
     // ========================================================
@@ -309,16 +555,19 @@ public class PhotoServiceImpl implements PhotoService {
                 .distinct()
                 .collect(Collectors.toList());
 
-        List<Photo> photos = photoRepository.findAllById(distinctIds);
+        List<Photo> photos = photoRepository.findAllById(distinctIds).stream()
+                .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
+                .toList();
+
+        // ✅ 권한: 내 사진 + 앨범 멤버 (사진마다 조회하지 않고 한 번에 판정)
+        Set<Long> accessible = photoAccessService.filterAccessible(userId, photos);
 
         List<PhotoDownloadUrlDto> items = photos.stream()
-                .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
-                // ✅ 권한: 내 사진 + 공유 앨범(ACCEPTED) 멤버
-                .filter(p -> hasPhotoAccess(userId, p))
+                .filter(p -> accessible.contains(p.getId()))
                 .map(p -> {
-                    String downloadUrl = p.getImageUrl();
                     String filename = buildDownloadFilename(p.getImageUrl(), p.getId());
-                    Long fileSize = resolveFileSizeFromImageUrl(p.getImageUrl());
+                    String downloadUrl = downloadUrlOf(p.getImageUrl(), filename);
+                    Long fileSize = p.getFileSize(); // 업로드 시점 기록값 (S3 HEAD 없음)
 
                     return PhotoDownloadUrlDto.builder()
                             .photoId(p.getId())
@@ -343,6 +592,52 @@ public class PhotoServiceImpl implements PhotoService {
     }
 
 
+    @Override
+    public List<ZipStreamer.Entry> getZipEntries(Long userId, List<Long> photoIdList) {
+        if (photoIdList == null || photoIdList.isEmpty()) {
+            throw new ApiException(
+                    ErrorCode.INVALID_REQUEST,
+                    "photoIdList는 비어 있을 수 없습니다."
+            );
+        }
+
+        List<Long> distinctIds = photoIdList.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        // findAllById 는 순서를 보장하지 않으므로 요청 순서대로 다시 정렬
+        Map<Long, Photo> byId = photoRepository.findAllById(distinctIds).stream()
+                .filter(p -> Boolean.FALSE.equals(p.getDeleted()))
+                .collect(Collectors.toMap(Photo::getId, p -> p));
+
+        Set<Long> accessible = photoAccessService.filterAccessible(userId, byId.values());
+
+        List<ZipStreamer.Entry> entries = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Photo p = byId.get(id);
+            if (p == null || !accessible.contains(id)) continue;
+            String key = extractStorageKeyFromUrl(p.getImageUrl());
+            if (key == null) continue; // 외부 URL 은 ZIP 대상 아님
+            entries.add(new ZipStreamer.Entry(buildDownloadFilename(p.getImageUrl(), p.getId()), key));
+        }
+
+        if (entries.isEmpty()) {
+            throw new ApiException(
+                    ErrorCode.NO_DOWNLOADABLE_PHOTOS,
+                    "다운로드 가능한 사진이 없습니다."
+            );
+        }
+        return entries;
+    }
+
+    /** redirect 모드면 S3 presigned URL (앱을 거치지 않음), 아니면 /files/ URL 그대로 */
+    private String downloadUrlOf(String imageUrl, String filename) {
+        if (!fileDelivery.isRedirect()) return imageUrl;
+        String key = extractStorageKeyFromUrl(imageUrl);
+        return key != null ? fileDelivery.presignedUrl(key, filename, "attachment") : imageUrl;
+    }
+
     /** download용 파일 이름 생성 – URL 확장자 기준, 없으면 .jpg */
     private String buildDownloadFilename(String imageUrl, Long photoId) {
         String ext = "jpg";
@@ -360,22 +655,6 @@ public class PhotoServiceImpl implements PhotoService {
         return "nemo_photo_" + photoId + "." + ext;
     }
 
-    /** imageUrl → S3 key 추출 후, S3에서 파일 크기 조회 */
-    private Long resolveFileSizeFromImageUrl(String imageUrl) {
-        String key = extractStorageKeyFromUrl(imageUrl);
-        if (key == null) return null;
-
-        if (storage instanceof S3PhotoStorage s3) {
-            try {
-                return s3.getObjectSize(key);
-            } catch (Exception e) {
-                log.warn("[PHOTO][download] 파일 크기 조회 실패 key={}, err={}", key, e.toString());
-                return null;
-            }
-        }
-        return null;
-    }
-
     /**
      * publicBaseUrl + "/files/{key}" 형태의 URL에서 S3 key만 추출
      * 예: http://localhost:8080/files/albums/2025-11-27/xxx.webp
@@ -406,16 +685,61 @@ public class PhotoServiceImpl implements PhotoService {
     // 🔥 요청대로 알고리즘/로직은 그대로 두고, 사용처만 위에서 조정
     // ======================================================================
 
+    /** QR 가져오기 결과 + stored_assets 공유 시 사진에 기록할 content_hash (공유 안 하면 null) */
+    private record QrImport(AssetPair assets, String contentHash) {}
+
+    /**
+     * 같은 QR(한 촬영 세션)을 일행이 각자 가져오는 경우가 대부분이라,
+     * 정규화한 QR 키로 stored_assets 를 먼저 찾고 있으면 리다이렉트/HTML 파싱/다운로드/S3 저장 없이 키만 연결한다.
+     * 처음 가져온 사람의 결과를 등록하고, 삭제는 ref_count 로 보호된다 (마지막 사진이 지워질 때 S3 삭제).
+     */
+    private QrImport importFromQr(String qr) {
+        String qrKey = qrCacheKey(qr);
+        StoredPhoto reused = storedAssetService.acquireQr(qrKey);
+        if (reused != null) {
+            log.info("[QR][cache] hit key={}", qrKey);
+            String image = toPublicUrl(reused.key());
+            String thumb = reused.thumbnailKey() != null ? toPublicUrl(reused.thumbnailKey()) : image;
+            String preview = reused.previewKey() != null ? toPublicUrl(reused.previewKey()) : null;
+            return new QrImport(new AssetPair(image, thumb, preview, null, null, reused),
+                    StoredAssetService.qrHash(qrKey));
+        }
+
+        AssetPair ap = fetchAssetsFromQrPayload(qr);
+        // 우리 스토리지에 이미지를 올린 경우만 공유 (외부 URL/영상만 찾은 경우는 제외)
+        String hash = (ap.stored != null) ? storedAssetService.registerQr(qrKey, ap.stored) : null;
+        return new QrImport(ap, hash);
+    }
+
+    /**
+     * QR 캐시 키: photogray 는 sessionId, life4cut webQr 은 실제 S3 폴더 URL, 그 외는 정규화 URL.
+     * (같은 세션이 다른 쿼리 순서/추적 파라미터로 와도 같은 키가 되도록 브랜드별로 세션 식별자를 쓴다)
+     */
+    private String qrCacheKey(String qr) {
+        String trimmed = qr.trim();
+        try {
+            URL url = new URL(trimmed);
+            String sessionId = photograySessionId(url);
+            if (sessionId != null) return "photogray:" + sessionId;
+            String life4cut = resolveLife4cutNextUrl(url);
+            if (life4cut != null) return "life4cut:" + life4cut;
+        } catch (MalformedURLException ignore) {
+            // 일반 URL 키로 처리
+        }
+        return "url:" + normalizeUrl(trimmed);
+    }
+
     private AssetPair fetchAssetsFromQrPayload(String startUrl) {
         try {
             log.info("[QR][fetch] startUrl={}", startUrl);
-            CookieManager cm = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
-            CookieHandler.setDefault(cm);
+            // 쿠키는 이 가져오기 안에서만 유지 (동시 가져오기끼리 섞이지 않음)
+            QrHttpClient.Session session = qrHttp.newSession();
 
             LinkedHashSet<String> visited = new LinkedHashSet<>();
             String current = startUrl;
             int htmlFollow = 0;
-            String foundImage = null, foundVideo = null, foundThumb = null;
+            String foundImage = null, foundVideo = null, foundThumb = null, foundPreview = null;
+            StoredPhoto foundStored = null;
 
             for (int redirects = 0; redirects <= MAX_REDIRECTS; redirects++) {
                 String norm = normalizeUrl(current);
@@ -428,17 +752,25 @@ public class PhotoServiceImpl implements PhotoService {
                 URL url = new URL(current);
 
                 // ✅ Photogray 전용: photogray-download.aprd.io?id=... 이면 바로 sessionId 기반으로 처리
-                AssetPair photogray = tryResolvePhotograyFromId(url);
+                AssetPair photogray = tryResolvePhotograyFromId(url, session);
                 if (photogray != null) {
                     log.info("[QR][photogray] resolved directly from id param: {}", url);
                     return photogray;
                 }
 
-                HttpURLConnection conn = open(current, "GET", null, startUrl);
-                int code = conn.getResponseCode();
+                // ✅ life4cut webQr 은 URL 만으로 S3 주소가 나오므로 페이지를 받지 않고 바로 이동
+                String specialNext = resolveLife4cutNextUrl(url);
+                if (specialNext != null && !isSamePage(specialNext, current)) {
+                    log.info("[QR][life4cut][forceJump] {} -> {}", current, specialNext);
+                    current = specialNext;
+                    continue;
+                }
 
-                if (code / 100 == 3) {
-                    String location = conn.getHeaderField("Location");
+                QrHttpClient.Response res = qrHttp.get(session, current, startUrl);
+                int code = res.status();
+
+                if (res.isRedirect()) {
+                    String location = res.header("Location");
                     if (location == null || location.isBlank()) {
                         throw new IOException("Redirect without Location");
                     }
@@ -450,36 +782,37 @@ public class PhotoServiceImpl implements PhotoService {
                     throw new IOException("HTTP " + code + " from " + current);
                 }
 
-                String contentType = safeLower(conn.getContentType());
-                String cd = conn.getHeaderField("Content-Disposition");
+                String contentType = res.contentType();
+                String cd = res.header("Content-Disposition");
                 boolean isAttachment = cd != null && cd.toLowerCase(Locale.ROOT).contains("attachment");
 
-                String specialNext = resolveLife4cutNextUrl(url);
-                if (specialNext != null && !isSamePage(specialNext, current)) {
-                    log.info("[QR][life4cut][forceJump] {} -> {}", current, specialNext);
-                    current = specialNext;
-                    continue;
-                }
-
                 if ((contentType != null &&
                         (contentType.startsWith("image/") || contentType.startsWith("video/")))
                         || isAttachment) {
 
-                    try (InputStream in = boundedStream(conn)) {
-                        byte[] data = in.readAllBytes();
+                    try {
+                        byte[] data = res.body();
                         String ct = (contentType != null) ? contentType : "application/octet-stream";
 
                         if (ct.startsWith("image/")) {
                             ensureValidImageBytes(data);
                             ct = sniffContentType(data, ct);
-                            String key = storage.storeBytes(
+                            StoredPhoto stored = storage.storeBytesWithRenditions(
                                     data,
                                     filenameFromHeadersOrUrl(url, cd, ct),
                                     ct
                             );
-                            String publicUrl = toPublicUrl(key);
-                            if (foundImage == null) foundImage = publicUrl;
-                            if (foundThumb == null)  foundThumb  = publicUrl;
+                            String publicUrl = toPublicUrl(stored.key());
+                            if (foundImage == null) {
+                                foundImage = publicUrl;
+                                foundStored = stored;
+                            }
+                            if (foundThumb == null && stored.thumbnailKey() != null) {
+                                foundThumb = toPublicUrl(stored.thumbnailKey());
+                            }
+                            if (foundPreview == null && stored.previewKey() != null) {
+                                foundPreview = toPublicUrl(stored.previewKey());
+                            }
                         } else if (ct.startsWith("video/")) {
                             // 영상도 받아서 스토리지에 저장해 두지만,
                             // 현재 명세상 API/엔티티에는 videoUrl을 노출하거나 저장하지 않는다.
@@ -497,34 +830,35 @@ public class PhotoServiceImpl implements PhotoService {
                                     String stillUrl = buildPhotograyImageUrlFromVideo(url);
                                     log.info("[QR][photogray] try still image from video: {}", stillUrl);
 
-                                    HttpURLConnection imgConn = open(stillUrl, "GET", null, startUrl);
-                                    int imgCode = imgConn.getResponseCode();
-                                    if (imgCode >= 200 && imgCode < 300) {
-                                        String imgCt = safeLower(imgConn.getContentType());
+                                    QrHttpClient.Response img = qrHttp.get(session, stillUrl, startUrl);
+                                    if (img.isSuccess()) {
+                                        String imgCt = img.contentType();
                                         if (imgCt != null && imgCt.startsWith("image/")) {
-                                            try (InputStream imgIn = boundedStream(imgConn)) {
-                                                byte[] imgData = imgIn.readAllBytes();
-                                                ensureValidImageBytes(imgData);
-                                                String realCt = sniffContentType(imgData, imgCt);
-                                                String imgKey = storage.storeBytes(
-                                                        imgData,
-                                                        filenameFromHeadersOrUrl(new URL(stillUrl),
-                                                                imgConn.getHeaderField("Content-Disposition"),
-                                                                realCt),
-                                                        realCt
-                                                );
-                                                String imgPublicUrl = toPublicUrl(imgKey);
-                                                foundImage = imgPublicUrl;
-                                                if (foundThumb == null) {
-                                                    foundThumb = imgPublicUrl;
-                                                }
-                                                log.info("[QR][photogray] still image stored: {}", imgPublicUrl);
+                                            byte[] imgData = img.body();
+                                            ensureValidImageBytes(imgData);
+                                            String realCt = sniffContentType(imgData, imgCt);
+                                            StoredPhoto stored = storage.storeBytesWithRenditions(
+                                                    imgData,
+                                                    filenameFromHeadersOrUrl(new URL(stillUrl),
+                                                            img.header("Content-Disposition"),
+                                                            realCt),
+                                                    realCt
+                                            );
+                                            String imgPublicUrl = toPublicUrl(stored.key());
+                                            foundImage = imgPublicUrl;
+                                            foundStored = stored;
+                                            if (foundThumb == null && stored.thumbnailKey() != null) {
+                                                foundThumb = toPublicUrl(stored.thumbnailKey());
+                                            }
+                                            if (foundPreview == null && stored.previewKey() != null) {
+                                                foundPreview = toPublicUrl(stored.previewKey());
                                             }
+                                            log.info("[QR][photogray] still image stored: {}", imgPublicUrl);
                                         } else {
                                             log.warn("[QR][photogray] still image content-type not image: {}", imgCt);
                                         }
                                     } else {
-                                        log.warn("[QR][photogray] still image HTTP {} from {}", imgCode, stillUrl);
+                                        log.warn("[QR][photogray] still image HTTP {} from {}", img.status(), stillUrl);
                                     }
                                 } catch (Exception pe) {
                                     log.warn("[QR][photogray] still image fetch failed: {}", pe.toString());
@@ -541,7 +875,7 @@ public class PhotoServiceImpl implements PhotoService {
                 if (contentType != null && contentType.startsWith("text/html")) {
                     if (htmlFollow >= MAX_HTML_FOLLOW) break;
 
-                    String html = readAll(conn.getInputStream());
+                    String html = new String(res.body(), StandardCharsets.UTF_8);
                     HtmlExtracted he = extractFromHtml(html, current);
 
                     if (he.imageUrl != null && !isSamePage(he.imageUrl, current)) {
@@ -560,7 +894,7 @@ public class PhotoServiceImpl implements PhotoService {
             }
             if (foundThumb == null) foundThumb = foundImage;
 
-            return new AssetPair(foundImage, foundThumb, foundVideo, null);
+            return new AssetPair(foundImage, foundThumb, foundPreview, foundVideo, null, foundStored);
         } catch (StorageException e) {
             throw e;
         } catch (Exception e) {
@@ -598,11 +932,10 @@ public class PhotoServiceImpl implements PhotoService {
     }
 
     /**
-     * photogray-download.aprd.io?id=... 형태의 URL에서
-     * id(base64) → sessionId → pg-qr-resource.aprd.io/{sessionId}/image.jpg / video.mp4 를
-     * 직접 호출해서 AssetPair를 만들어 준다.
+     * photogray-download.aprd.io?id=... 의 id(base64) 에서 sessionId 를 꺼낸다 (아니면 null).
+     * QR 가져오기 캐시 키로도 쓴다.
      */
-    private AssetPair tryResolvePhotograyFromId(URL url) {
+    private String photograySessionId(URL url) {
         if (url == null || url.getHost() == null) return null;
 
         String host = url.getHost().toLowerCase(Locale.ROOT);
@@ -630,23 +963,32 @@ public class PhotoServiceImpl implements PhotoService {
         try {
             // 2) base64 디코딩 → sessionId=...&mode=...&... 문자열
             String decoded = new String(Base64.getDecoder().decode(encodedId), StandardCharsets.UTF_8);
-            String sessionId = null;
             for (String pair : decoded.split("&")) {
                 int idx = pair.indexOf('=');
                 if (idx <= 0) continue;
                 String key = pair.substring(0, idx);
                 String value = pair.substring(idx + 1);
-                if ("sessionId".equals(key)) {
-                    sessionId = value;
-                    break;
+                if ("sessionId".equals(key) && !value.isBlank()) {
+                    return value;
                 }
             }
+            log.warn("[QR][photogray] sessionId not found in decoded: {}", decoded);
+        } catch (IllegalArgumentException e) {
+            log.warn("[QR][photogray] invalid id: {}", e.getMessage());
+        }
+        return null;
+    }
 
-            if (sessionId == null || sessionId.isBlank()) {
-                log.warn("[QR][photogray] sessionId not found in decoded: {}", decoded);
-                return null;
-            }
+    /**
+     * photogray-download.aprd.io?id=... 형태의 URL에서
+     * id(base64) → sessionId → pg-qr-resource.aprd.io/{sessionId}/image.jpg / video.mp4 를
+     * 직접 호출해서 AssetPair를 만들어 준다.
+     */
+    private AssetPair tryResolvePhotograyFromId(URL url, QrHttpClient.Session session) {
+        String sessionId = photograySessionId(url);
+        if (sessionId == null) return null;
 
+        try {
             // 3) resource base URL 구성
             String base = "https://pg-qr-resource.aprd.io/" + sessionId;
             String imageUrl = base + "/image.jpg";
@@ -654,40 +996,40 @@ public class PhotoServiceImpl implements PhotoService {
 
             String storedImage = null;
             String storedThumb = null;
+            String storedPreview = null;
             String storedVideo = null;
+            StoredPhoto storedMeta = null;
 
             // 3-1) image.jpg 먼저 시도 (사진)
             try {
-                HttpURLConnection imgConn = open(imageUrl, "GET", null, url.toString());
-                int code = imgConn.getResponseCode();
-                if (code >= 200 && code < 300) {
-                    String imgCtHeader = safeLower(imgConn.getContentType());
-                    try (InputStream imgIn = boundedStream(imgConn)) {
-                        byte[] imgData = imgIn.readAllBytes();
-
-                        try {
-                            // 헤더가 octet-stream 이라도 바이트 검사해서 진짜 이미지인지 확인
-                            ensureValidImageBytes(imgData);
-                        } catch (IOException ex) {
-                            log.warn("[QR][photogray] direct image not recognized as image bytes: {}", ex.getMessage());
-                            // 이미지가 아니면 Photogray 특수 처리 포기 → 일반 로직으로 넘기기
-                            return null;
-                        }
-
-                        String realCt = sniffContentType(imgData, imgCtHeader);
-                        String imgKey = storage.storeBytes(
-                                imgData,
-                                filenameFromHeadersOrUrl(new URL(imageUrl),
-                                        imgConn.getHeaderField("Content-Disposition"),
-                                        realCt),
-                                realCt
-                        );
-                        storedImage = toPublicUrl(imgKey);
-                        storedThumb = storedImage;
-                        log.info("[QR][photogray] direct image stored: {} (ct={})", storedImage, realCt);
+                QrHttpClient.Response img = qrHttp.get(session, imageUrl, url.toString());
+                if (img.isSuccess()) {
+                    byte[] imgData = img.body();
+
+                    try {
+                        // 헤더가 octet-stream 이라도 바이트 검사해서 진짜 이미지인지 확인
+                        ensureValidImageBytes(imgData);
+                    } catch (IOException ex) {
+                        log.warn("[QR][photogray] direct image not recognized as image bytes: {}", ex.getMessage());
+                        // 이미지가 아니면 Photogray 특수 처리 포기 → 일반 로직으로 넘기기
+                        return null;
                     }
+
+                    String realCt = sniffContentType(imgData, img.contentType());
+                    StoredPhoto stored = storage.storeBytesWithRenditions(
+                            imgData,
+                            filenameFromHeadersOrUrl(new URL(imageUrl),
+                                    img.header("Content-Disposition"),
+                                    realCt),
+                            realCt
+                    );
+                    storedImage = toPublicUrl(stored.key());
+                    storedThumb = stored.thumbnailKey() != null ? toPublicUrl(stored.thumbnailKey()) : storedImage;
+                    if (stored.previewKey() != null) storedPreview = toPublicUrl(stored.previewKey());
+                    storedMeta = stored;
+                    log.info("[QR][photogray] direct image stored: {} (ct={})", storedImage, realCt);
                 } else {
-                    log.warn("[QR][photogray] direct image HTTP {} from {}", code, imageUrl);
+                    log.warn("[QR][photogray] direct image HTTP {} from {}", img.status(), imageUrl);
                 }
 
             } catch (Exception e) {
@@ -696,24 +1038,18 @@ public class PhotoServiceImpl implements PhotoService {
 
             // 3-2) video.mp4 는 선택적으로 저장 (지금은 DB에 안 넣지만, 나중 확장 대비)
             try {
-                HttpURLConnection vConn = open(videoUrl, "GET", null, url.toString());
-                int vCode = vConn.getResponseCode();
-                if (vCode >= 200 && vCode < 300) {
-                    String vCt = safeLower(vConn.getContentType());
-                    if (vCt != null && vCt.startsWith("video/")) {
-                        try (InputStream vIn = boundedStream(vConn)) {
-                            byte[] vData = vIn.readAllBytes();
-                            String vKey = storage.storeBytes(
-                                    vData,
-                                    filenameFromHeadersOrUrl(new URL(videoUrl),
-                                            vConn.getHeaderField("Content-Disposition"),
-                                            vCt),
-                                    vCt
-                            );
-                            storedVideo = toPublicUrl(vKey);
-                            log.info("[QR][photogray] direct video stored: {}", storedVideo);
-                        }
-                    }
+                QrHttpClient.Response video = qrHttp.get(session, videoUrl, url.toString());
+                String vCt = video.contentType();
+                if (video.isSuccess() && vCt != null && vCt.startsWith("video/")) {
+                    String vKey = storage.storeBytes(
+                            video.body(),
+                            filenameFromHeadersOrUrl(new URL(videoUrl),
+                                    video.header("Content-Disposition"),
+                                    vCt),
+                            vCt
+                    );
+                    storedVideo = toPublicUrl(vKey);
+                    log.info("[QR][photogray] direct video stored: {}", storedVideo);
                 }
             } catch (Exception e) {
                 log.warn("[QR][photogray] direct video fetch failed: {}", e.toString());
@@ -725,11 +1061,8 @@ public class PhotoServiceImpl implements PhotoService {
             }
 
             if (storedThumb == null) storedThumb = storedImage;
-            return new AssetPair(storedImage, storedThumb, storedVideo, null);
+            return new AssetPair(storedImage, storedThumb, storedPreview, storedVideo, null, storedMeta);
 
-        } catch (IllegalArgumentException e) {
-            log.warn("[QR][photogray] base64 decode failed for id={}", encodedId);
-            return null;
         } catch (Exception e) {
             log.warn("[QR][photogray] unexpected error: {}", e.toString());
             return null;
@@ -860,29 +1193,6 @@ public class PhotoServiceImpl implements PhotoService {
                 lower.endsWith(".mov");
     }
 
-    // ===================== HTTP 유틸 =====================
-
-    private HttpURLConnection open(String url, String method, String body, String referer) throws IOException {
-        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
-        conn.setInstanceFollowRedirects(false);
-        conn.setConnectTimeout(CONNECT_TIMEOUT_MS);
-        conn.setReadTimeout(READ_TIMEOUT_MS);
-        conn.setRequestProperty("User-Agent", USER_AGENT);
-        conn.setRequestProperty("Accept", "image/jpeg,image/png,image/webp;q=0.9,text/html;q=0.8,*/*;q=0.5");
-        conn.setRequestProperty("Accept-Language", "ko,en;q=0.8");
-        if (referer != null) conn.setRequestProperty("Referer", referer);
-        conn.setRequestMethod(method);
-        if ("POST".equalsIgnoreCase(method) && body != null) {
-            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
-            conn.setDoOutput(true);
-            conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8");
-            conn.setRequestProperty("Content-Length", String.valueOf(bytes.length));
-            try (OutputStream os = conn.getOutputStream()) { os.write(bytes); }
-        }
-        conn.connect();
-        return conn;
-    }
-
     // ===================== HTML 파서 & 유틸 =====================
 
     private HtmlExtracted extractFromHtml(String html, String baseUrl) {
@@ -1102,10 +1412,6 @@ public class PhotoServiceImpl implements PhotoService {
         }
     }
 
-    private String safeLower(String s) {
-        return (s == null) ? null : s.toLowerCase(Locale.ROOT);
-    }
-
     private String sha256Hex(String input) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
@@ -1120,37 +1426,6 @@ public class PhotoServiceImpl implements PhotoService {
         return t.startsWith("http://") || t.startsWith("https://");
     }
 
-    private InputStream boundedStream(HttpURLConnection conn) throws IOException {
-        long len = conn.getContentLengthLong();
-        if (len > 0 && len > MAX_BYTES) throw new IOException("File too large: " + len);
-        return new LimitedInputStream(conn.getInputStream(), MAX_BYTES);
-    }
-
-    private static class LimitedInputStream extends java.io.FilterInputStream {
-        private long remaining;
-        protected LimitedInputStream(InputStream in, long maxBytes) {
-            super(in);
-            this.remaining = maxBytes;
-        }
-        @Override public int read() throws IOException {
-            if (remaining <= 0) throw new IOException("Limit exceeded");
-            int b = super.read();
-            if (b != -1) remaining--;
-            return b;
-        }
-        @Override public int read(byte[] b, int off, int len) throws IOException {
-            if (remaining <= 0) throw new IOException("Limit exceeded");
-            len = (int) Math.min(len, remaining);
-            int n = super.read(b, off, len);
-            if (n > 0) remaining -= n;
-            return n;
-        }
-    }
-
-    private String readAll(InputStream in) throws IOException {
-        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
-    }
-
     private void ensureValidImageBytes(byte[] data) throws IOException {
         if (data == null || data.length < MIN_IMAGE_BYTES) throw new IOException("Image too small");
         if (!looksLikeImage(data)) throw new IOException("Not an image content");
@@ -1200,45 +1475,36 @@ public class PhotoServiceImpl implements PhotoService {
     }
 
     private static class AssetPair {
-        final String imageUrl, thumbnailUrl, videoUrl;
+        final String imageUrl, thumbnailUrl, previewUrl, videoUrl;
         final LocalDateTime takenAt;
-        AssetPair(String i, String t, String v, LocalDateTime ta) {
+        /** imageUrl 로 저장한 본 이미지 메타 (영상만 찾은 경우 null) */
+        final StoredPhoto stored;
+        AssetPair(String i, String t, String p, String v, LocalDateTime ta, StoredPhoto s) {
             this.imageUrl = i;
             this.thumbnailUrl = t;
+            this.previewUrl = p;
             this.videoUrl = v;
             this.takenAt = ta;
+            this.stored = s;
         }
     }
 
+    /** 저장 메타를 Photo 에 기록 (다운로드 목록/ZIP 에서 S3 HEAD 없이 사용) */
+    private static void applyStorageMeta(Photo photo, StoredPhoto stored) {
+        if (stored == null) return;
+        photo.setStorageKey(stored.key());
+        photo.setFileSize(stored.size());
+        photo.setMimeType(stored.mime());
+        photo.setWidth(stored.width());
+        photo.setHeight(stored.height());
+    }
+
     /**
      * 사진 상세/즐겨찾기 권한 체크
      * - 1) 사진 소유자
-     * - 2) 공유 앨범(ACCEPTED) 멤버이면서, 해당 앨범에 이 사진이 포함된 경우
+     * - 2) 내가 소유했거나 공유 수락(ACCEPTED)한 앨범에 이 사진이 포함된 경우
      */
     private boolean hasPhotoAccess(Long userId, Photo photo) {
-        // 1) 본인 사진
-        if (photo.getUserId() != null && photo.getUserId().equals(userId)) {
-            return true;
-        }
-
-        // 2) 공유받은 앨범 중 이 사진을 포함하는 앨범이 있는지 확인
-        List<AlbumShare> shares = albumShareRepository
-                .findByUserIdAndStatusAndActiveTrue(userId, AlbumShare.Status.ACCEPTED);
-
-        for (AlbumShare share : shares) {
-            if (share.getAlbum() == null || share.getAlbum().getPhotos() == null) {
-                continue;
-            }
-
-            boolean contains = share.getAlbum().getPhotos().stream()
-                    .filter(p -> !Boolean.TRUE.equals(p.getDeleted()))
-                    .anyMatch(p -> Objects.equals(p.getId(), photo.getId()));
-
-            if (contains) {
-                return true;
-            }
-        }
-
-        return false;
+        return photoAccessService.canAccess(userId, photo);
     }
 }
@@ -10,6 +10,16 @@ public interface PhotoStorage {
     /** URL 크롤링 등으로 확보한 바이트를 직접 저장하고 키(경로)를 반환 */
     String storeBytes(byte[] data, String originalFilename, String contentType) throws Exception;
 
+    /** store + 목록용 렌디션(768/256px) 생성. 렌디션을 못 만드는 구현은 본 키만 채운다 */
+    default StoredPhoto storeWithRenditions(MultipartFile file) throws Exception {
+        return StoredPhoto.of(store(file));
+    }
+
+    /** storeBytes + 목록용 렌디션(768/256px) 생성 */
+    default StoredPhoto storeBytesWithRenditions(byte[] data, String originalFilename, String contentType) throws Exception {
+        return StoredPhoto.of(storeBytes(data, originalFilename, contentType));
+    }
+
     /** S3 등에 저장된 객체를 삭제 */
     void delete(String key) throws Exception;
 }
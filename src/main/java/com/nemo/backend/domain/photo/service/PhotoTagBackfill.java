@@ -0,0 +1,71 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoTagBackfill.java
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.repository.MemoTagRow;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * photo_tags 도입 전 사진의 태그 보정 (1회성).
+ *
+ * 예전에는 태그를 따로 저장하지 않고 목록 필터가 memo LIKE 로 찾았다.
+ * 메모의 #태그를 photo_tags 로 옮기고, 이 작업이 끝날 때까지는 목록 필터가
+ * 태그 없는 사진을 memo 부분 일치로도 찾는다 (PhotoRepository.findForList 의 memoFallback).
+ *
+ * - 인스턴스가 뜰 때마다 initialDelay 뒤 한 번만 돈다 (id 키셋, 태그가 이미 있는 사진은 대상 아님)
+ * - 완료 로그를 확인한 뒤 app.photo.tag-backfill.enabled=false 로 끄면 작업과 memo 대체 검색이 함께 꺼진다
+ *   (켜 둔 채 재시작하면, 그 사이 태그를 전부 지운 옛 사진에 메모의 #태그가 다시 붙을 수 있다)
+ */
+@Slf4j
+@Component
+public class PhotoTagBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PhotoRepository photoRepository;
+    private final PhotoTagService photoTagService;
+    private final boolean enabled;
+
+    public PhotoTagBackfill(
+            PhotoRepository photoRepository,
+            PhotoTagService photoTagService,
+            @Value("${app.photo.tag-backfill.enabled:true}") boolean enabled
+    ) {
+        this.photoRepository = photoRepository;
+        this.photoTagService = photoTagService;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(initialDelayString = "${app.photo.tag-backfill.initial-delay-ms:120000}", fixedDelay = Long.MAX_VALUE)
+    public void backfill() {
+        if (!enabled) return;
+
+        long afterId = 0L;
+        int tagged = 0;
+        int scanned = 0;
+        PageRequest page = PageRequest.of(0, BATCH_SIZE);
+        for (List<MemoTagRow> rows; !(rows = photoRepository.findTagBackfillCandidates(afterId, page)).isEmpty(); ) {
+            for (MemoTagRow r : rows) {
+                scanned++;
+                try {
+                    if (photoTagService.addIfUntagged(r.id(), r.userId(), PhotoTagService.extractHashtags(r.memo()))) {
+                        tagged++;
+                    }
+                } catch (DataIntegrityViolationException e) {
+                    // 다른 인스턴스가 같은 사진을 먼저 채움
+                    log.debug("[PhotoTagBackfill] already tagged: photoId={}", r.id());
+                }
+            }
+            afterId = rows.get(rows.size() - 1).id();
+        }
+        log.info("[PhotoTagBackfill] complete: scanned={}, tagged={} (app.photo.tag-backfill.enabled 를 꺼도 됨)",
+                scanned, tagged);
+    }
+}
@@ -0,0 +1,103 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/PhotoTagService.java
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.entity.PhotoTag;
+import com.nemo.backend.domain.photo.repository.PhotoTagRepository;
+import com.nemo.backend.domain.photo.repository.TagCountRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 사진 태그 저장/조회 (photo_tags).
+ *
+ * 태그 정규화: 앞뒤 공백·선행 '#' 제거, 영문 소문자화, 최대 50자, 사진당 최대 20개, 중복 제거.
+ * 필터 쿼리(PhotoRepository.findForList)도 같은 normalize 를 거친 값으로 검색한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PhotoTagService {
+
+    static final int MAX_TAGS_PER_PHOTO = 20;
+
+    /** 메모 안의 해시태그 (#성수, #photo_booth) */
+    private static final Pattern HASHTAG = Pattern.compile("#([\\p{L}\\p{N}_]+)");
+
+    private final PhotoTagRepository photoTagRepository;
+
+    /** 빈 문자열/null 이면 null (필터 없음) */
+    public static String normalize(String raw) {
+        if (raw == null) return null;
+        String t = raw.strip();
+        while (t.startsWith("#")) t = t.substring(1).strip();
+        if (t.isEmpty()) return null;
+        t = t.toLowerCase(Locale.ROOT);
+        return t.length() > PhotoTag.MAX_LENGTH ? t.substring(0, PhotoTag.MAX_LENGTH) : t;
+    }
+
+    public static List<String> normalizeAll(Collection<String> raw) {
+        if (raw == null) return List.of();
+        Set<String> out = new LinkedHashSet<>();
+        for (String r : raw) {
+            String t = normalize(r);
+            if (t != null) out.add(t);
+            if (out.size() >= MAX_TAGS_PER_PHOTO) break;
+        }
+        return List.copyOf(out);
+    }
+
+    /** 메모에서 #태그 추출 (정규화 + 개수 제한 적용) */
+    public static List<String> extractHashtags(String memo) {
+        if (memo == null || memo.indexOf('#') < 0) return List.of();
+        List<String> raw = new ArrayList<>();
+        Matcher m = HASHTAG.matcher(memo);
+        while (m.find()) raw.add(m.group(1));
+        return normalizeAll(raw);
+    }
+
+    /** 사진의 태그를 통째로 교체하고 저장된(정규화된) 태그를 돌려준다 */
+    @Transactional
+    public List<String> replaceTags(Long photoId, Long userId, Collection<String> rawTags) {
+        List<String> tags = normalizeAll(rawTags);
+        photoTagRepository.deleteByPhotoId(photoId);
+        photoTagRepository.saveAll(tags.stream().map(t -> new PhotoTag(photoId, userId, t)).toList());
+        return tags;
+    }
+
+    /** 태그 보정: 그 사이 사용자가 태그를 저장했으면 건드리지 않는다. 저장했으면 true */
+    @Transactional
+    public boolean addIfUntagged(Long photoId, Long userId, List<String> tags) {
+        if (tags.isEmpty() || photoTagRepository.existsByPhotoId(photoId)) return false;
+        photoTagRepository.saveAll(tags.stream().map(t -> new PhotoTag(photoId, userId, t)).toList());
+        return true;
+    }
+
+    public List<String> tagsOf(Long photoId) {
+        return photoTagRepository.findTagsByPhotoId(photoId);
+    }
+
+    @Transactional
+    public void deleteTags(Long photoId) {
+        photoTagRepository.deleteByPhotoId(photoId);
+    }
+
+    @Transactional
+    public void deleteTags(Collection<Long> photoIds) {
+        if (photoIds.isEmpty()) return;
+        photoTagRepository.deleteByPhotoIdIn(photoIds);
+    }
+
+    public List<TagCountRow> facets(Long userId) {
+        return photoTagRepository.countByTag(userId);
+    }
+}
@@ -0,0 +1,190 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/QrHttpClient.java
+package com.nemo.backend.domain.photo.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * QR 가져오기 전용 HTTP 클라이언트 (java.net.http.HttpClient 1개를 공유).
+ *
+ * - HTTP/2 (안 되면 1.1) + keep-alive 풀 → 같은 업체 호스트로 가는 리다이렉트/이미지 요청이 연결을 재사용
+ * - 리다이렉트는 따라가지 않는다 (호출자가 hop 단위로 판단: life4cut/photogray 분기, 루프 검사)
+ * - 쿠키는 가져오기 1건마다 Session 의 CookieManager 에만 쌓인다 (JVM 전역 CookieHandler 를 건드리지 않음)
+ * - hop 마다 sendAsync → 헤더/본문까지 hopTimeout 안에 끝나야 한다. 본문은 maxBytes 까지만 읽는다
+ */
+@Slf4j
+@Component
+public class QrHttpClient {
+
+    private static final String USER_AGENT = "Mozilla/5.0 Nemo/1.0";
+    private static final String ACCEPT = "image/jpeg,image/png,image/webp;q=0.9,text/html;q=0.8,*/*;q=0.5";
+
+    /** 가져오기 1건의 쿠키 저장소 */
+    public static final class Session {
+        private final CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+    }
+
+    /** 응답 1건. 2xx 가 아니면 body 는 null */
+    public record Response(int status, HttpHeaders headers, byte[] body) {
+        public boolean isRedirect() {
+            return status / 100 == 3;
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        public String header(String name) {
+            return headers.firstValue(name).orElse(null);
+        }
+
+        /** 소문자 Content-Type (없으면 null) */
+        public String contentType() {
+            String ct = header("Content-Type");
+            return ct == null ? null : ct.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final Duration hopTimeout;
+    private final long maxBytes;
+
+    public QrHttpClient(
+            @Value("${app.photo.qr-http.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${app.photo.qr-http.hop-timeout-ms:20000}") long hopTimeoutMs,
+            @Value("${app.photo.qr-http.max-bytes:52428800}") long maxBytes,
+            @Value("${app.photo.qr-http.virtual-threads:true}") boolean virtualThreads
+    ) {
+        this.hopTimeout = Duration.ofMillis(Math.max(1000, hopTimeoutMs));
+        this.maxBytes = maxBytes;
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("qr-http-", 0).factory())
+                : newDaemonCachedPool("qr-http");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofMillis(Math.max(500, connectTimeoutMs)))
+                .executor(executor)
+                .build();
+    }
+
+    public Session newSession() {
+        return new Session();
+    }
+
+    /** GET 1 hop. 리다이렉트는 그대로 돌려준다 (Location 은 호출자가 처리) */
+    public Response get(Session session, String url, String referer) throws IOException {
+        long deadline = System.nanoTime() + hopTimeout.toNanos();
+        URI uri = URI.create(url);
+
+        HttpRequest.Builder req = HttpRequest.newBuilder(uri)
+                .GET()
+                .timeout(hopTimeout)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", ACCEPT)
+                .header("Accept-Language", "ko,en;q=0.8");
+        // 평문 http 는 h2c Upgrade 헤더를 잘못 처리하는 업체 서버가 있어 1.1 로 고정 (HTTP/2 는 TLS ALPN 으로만)
+        if ("http".equalsIgnoreCase(uri.getScheme())) req.version(HttpClient.Version.HTTP_1_1);
+        if (referer != null) req.header("Referer", referer);
+        for (Map.Entry<String, List<String>> e : session.cookies.get(uri, Map.of()).entrySet()) {
+            for (String v : e.getValue()) req.header(e.getKey(), v);
+        }
+
+        CompletableFuture<HttpResponse<InputStream>> sent =
+                client.sendAsync(req.build(), HttpResponse.BodyHandlers.ofInputStream());
+        HttpResponse<InputStream> resp = await(sent, deadline, url, null);
+        session.cookies.put(uri, resp.headers().map());
+
+        InputStream in = resp.body();
+        if (resp.statusCode() < 200 || resp.statusCode() >= 300) {
+            in.close(); // 본문을 버리고 연결을 풀로 돌려보냄
+            return new Response(resp.statusCode(), resp.headers(), null);
+        }
+
+        long len = resp.headers().firstValueAsLong("Content-Length").orElse(-1L);
+        if (len > maxBytes) {
+            in.close();
+            throw new IOException("File too large: " + len);
+        }
+        CompletableFuture<byte[]> read = CompletableFuture.supplyAsync(() -> {
+            try (in) {
+                return readBounded(in);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+        return new Response(resp.statusCode(), resp.headers(), await(read, deadline, url, in));
+    }
+
+    private <T> T await(CompletableFuture<T> future, long deadline, String url, InputStream toClose)
+            throws IOException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            closeQuietly(toClose);
+            throw new HttpTimeoutException("hop timeout " + hopTimeout.toMillis() + "ms: " + url);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            closeQuietly(toClose);
+            throw new InterruptedIOException("interrupted: " + url);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ce && ce.getCause() != null
+                    ? ce.getCause() : e.getCause();
+            if (cause instanceof IOException io) throw io;
+            throw new IOException(cause);
+        }
+    }
+
+    private byte[] readBounded(InputStream in) throws IOException {
+        byte[] data = in.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxBytes + 1));
+        if (data.length > maxBytes) throw new IOException("Limit exceeded");
+        return data;
+    }
+
+    private static void closeQuietly(InputStream in) {
+        if (in == null) return;
+        try {
+            in.close();
+        } catch (IOException ignore) {
+            // 타임아웃 정리 중이므로 무시
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        client.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static ExecutorService newDaemonCachedPool(String name) {
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, name + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -1,6 +1,7 @@
 // com.nemo.backend.domain.photo.service.S3PhotoStorage
 package com.nemo.backend.domain.photo.service;
 
+import com.nemo.backend.domain.file.TieredFileCache;
 import com.nemo.backend.global.exception.ApiException;
 import com.nemo.backend.global.exception.ErrorCode;
 import lombok.extern.slf4j.Slf4j;
@@ -13,20 +14,24 @@ import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
-import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
-import javax.imageio.ImageWriteParam;
-import javax.imageio.ImageWriter;
-import javax.imageio.stream.ImageOutputStream;
-import java.awt.Color;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Primary
 @Component
@@ -34,11 +39,13 @@ import java.util.UUID;
 public class S3PhotoStorage implements PhotoStorage {
 
     private static final int MAX_LONG_EDGE = 2048; // 긴 변 기준 최대 픽셀
+    private static final int PREVIEW_LONG_EDGE = 768;   // 상세/앨범 커버용 렌디션
+    private static final int THUMBNAIL_LONG_EDGE = 256; // 그리드용 렌디션
+    private static final float RENDITION_WEBP_QUALITY = 0.80f;
 
     static {
         ImageIO.scanForPlugins();
-        boolean hasWriter = ImageIO.getImageWritersByFormatName("webp").hasNext()
-                || ImageIO.getImageWritersByMIMEType("image/webp").hasNext();
+        boolean hasWriter = ImageEncoder.hasWebpWriter();
         log.info("[S3PhotoStorage] WEBP writer available? {}", hasWriter);
     }
 
@@ -46,14 +53,17 @@ public class S3PhotoStorage implements PhotoStorage {
     private final String bucket;
     private final boolean createBucketIfMissing;
     private final String region; // 실 S3 사용 시 LocationConstraint 용
+    private final TieredFileCache fileCache;
 
     public S3PhotoStorage(
             S3Client s3Client,
+            TieredFileCache fileCache,
             @Value("${app.s3.bucket}") String bucket,
             @Value("${app.s3.createBucketIfMissing:false}") boolean createBucketIfMissing,
             @Value("${app.s3.region:}") String region
     ) {
         this.s3Client = s3Client;
+        this.fileCache = fileCache;
         this.bucket = bucket;
         this.createBucketIfMissing = createBucketIfMissing;
         this.region = region == null ? "" : region.trim();
@@ -86,6 +96,15 @@ public class S3PhotoStorage implements PhotoStorage {
 
     @Override
     public String store(MultipartFile file) throws Exception {
+        return storeMultipart(file, false).key();
+    }
+
+    @Override
+    public StoredPhoto storeWithRenditions(MultipartFile file) throws Exception {
+        return storeMultipart(file, true);
+    }
+
+    private StoredPhoto storeMultipart(MultipartFile file, boolean withRenditions) throws Exception {
         byte[] data = file.getBytes();
 
         // HTML/JSON 차단
@@ -93,66 +112,38 @@ public class S3PhotoStorage implements PhotoStorage {
             throw new ApiException(ErrorCode.INVALID_ARGUMENT, "이미지/영상 파일이 아닙니다(HTML/JSON 감지)");
         }
 
-        String reported = file.getContentType();
-        String detected = detectMime(data);
-        String mime = chooseMime(reported, detected, file.getOriginalFilename());
-
         // LOG: 업로드 들어온 원본 정보
-        log.info("[S3PhotoStorage] multipart upload start: name={}, requestSize={} bytes, "
-                        + "reportedMime={}, detectedMime={}",
-                file.getOriginalFilename(),
-                file.getSize(),
-                reported,
-                detected
-        );
-
-        int originalSize = data.length; // LOG용
+        log.info("[S3PhotoStorage] multipart upload start: name={}, requestSize={} bytes, reportedMime={}",
+                file.getOriginalFilename(), file.getSize(), file.getContentType());
 
-        // 이미지면 WEBP → JPEG → PNG 순으로 압축/변환 Best Effort
-        if (isImageMime(mime)) {
-            CompressedResult result = compressImageBestEffort(data, file.getOriginalFilename(), mime);
-            data = result.bytes;
-            mime = result.mime;
-
-            log.info("[S3PhotoStorage] multipart image result: name={}, originalSize={} bytes, "
-                            + "finalSize={} bytes, targetMime={}",
-                    file.getOriginalFilename(),
-                    originalSize,
-                    data.length,
-                    mime
-            );
-        }
-
-        String key = buildKey(mime, file.getOriginalFilename());
+        return upload(prepare(data, file.getOriginalFilename(), file.getContentType(), withRenditions));
+    }
 
-        try {
-            PutObjectRequest req = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .contentType(mime)
-                    .contentDisposition("inline; filename=\"" + safeFilename(file.getOriginalFilename()) + "\"")
-                    .build();
+    /** URL 크롤링 등으로 확보한 바이트를 직접 저장 */
+    @Override
+    public String storeBytes(byte[] data, String originalFilename, String contentType) throws Exception {
+        return upload(prepare(data, originalFilename, contentType, false)).key();
+    }
 
-            s3Client.putObject(req, RequestBody.fromBytes(data));
+    @Override
+    public StoredPhoto storeBytesWithRenditions(byte[] data, String originalFilename, String contentType) throws Exception {
+        return upload(prepare(data, originalFilename, contentType, true));
+    }
 
-            // LOG: 최종 업로드 완료
-            log.info("[S3PhotoStorage] multipart upload done: key={}, size={} bytes, mime={}",
-                    key, data.length, mime);
+    // ---------- 비동기 파이프라인용 단계 분리 (CPU: prepare / IO: upload) ----------
 
-            return key;
+    /** 인코딩까지 끝난 업로드 대상 (S3 에 올리기 직전 상태). width/height 는 이미지가 아니면 null */
+    public record PreparedPhoto(byte[] bytes, String mime, String originalFilename, List<Rendition> renditions,
+                                Integer width, Integer height) {}
 
-        } catch (S3Exception e) {
-            throw new StorageException("S3 업로드 실패: " + e.awsErrorDetails().errorMessage(), e);
-        } catch (SdkClientException e) {
-            throw new StorageException("S3 클라이언트 오류: " + e.getMessage(), e);
-        } catch (Exception e) {
-            throw new StorageException("파일 저장 실패: " + e.getClass().getSimpleName() + " - " + e.getMessage(), e);
-        }
-    }
+    /** 목록용 렌디션 1개 (longEdge = 256 / 768) */
+    public record Rendition(int longEdge, byte[] bytes, String mime, String ext) {}
 
-    /** URL 크롤링 등으로 확보한 바이트를 직접 저장 */
-    @Override
-    public String storeBytes(byte[] data, String originalFilename, String contentType) throws Exception {
+    /**
+     * CPU 단계: MIME 판별 → 디코딩(1회) → 압축 → 렌디션 인코딩.
+     * S3 호출은 하지 않는다.
+     */
+    public PreparedPhoto prepare(byte[] data, String originalFilename, String contentType, boolean withRenditions) {
         if (data == null || data.length == 0) {
             throw new ApiException(ErrorCode.INVALID_ARGUMENT, "빈 데이터는 저장할 수 없습니다.");
         }
@@ -166,7 +157,7 @@ public class S3PhotoStorage implements PhotoStorage {
         int originalSize = data.length; // LOG용
 
         // LOG: 바이트 기반 업로드 시작
-        log.info("[S3PhotoStorage] byte upload start: name={}, originalSize={} bytes, "
+        log.info("[S3PhotoStorage] prepare start: name={}, originalSize={} bytes, "
                         + "contentType={}, detectedMime={}",
                 originalFilename,
                 originalSize,
@@ -174,38 +165,99 @@ public class S3PhotoStorage implements PhotoStorage {
                 detected
         );
 
-        // 이미지면 WEBP → JPEG → PNG 순으로 압축/변환 Best Effort
-        if (isImageMime(mime)) {
-            CompressedResult result = compressImageBestEffort(data, originalFilename, mime);
-            data = result.bytes;
-            mime = result.mime;
-
-            log.info("[S3PhotoStorage] byte image result: name={}, originalSize={} bytes, "
-                            + "finalSize={} bytes, targetMime={}",
-                    originalFilename,
-                    originalSize,
-                    data.length,
-                    mime
-            );
+        if (!isImageMime(mime)) {
+            return new PreparedPhoto(data, mime, originalFilename, List.of(), null, null);
         }
 
-        String key = buildKey(mime, originalFilename);
+        // 이미지면 WEBP → JPEG → PNG 순으로 압축/변환 Best Effort (디코딩은 1회, 렌디션도 같은 결과 사용)
+        DecodedImage decoded = decodeForStore(data, originalFilename);
+        CompressedResult result = compressImageBestEffort(decoded, data, originalFilename, mime);
 
+        log.info("[S3PhotoStorage] image result: name={}, originalSize={} bytes, "
+                        + "finalSize={} bytes, targetMime={}",
+                originalFilename,
+                originalSize,
+                result.bytes.length,
+                result.mime
+        );
+
+        List<Rendition> renditions = withRenditions ? encodeRenditions(decoded.image(), originalFilename) : List.of();
+        return new PreparedPhoto(result.bytes, result.mime, originalFilename, renditions,
+                decoded.image().getWidth(), decoded.image().getHeight());
+    }
+
+    /**
+     * IO 단계: 본 이미지 + 렌디션 업로드.
+     * 렌디션 업로드 실패는 업로드 실패로 보지 않고 null 키로 남긴다 (목록은 본 이미지로 대체).
+     */
+    public StoredPhoto upload(PreparedPhoto prepared) {
+        String key = buildKey(prepared.mime(), prepared.originalFilename());
+        putObject(key, prepared.bytes(), prepared.mime(),
+                "inline; filename=\"" + safeFilename(prepared.originalFilename()) + "\"");
+
+        // LOG: 최종 업로드 완료
+        log.info("[S3PhotoStorage] upload done: key={}, size={} bytes, mime={}",
+                key, prepared.bytes().length, prepared.mime());
+
+        String previewKey = null;
+        String thumbnailKey = null;
+        for (Rendition r : prepared.renditions()) {
+            String rKey = renditionKey(key, r.longEdge(), r.ext());
+            try {
+                putObject(rKey, r.bytes(), r.mime(), null);
+            } catch (StorageException e) {
+                log.warn("[S3PhotoStorage] rendition upload failed: key={}, err={}", rKey, e.getMessage());
+                continue;
+            }
+            if (r.longEdge() == PREVIEW_LONG_EDGE) previewKey = rKey;
+            if (r.longEdge() == THUMBNAIL_LONG_EDGE) thumbnailKey = rKey;
+        }
+        return new StoredPhoto(key, previewKey, thumbnailKey,
+                (long) prepared.bytes().length, prepared.mime(), prepared.width(), prepared.height());
+    }
+
+    /**
+     * 비동기 처리 전에 원본을 그대로 staging/ 아래에 올린다 (가공 없음, 요청 스레드에서 호출).
+     * 이미지로 읽을 수 없는 바이트는 여기서 바로 INVALID_ARGUMENT 로 거른다 (헤더만 확인, 전체 디코딩 X).
+     */
+    public String storeStaging(byte[] data, String originalFilename, String contentType) {
+        if (data == null || data.length == 0) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "빈 데이터는 저장할 수 없습니다.");
+        }
+        if (looksLikeHtmlOrJson(data)) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT, "이미지/영상 파일이 아닙니다(HTML/JSON 감지)");
+        }
+        String mime = chooseMime(contentType, detectMime(data), originalFilename);
+        if (isImageMime(mime) && !hasImageReader(data)) {
+            throw new ApiException(ErrorCode.INVALID_ARGUMENT,
+                    "이미지 파일로 읽을 수 없습니다: " + originalFilename);
+        }
+
+        String key = String.format("staging/%s/%s.%s",
+                LocalDate.now(), UUID.randomUUID(), extensionForMime(mime, originalFilename));
+        putObject(key, data, mime, null);
+        log.info("[S3PhotoStorage] staging upload done: key={}, size={} bytes, mime={}", key, data.length, mime);
+        return key;
+    }
+
+    /** staging 원본 다운로드 (비동기 워커 IO 단계) */
+    public byte[] readObject(String key) {
         try {
-            PutObjectRequest req = PutObjectRequest.builder()
+            return s3Client.getObjectAsBytes(b -> b.bucket(bucket).key(key)).asByteArray();
+        } catch (S3Exception | SdkClientException e) {
+            throw new StorageException("S3 다운로드 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private void putObject(String key, byte[] bytes, String mime, String contentDisposition) {
+        try {
+            PutObjectRequest.Builder req = PutObjectRequest.builder()
                     .bucket(bucket)
                     .key(key)
-                    .contentType(mime)
-                    .contentDisposition("inline; filename=\"" + safeFilename(originalFilename) + "\"")
-                    .build();
+                    .contentType(mime);
+            if (contentDisposition != null) req.contentDisposition(contentDisposition);
 
-            s3Client.putObject(req, RequestBody.fromBytes(data));
-
-            // LOG: 최종 업로드 완료
-            log.info("[S3PhotoStorage] byte upload done: key={}, size={} bytes, mime={}",
-                    key, data.length, mime);
-
-            return key;
+            s3Client.putObject(req.build(), RequestBody.fromBytes(bytes));
 
         } catch (S3Exception e) {
             throw new StorageException("S3 업로드 실패: " + e.awsErrorDetails().errorMessage(), e);
@@ -216,6 +268,13 @@ public class S3PhotoStorage implements PhotoStorage {
         }
     }
 
+    private static boolean hasImageReader(byte[] data) {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            return iis != null && ImageIO.getImageReaders(iis).hasNext();
+        } catch (Exception e) {
+            return false;
+        }
+    }
 
     private String buildKey(String mime, String originalName) {
         String ext = extensionForMime(mime, originalName);
@@ -224,6 +283,42 @@ public class S3PhotoStorage implements PhotoStorage {
                 today, UUID.randomUUID(), System.currentTimeMillis(), ext);
     }
 
+    /** albums/.../{uuid}-qr_photo_{ms}.webp → albums/.../{uuid}-qr_photo_{ms}_w256.webp */
+    private static String renditionKey(String mainKey, int longEdge, String ext) {
+        int dot = mainKey.lastIndexOf('.');
+        String base = (dot > mainKey.lastIndexOf('/')) ? mainKey.substring(0, dot) : mainKey;
+        return base + "_w" + longEdge + "." + ext;
+    }
+
+    /**
+     * 목록/그리드용 렌디션 인코딩 (본 이미지와 같은 디코딩 결과 사용).
+     * 768 → 256 순서로 앞 결과를 다시 줄여서 리사이즈 비용을 줄인다.
+     * 렌디션 실패는 업로드 실패로 보지 않는다.
+     */
+    private List<Rendition> encodeRenditions(BufferedImage work, String originalName) {
+        List<Rendition> out = new ArrayList<>(2);
+        BufferedImage src = work;
+        for (int edge : new int[]{PREVIEW_LONG_EDGE, THUMBNAIL_LONG_EDGE}) {
+            try {
+                BufferedImage scaled = scaleToLongEdge(src, edge);
+                out.add(encodeRendition(scaled, edge));
+                src = scaled;
+            } catch (Exception e) {
+                log.warn("[S3PhotoStorage] rendition {}px failed: {} / {}", edge, originalName, e.toString());
+            }
+        }
+        return out;
+    }
+
+    private Rendition encodeRendition(BufferedImage image, int longEdge) throws Exception {
+        try {
+            return new Rendition(longEdge, ImageEncoder.encode(image, "webp", RENDITION_WEBP_QUALITY), "image/webp", "webp");
+        } catch (Exception e) {
+            // WEBP writer 가 없는 환경 → JPEG
+            return new Rendition(longEdge, ImageEncoder.encode(ImageEncoder.toOpaqueRgb(image), "jpeg", 0.85f), "image/jpeg", "jpg");
+        }
+    }
+
     private static String safeFilename(String name) {
         if (name == null || name.isBlank()) return "file";
         return name.replaceAll("[\\r\\n\\\\/\"<>:*?|]", "_");
@@ -294,7 +389,7 @@ public class S3PhotoStorage implements PhotoStorage {
         return head.startsWith("<!doc") || head.startsWith("<html") || head.startsWith("{\"") || head.contains("<body");
     }
 
-    private static String extensionForMime(String mime, String originalName) {
+    static String extensionForMime(String mime, String originalName) {
         String m = (mime == null) ? "" : mime.toLowerCase(Locale.ROOT);
         if (m.equals("image/jpeg")) return "jpg";
         if (m.equals("image/png"))  return "png";
@@ -313,103 +408,115 @@ public class S3PhotoStorage implements PhotoStorage {
         return mime.toLowerCase(Locale.ROOT).startsWith("image/");
     }
 
-    // ---------- 여기부터 압축 Best Effort 로직 ----------
+    // ---------- 여기부터 압축 로직 ----------
     /**
-     * 1) 리사이즈 (긴 변 2048px 기준)
-     * 2) WEBP(품질 0.8) 시도
-     * 3) WEBP가 에러나거나 이득이 거의 없으면 JPEG(품질 0.85) 시도
-     * 4) 그래도 실패/이득 없음 → PNG 시도
-     * 5) 끝까지 안 되면 원본 + 원래 mime 유지
+     * ImageFormatDecider 가 원본 MIME / 알파 / 픽셀 수 / 샘플 엔트로피로 인코더를 1개 고른다.
+     * 인코딩은 1회만 하고, 인코더가 실제로 실패했을 때만 fallback 을 쓴다.
+     * (리사이즈 안 한 이미지가 재인코딩 후 더 커지면 원본 유지 — 추가 인코딩 없음)
      */
-    private CompressedResult compressImageBestEffort(byte[] original, String originalName, String originalMime) {
+    private CompressedResult compressImageBestEffort(DecodedImage decoded, byte[] original,
+                                                     String originalName, String originalMime) {
         int originalSize = original.length;
-        BufferedImage image;
-        try (ByteArrayInputStream in = new ByteArrayInputStream(original)) {
-            image = ImageIO.read(in);
-        } catch (Exception e) {
-            throw new StorageException("이미지 디코딩 실패: " + originalName + " / " + e.getMessage(), e);
-        }
+        BufferedImage work = decoded.image();
+        String finalMime = isGood(originalMime) ? originalMime : "application/octet-stream";
 
-        if (image == null) {
-            throw new ApiException(ErrorCode.INVALID_ARGUMENT,
-                    "이미지 파일로 읽을 수 없습니다: " + originalName);
-        }
+        ImageFormatDecider.Decision decision =
+                ImageFormatDecider.decide(originalMime, work, originalSize, decoded.resized());
+        log.info("포맷 결정: {} -> {} (fallback={}, reason={})",
+                originalName, decision.primary(), decision.fallback(), decision.reason());
 
-        // 0) 너무 크면 리사이즈
-        BufferedImage work = resizeIfNecessary(image, originalName);
+        for (ImageFormatDecider.Format format : new ImageFormatDecider.Format[]{decision.primary(), decision.fallback()}) {
+            if (format == ImageFormatDecider.Format.ORIGINAL) break;
+            try {
+                BufferedImage src = (format == ImageFormatDecider.Format.JPEG) ? ImageEncoder.toOpaqueRgb(work) : work;
+                byte[] encoded = ImageEncoder.encode(src, format.formatName, format.quality);
 
-        // 1) WEBP 우선 시도
-        try {
-            byte[] webp = encodeImage(work, "webp", 0.80f);
-            if (webp != null && webp.length > 0) {
-                double ratio = (double) webp.length / originalSize;
-                if (ratio < 0.95) { // 5% 이상 줄어들면 채택
-                    int saved = originalSize - webp.length;
-                    log.info("WEBP 압축 성공: {} (orig={} bytes -> {} bytes, saved={} bytes, ratio={}%)",
-                            originalName, originalSize, webp.length, saved, Math.round(ratio * 100));
-                    return new CompressedResult(webp, "image/webp");
-                } else {
-                    log.debug("WEBP 후보가 원본보다 크거나 이득이 적어 패스: {} (orig={} -> {} bytes, ratio={}%)",
-                            originalName, originalSize, webp.length, Math.round(ratio * 100));
+                if (!decoded.resized() && encoded.length >= originalSize) {
+                    log.info("재인코딩 결과가 원본보다 커서 원본 유지: {} (orig={} -> {} bytes, {})",
+                            originalName, originalSize, encoded.length, format);
+                    return new CompressedResult(original, finalMime);
                 }
+
+                log.info("{} 인코딩 완료: {} (orig={} bytes -> {} bytes, ratio={}%)",
+                        format, originalName, originalSize, encoded.length,
+                        Math.round((double) encoded.length / originalSize * 100));
+                return new CompressedResult(encoded, format.mime);
+            } catch (Exception e) {
+                log.warn("{} 인코딩 실패: {} / {}", format, originalName, e.getMessage());
             }
-        } catch (Exception e) {
-            log.warn("WEBP 압축 실패, JPEG 시도: {} / {}", originalName, e.getMessage());
         }
 
-        // 2) JPEG 시도 (투명도 있으면 흰 배경)
-        try {
-            BufferedImage rgbImage = work;
-            if (work.getType() != BufferedImage.TYPE_INT_RGB) {
-                rgbImage = new BufferedImage(work.getWidth(), work.getHeight(), BufferedImage.TYPE_INT_RGB);
-                Graphics2D g2d = rgbImage.createGraphics();
-                g2d.setColor(Color.WHITE);
-                g2d.fillRect(0, 0, work.getWidth(), work.getHeight());
-                g2d.drawImage(work, 0, 0, null);
-                g2d.dispose();
+        if (decoded.resized()) {
+            // 리사이즈한 이미지를 못 올리면 원본(초대형)이 올라가므로 실패로 본다
+            throw new StorageException("이미지 인코딩 실패: " + originalName);
+        }
+
+        log.info("원본 유지: {} (size={} bytes, mime={})", originalName, originalSize, originalMime);
+        return new CompressedResult(original, finalMime);
+    }
+
+    /** 디코딩 결과 + 원본 크기 (리사이즈 여부 판단용) */
+    private record DecodedImage(BufferedImage image, int sourceWidth, int sourceHeight) {
+        boolean resized() {
+            return image.getWidth() != sourceWidth || image.getHeight() != sourceHeight;
+        }
+    }
+
+    /**
+     * 디코딩 + 긴 변 2048px 리사이즈 (본 이미지와 렌디션이 공유).
+     * 헤더에서 크기를 먼저 읽고, 큰 이미지는 ImageReadParam 소스 서브샘플링으로
+     * 목표 크기 근처까지 줄여서 디코딩한다 (4000px+ 원본 전체 래스터를 만들지 않음).
+     * 마지막 미세 조정만 bicubic 리사이즈로 한다.
+     */
+    private DecodedImage decodeForStore(byte[] original, String originalName) {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> readers = (iis != null) ? ImageIO.getImageReaders(iis) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                throw new ApiException(ErrorCode.INVALID_ARGUMENT,
+                        "이미지 파일로 읽을 수 없습니다: " + originalName);
             }
 
-            byte[] jpeg = encodeImage(rgbImage, "jpeg", 0.85f);
-            if (jpeg != null && jpeg.length > 0) {
-                double ratio = (double) jpeg.length / originalSize;
-                if (ratio < 0.98) { // 2% 이상 줄어들면 채택
-                    int saved = originalSize - jpeg.length;
-                    log.info("JPEG 압축 성공: {} (orig={} bytes -> {} bytes, saved={} bytes, ratio={}%)",
-                            originalName, originalSize, jpeg.length, saved, Math.round(ratio * 100));
-                    return new CompressedResult(jpeg, "image/jpeg");
-                } else {
-                    log.debug("JPEG 후보가 원본보다 크거나 이득이 적어 패스: {} (orig={} -> {} bytes, ratio={}%)",
-                            originalName, originalSize, jpeg.length, Math.round(ratio * 100));
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int srcW = reader.getWidth(0);
+                int srcH = reader.getHeight(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int factor = subsamplingFactor(Math.max(srcW, srcH));
+                if (factor > 1) {
+                    param.setSourceSubsampling(factor, factor, 0, 0);
                 }
-            }
-        } catch (Exception e) {
-            log.warn("JPEG 압축 실패, PNG 시도: {} / {}", originalName, e.getMessage());
-        }
 
-        // 3) PNG 시도 (대부분의 사진에서는 보통 손해라 거의 안 쓸 가능성 높음)
-        try {
-            byte[] png = encodeImage(work, "png", null);
-            if (png != null && png.length > 0) {
-                double ratio = (double) png.length / originalSize;
-                if (ratio < 0.98) {
-                    int saved = originalSize - png.length;
-                    log.info("PNG 압축 성공: {} (orig={} bytes -> {} bytes, saved={} bytes, ratio={}%)",
-                            originalName, originalSize, png.length, saved, Math.round(ratio * 100));
-                    return new CompressedResult(png, "image/png");
-                } else {
-                    log.debug("PNG 후보가 원본보다 크거나 이득이 적어 패스: {} (orig={} -> {} bytes, ratio={}%)",
-                            originalName, originalSize, png.length, Math.round(ratio * 100));
+                BufferedImage image = reader.read(0, param);
+                if (image == null) {
+                    throw new ApiException(ErrorCode.INVALID_ARGUMENT,
+                            "이미지 파일로 읽을 수 없습니다: " + originalName);
+                }
+                if (factor > 1) {
+                    log.info("서브샘플링 디코딩: {} ({}x{} -> {}x{}, factor={})",
+                            originalName, srcW, srcH, image.getWidth(), image.getHeight(), factor);
                 }
+
+                // 남은 차이만 리사이즈
+                return new DecodedImage(resizeIfNecessary(image, originalName), srcW, srcH);
+            } finally {
+                reader.dispose();
             }
+        } catch (ApiException e) {
+            throw e;
         } catch (Exception e) {
-            log.warn("PNG 압축 실패, 원본 업로드: {} / {}", originalName, e.getMessage());
+            throw new StorageException("이미지 디코딩 실패: " + originalName + " / " + e.getMessage(), e);
         }
+    }
 
-        // 4) 전부 실패 or 이득 없음 → 원본 그대로
-        log.info("압축/변환해도 이득이 없어 원본 유지: {} (size={} bytes, mime={})",
-                originalName, originalSize, originalMime);
-        String finalMime = isGood(originalMime) ? originalMime : "application/octet-stream";
-        return new CompressedResult(original, finalMime);
+    /**
+     * 정수 서브샘플링 배율. 결과 긴 변이 MAX_LONG_EDGE 의 95% 이상이 되는 최대 배율
+     * (예: 4032px → 2 = 2016px, 6000px → 3 = 2000px, 3000px → 1 = 일반 리사이즈).
+     */
+    static int subsamplingFactor(int longEdge) {
+        int factor = (int) (longEdge / (MAX_LONG_EDGE * 0.95));
+        return Math.max(1, factor);
     }
 
     /** 긴 변이 MAX_LONG_EDGE 보다 크면 비율 유지해서 리사이즈 */
@@ -422,9 +529,24 @@ public class S3PhotoStorage implements PhotoStorage {
             return src; // 그대로 사용
         }
 
-        double scale = (double) MAX_LONG_EDGE / (double) longEdge;
-        int newW = (int) Math.round(w * scale);
-        int newH = (int) Math.round(h * scale);
+        BufferedImage resized = scaleToLongEdge(src, MAX_LONG_EDGE);
+
+        log.info("이미지 리사이즈: {} ({}x{} -> {}x{})",
+                originalName, w, h, resized.getWidth(), resized.getHeight());
+
+        return resized;
+    }
+
+    /** 긴 변을 maxEdge 로 맞춤 (이미 작으면 그대로) */
+    private static BufferedImage scaleToLongEdge(BufferedImage src, int maxEdge) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        int longEdge = Math.max(w, h);
+        if (longEdge <= maxEdge) return src;
+
+        double scale = (double) maxEdge / (double) longEdge;
+        int newW = Math.max(1, (int) Math.round(w * scale));
+        int newH = Math.max(1, (int) Math.round(h * scale));
 
         BufferedImage resized = new BufferedImage(newW, newH, src.getType() == 0
                 ? BufferedImage.TYPE_INT_ARGB
@@ -434,78 +556,9 @@ public class S3PhotoStorage implements PhotoStorage {
                 java.awt.RenderingHints.VALUE_INTERPOLATION_BICUBIC);
         g2d.drawImage(src, 0, 0, newW, newH, null);
         g2d.dispose();
-
-        log.info("이미지 리사이즈: {} ({}x{} -> {}x{})",
-                originalName, w, h, newW, newH);
-
         return resized;
     }
 
-    private byte[] encodeImage(BufferedImage image, String formatName, Float quality) throws Exception {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        ImageWriter writer = null;
-        ImageOutputStream ios = null;
-        try {
-            // 1) 포맷 이름으로 writer 찾기
-            var writers = ImageIO.getImageWritersByFormatName(formatName);
-            // 2) webp인 경우 MIME 기반으로 한 번 더 시도
-            if (!writers.hasNext() && "webp".equalsIgnoreCase(formatName)) {
-                writers = ImageIO.getImageWritersByMIMEType("image/webp");
-            }
-            if (!writers.hasNext()) {
-                throw new IllegalStateException("ImageWriter not found for format: " + formatName);
-            }
-
-            writer = writers.next();
-
-            if ("webp".equalsIgnoreCase(formatName)) {
-                log.info("[WEBP] Using writer implementation: {}", writer.getClass().getName());
-            }
-
-            ImageWriteParam param = writer.getDefaultWriteParam();
-
-            if (quality != null && param.canWriteCompressed()) {
-                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-
-                // ★ compressionType 먼저 지정
-                String[] types = param.getCompressionTypes();
-                if (types != null && types.length > 0) {
-                    String chosen = types[0];
-                    for (String t : types) {
-                        if (t != null && t.toLowerCase(Locale.ROOT).contains("lossy")) {
-                            chosen = t;
-                            break;
-                        }
-                    }
-                    param.setCompressionType(chosen);
-                }
-
-                param.setCompressionQuality(quality); // 0.0 ~ 1.0
-            }
-
-            ios = ImageIO.createImageOutputStream(out);
-            writer.setOutput(ios);
-            writer.write(null, new IIOImage(image, null, null), param);
-
-            byte[] encoded = out.toByteArray();
-
-            if ("webp".equalsIgnoreCase(formatName)) {
-                log.info("[WEBP] Encoded size={} bytes (quality={})", encoded.length, quality);
-            }
-
-            // ★ 여기서 0바이트면 실패로 간주해서 예외 던짐
-            if (encoded.length == 0) {
-                throw new IllegalStateException("Encoded image is empty for format: " + formatName);
-            }
-
-            return encoded;
-        } finally {
-            if (ios != null) ios.close();
-            if (writer != null) writer.dispose();
-            out.close();
-        }
-    }
-
     private static class CompressedResult {
         final byte[] bytes;
         final String mime;
@@ -535,6 +588,7 @@ public class S3PhotoStorage implements PhotoStorage {
                     .build();
 
             s3Client.deleteObject(req);
+            fileCache.evict(normalizedKey);
 
         } catch (NoSuchKeyException e) {
             // 이미 안 존재하는 경우는 무시
@@ -543,8 +597,63 @@ public class S3PhotoStorage implements PhotoStorage {
         }
     }
 
-    /** S3 객체 크기 조회 (byte 단위) – presigned URL/다운로드 목록에서 용량 보여줄 때 사용 */
+    /** DeleteObjects 한 번에 보낼 수 있는 최대 키 수 (S3 제한) */
+    public static final int MAX_DELETE_BATCH = 1000;
+
+    /**
+     * 여러 객체를 DeleteObjects 로 삭제 (1000개 단위).
+     * @return 삭제에 실패한 키 (없는 키는 S3 가 성공으로 취급). 요청 자체가 실패한 묶음은 전부 포함
+     */
+    public List<String> deleteBatch(List<String> keys) {
+        List<String> failed = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += MAX_DELETE_BATCH) {
+            List<String> chunk = keys.subList(from, Math.min(from + MAX_DELETE_BATCH, keys.size()));
+            List<ObjectIdentifier> ids = chunk.stream()
+                    .map(k -> ObjectIdentifier.builder().key(k.startsWith("/") ? k.substring(1) : k).build())
+                    .toList();
+            try {
+                DeleteObjectsResponse res = s3Client.deleteObjects(b -> b
+                        .bucket(bucket)
+                        .delete(d -> d.objects(ids).quiet(true)));
+
+                // quiet 모드: 응답에는 실패한 키만 온다
+                Set<String> chunkFailed = res.hasErrors()
+                        ? res.errors().stream().map(S3Error::key).collect(Collectors.toSet())
+                        : Set.of();
+                for (ObjectIdentifier id : ids) {
+                    if (!chunkFailed.contains(id.key())) fileCache.evict(id.key());
+                }
+                failed.addAll(chunkFailed);
+            } catch (S3Exception | SdkClientException e) {
+                log.warn("[S3] deleteObjects failed: keys={}, err={}", chunk.size(), e.getMessage());
+                failed.addAll(chunk);
+            }
+        }
+        return failed;
+    }
+
+    /** prefix 아래 객체를 ListObjectsV2 페이지(최대 1000개) 단위로 흘려보낸다. 전체 목록을 메모리에 두지 않음 */
+    public void forEachObject(String prefix, Consumer<S3Object> consumer) {
+        ListObjectsV2Request req = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .build();
+        for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(req)) {
+            page.contents().forEach(consumer);
+        }
+    }
+
+    /** HEAD 결과 중 photos 행에 저장하는 값 */
+    public record ObjectMeta(long size, String contentType) {}
+
+    /** S3 객체 크기 조회 (byte 단위) */
     public Long getObjectSize(String key) {
+        ObjectMeta meta = headObject(key);
+        return meta != null ? meta.size() : null;
+    }
+
+    /** S3 HeadObject (없으면 null) – 업로드 시점 메타가 없는 기존 행 보정(PhotoMetaBackfill)용 */
+    public ObjectMeta headObject(String key) {
         if (key == null || key.isBlank()) return null;
 
         String normalizedKey = key.startsWith("/") ? key.substring(1) : key;
@@ -555,11 +664,15 @@ public class S3PhotoStorage implements PhotoStorage {
                     .key(normalizedKey)
                     .build();
             HeadObjectResponse res = s3Client.headObject(head);
-            return res.contentLength();
+            return new ObjectMeta(res.contentLength(), res.contentType());
         } catch (NoSuchKeyException e) {
             // 없는 경우는 그냥 null
             return null;
-        } catch (S3Exception | SdkClientException e) {
+        } catch (S3Exception e) {
+            // HEAD 는 바디가 없어서 404 가 NoSuchKey 가 아닌 일반 S3Exception 으로 올 수 있음
+            if (e.statusCode() == 404) return null;
+            throw new StorageException("S3 객체 정보 조회 실패: " + e.getMessage(), e);
+        } catch (SdkClientException e) {
             throw new StorageException("S3 객체 정보 조회 실패: " + e.getMessage(), e);
         }
     }
@@ -0,0 +1,164 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/StorageDeleteQueue.java
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.entity.StorageDeleteTask;
+import com.nemo.backend.domain.photo.repository.StorageDeleteTaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * S3 객체 삭제 대기열 (storage_delete_queue).
+ *
+ * - enqueue  : 사진 soft delete 와 같은 트랜잭션에서 키를 적재 → 요청 스레드는 S3 를 호출하지 않는다
+ * - drain    : 재시도 시각이 지난 키를 batchSize(최대 1000)씩 DeleteObjects 한 번으로 삭제
+ *              성공한 행은 지우고, 실패한 행은 base × 2^attempts (최대 max) 뒤로 미룬다
+ * - 커밋 직후 한 번 바로 깨우고, 그 외에는 poll 주기로 돈다 (S3 장애가 길어도 행이 남아 있으므로 유실 없음)
+ *
+ * 여러 인스턴스가 같은 행을 동시에 집을 수 있지만 S3 삭제는 멱등이라 문제없다.
+ */
+@Slf4j
+@Component
+public class StorageDeleteQueue {
+
+    private final StorageDeleteTaskRepository repository;
+    private final S3PhotoStorage storage;
+    private final int batchSize;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ExecutorService kickExecutor;
+
+    public StorageDeleteQueue(
+            StorageDeleteTaskRepository repository,
+            S3PhotoStorage storage,
+            @Value("${app.storage.delete-queue.batch-size:1000}") int batchSize,
+            @Value("${app.storage.delete-queue.backoff-base-seconds:30}") long backoffBaseSeconds,
+            @Value("${app.storage.delete-queue.backoff-max-seconds:21600}") long backoffMaxSeconds
+    ) {
+        this.repository = repository;
+        this.storage = storage;
+        this.batchSize = Math.max(1, Math.min(batchSize, S3PhotoStorage.MAX_DELETE_BATCH));
+        this.backoffBase = Duration.ofSeconds(Math.max(1, backoffBaseSeconds));
+        this.backoffMax = Duration.ofSeconds(Math.max(backoffBaseSeconds, backoffMaxSeconds));
+        this.kickExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "storage-delete-queue");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** 호출자 트랜잭션에 합류해서 적재. 롤백되면 키도 같이 사라진다 */
+    @Transactional
+    public void enqueue(Collection<String> keys) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String k : keys) {
+            if (k == null || k.isBlank()) continue;
+            distinct.add(k.startsWith("/") ? k.substring(1) : k);
+        }
+        if (distinct.isEmpty()) return;
+
+        repository.saveAll(distinct.stream().map(StorageDeleteTask::new).toList());
+        kickAfterCommit();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.storage.delete-queue.poll-ms:60000}",
+            initialDelayString = "${app.storage.delete-queue.poll-ms:60000}"
+    )
+    public void drain() {
+        if (!draining.compareAndSet(false, true)) return; // 이미 도는 중
+        try {
+            int deleted = 0;
+            int failed = 0;
+            while (true) {
+                List<StorageDeleteTask> due = repository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+                if (due.isEmpty()) break;
+
+                Set<String> failedKeys = new HashSet<>(storage.deleteBatch(
+                        due.stream().map(StorageDeleteTask::getObjectKey).distinct().toList()));
+
+                List<Long> doneIds = new ArrayList<>();
+                List<StorageDeleteTask> retry = new ArrayList<>();
+                for (StorageDeleteTask t : due) {
+                    if (failedKeys.contains(t.getObjectKey())) retry.add(t);
+                    else doneIds.add(t.getId());
+                }
+                if (!doneIds.isEmpty()) repository.deleteAllByIdInBatch(doneIds);
+                reschedule(retry);
+
+                deleted += doneIds.size();
+                failed += retry.size();
+                if (doneIds.isEmpty()) break; // 묶음 전체 실패 → S3 장애로 보고 다음 주기에
+            }
+            if (deleted > 0 || failed > 0) {
+                log.info("[StorageDeleteQueue] deleted={}, failed={}", deleted, failed);
+            }
+        } catch (Exception e) {
+            log.warn("[StorageDeleteQueue] drain failed: {}", e.toString());
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    /** 같은 attempts 끼리 같은 백오프 → UPDATE 한 번씩 */
+    private void reschedule(List<StorageDeleteTask> retry) {
+        if (retry.isEmpty()) return;
+        Map<Integer, List<Long>> byAttempts = retry.stream().collect(Collectors.groupingBy(
+                StorageDeleteTask::getAttempts, Collectors.mapping(StorageDeleteTask::getId, Collectors.toList())));
+
+        byAttempts.forEach((attempts, ids) -> {
+            Duration backoff = backoffBase.multipliedBy(1L << Math.min(attempts, 20));
+            if (backoff.compareTo(backoffMax) > 0) backoff = backoffMax;
+            repository.reschedule(ids, LocalDateTime.now().plus(backoff), "DeleteObjects failed");
+        });
+    }
+
+    private void kickAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            kick();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                kick();
+            }
+        });
+    }
+
+    private void kick() {
+        try {
+            kickExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // 종료 중: 다음 기동 후 poll 에서 처리
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        kickExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,219 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/StoredAssetService.java
+package com.nemo.backend.domain.photo.service;
+
+import com.nemo.backend.domain.photo.entity.PhotoStatus;
+import com.nemo.backend.domain.photo.entity.StoredAsset;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.photo.repository.StoredAssetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 갤러리 업로드 내용 기반 중복 제거 (stored_assets).
+ *
+ * 1) read    : multipart 를 읽으면서 SHA-256 을 같이 계산 (바이트를 두 번 훑지 않음)
+ * 2) acquire : 같은 해시가 있으면 ref_count +1 후 저장 결과를 그대로 재사용 → 디코딩/압축/S3 PUT 생략
+ * 3) 없으면 평소대로 처리하고, 처리 완료 시 register / completeProcessing 으로 등록
+ * 4) release : 사진 삭제 시 -1, 0 이 되면 행을 지우고 S3 키를 돌려준다 (호출자가 삭제 대기열에 넣음)
+ *
+ * 같은 내용이 동시에 처음 올라오면 먼저 등록한 쪽만 공유 대상이 되고,
+ * 나머지는 자기 키를 그대로 쓴다 (content_hash = null, 기존 방식대로 삭제).
+ * 동기 등록(register / registerQr)은 별도 트랜잭션으로 INSERT 해서 unique 위반이 업로드 트랜잭션을 롤백시키지 않게 하고,
+ * 업로드 트랜잭션이 나중에 롤백되면 그 참조를 되돌린다.
+ *
+ * QR 가져오기도 같은 테이블을 쓴다. 바이트 대신 정규화한 QR 키(세션 id / 정규화 URL)의
+ * SHA-256("qr:" + key) 를 content_hash 로 써서, 같은 QR 을 받은 일행은 다운로드/저장 없이 바로 연결된다.
+ * 부스가 같은 URL 을 재활용할 수 있으므로 QR 항목은 ttl 안에 등록된 것만 재사용한다.
+ */
+@Slf4j
+@Service
+@Transactional
+public class StoredAssetService {
+
+    /** 읽은 바이트 + SHA-256 (hex) */
+    public record HashedBytes(byte[] bytes, String sha256) {}
+
+    private final StoredAssetRepository assetRepository;
+    private final PhotoRepository photoRepository;
+    private final StorageDeleteQueue deleteQueue;
+    private final TransactionTemplate requiresNew;
+    private final boolean enabled;
+    private final boolean qrEnabled;
+    private final Duration qrTtl;
+
+    public StoredAssetService(
+            StoredAssetRepository assetRepository,
+            PhotoRepository photoRepository,
+            StorageDeleteQueue deleteQueue,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.photo.dedup.enabled:true}") boolean enabled,
+            @Value("${app.photo.qr-cache.enabled:true}") boolean qrEnabled,
+            @Value("${app.photo.qr-cache.ttl-hours:72}") long qrTtlHours
+    ) {
+        this.assetRepository = assetRepository;
+        this.photoRepository = photoRepository;
+        this.deleteQueue = deleteQueue;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.qrEnabled = qrEnabled;
+        this.qrTtl = Duration.ofHours(Math.max(1, qrTtlHours));
+    }
+
+    public static HashedBytes read(MultipartFile file) throws IOException {
+        MessageDigest sha256 = sha256();
+        int initial = (int) Math.min(Math.max(file.getSize(), 0), Integer.MAX_VALUE - 8);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(Math.max(initial, 32));
+        try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+            in.transferTo(buf);
+        }
+        return new HashedBytes(buf.toByteArray(), HexFormat.of().formatHex(sha256.digest()));
+    }
+
+    /** 같은 내용이 이미 저장돼 있으면 참조 +1 후 저장 결과, 없으면 null (호출자 트랜잭션과 함께 롤백) */
+    public StoredPhoto acquire(String contentHash) {
+        if (!enabled || contentHash == null) return null;
+        if (assetRepository.acquire(contentHash) == 0) return null;
+        return assetRepository.findByContentHash(contentHash).map(StoredAssetService::toStoredPhoto).orElse(null);
+    }
+
+    /** 동기 업로드 경로: 방금 저장한 결과를 등록. 이미 있으면 false (이 사진은 공유 대상 아님) */
+    public boolean register(String contentHash, StoredPhoto stored) {
+        if (!enabled || contentHash == null) return false;
+        return insertShared(contentHash, stored);
+    }
+
+    /**
+     * 비동기 파이프라인 완료: 사진 READY 반영과 stored_assets 등록을 한 트랜잭션으로.
+     * 동시에 같은 해시가 먼저 등록되면 unique 위반(DataIntegrityViolationException)으로 전체 롤백 →
+     * 호출자가 contentHash = null 로 다시 호출한다.
+     * @return 갱신된 photos 행 수 (처리 중 삭제됐거나 같은 사진의 다른 작업이 먼저 반영했으면 0)
+     */
+    public int completeProcessing(Long photoId, String contentHash, StoredPhoto stored,
+                                  String imageUrl, String thumbnailUrl, String previewUrl) {
+        boolean register = enabled && contentHash != null && !assetRepository.existsByContentHash(contentHash);
+        int updated = photoRepository.completeProcessing(
+                photoId, PhotoStatus.PROCESSING, imageUrl, thumbnailUrl, previewUrl, PhotoStatus.READY,
+                stored.key(), stored.size(), stored.mime(), stored.width(), stored.height(),
+                register ? contentHash : null);
+        if (updated > 0 && register) {
+            assetRepository.saveAndFlush(toAsset(contentHash, stored));
+        }
+        return updated;
+    }
+
+    /** QR 키 → content_hash (바이트 해시와 겹치지 않게 접두어를 붙인다) */
+    public static String qrHash(String qrKey) {
+        return HexFormat.of().formatHex(sha256().digest(("qr:" + qrKey).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** 같은 QR 을 ttl 안에 누가 이미 가져왔으면 참조 +1 후 저장 결과, 없으면 null */
+    public StoredPhoto acquireQr(String qrKey) {
+        if (!qrEnabled || qrKey == null) return null;
+        String hash = qrHash(qrKey);
+        if (assetRepository.acquireSince(hash, LocalDateTime.now().minus(qrTtl)) == 0) return null;
+        return assetRepository.findByContentHash(hash).map(StoredAssetService::toStoredPhoto).orElse(null);
+    }
+
+    /**
+     * QR 에서 방금 받아 저장한 결과를 등록. 등록됐으면 사진에 기록할 content_hash, 아니면 null.
+     * ttl 이 지난 같은 키 행이 남아 있으면 등록하지 않는다 (그 행은 기존 사진들이 다 지워질 때 정리됨)
+     */
+    public String registerQr(String qrKey, StoredPhoto stored) {
+        if (!qrEnabled || qrKey == null || stored == null) return null;
+        String hash = qrHash(qrKey);
+        return insertShared(hash, stored) ? hash : null;
+    }
+
+    /** 참조 -1. 마지막 참조였으면 지워야 할 S3 키, 아니면 빈 목록 */
+    public List<String> release(String contentHash) {
+        if (contentHash == null || assetRepository.release(contentHash) == 0) return List.of();
+
+        StoredAsset asset = assetRepository.findByContentHash(contentHash).orElse(null);
+        if (asset == null || assetRepository.deleteIfUnreferenced(contentHash) == 0) return List.of();
+
+        List<String> keys = new ArrayList<>(3);
+        keys.add(asset.getStorageKey());
+        if (asset.getPreviewKey() != null) keys.add(asset.getPreviewKey());
+        if (asset.getThumbnailKey() != null) keys.add(asset.getThumbnailKey());
+        return keys;
+    }
+
+    /**
+     * 별도 트랜잭션으로 INSERT. 동시에 같은 해시가 먼저 등록됐으면 (unique 위반) false →
+     * 호출자는 content_hash = null 로 자기 키를 그대로 쓴다.
+     * 등록 후 호출자 트랜잭션이 롤백되면 참조를 -1 하고, 마지막 참조였으면 S3 키를 삭제 대기열로 보낸다.
+     */
+    private boolean insertShared(String hash, StoredPhoto stored) {
+        if (assetRepository.existsByContentHash(hash)) return false;
+        try {
+            requiresNew.executeWithoutResult(tx -> assetRepository.saveAndFlush(toAsset(hash, stored)));
+        } catch (DataIntegrityViolationException e) {
+            log.info("[StoredAsset] concurrent register, keep own keys: hash={}", hash);
+            return false;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) releaseAfterRollback(hash);
+                }
+            });
+        }
+        return true;
+    }
+
+    /** afterCompletion 에서는 원래 트랜잭션에 다시 합류하지 않도록 REQUIRES_NEW 로 실행 */
+    private void releaseAfterRollback(String hash) {
+        try {
+            requiresNew.executeWithoutResult(tx -> {
+                List<String> keys = release(hash);
+                if (!keys.isEmpty()) deleteQueue.enqueue(keys);
+            });
+        } catch (RuntimeException e) {
+            // 남은 행/객체는 ref_count 가 1 로 남을 뿐 다른 사진을 깨뜨리지 않는다
+            log.warn("[StoredAsset] rollback release failed: hash={}, err={}", hash, e.toString());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static StoredAsset toAsset(String contentHash, StoredPhoto stored) {
+        return new StoredAsset(contentHash, stored.key(), stored.previewKey(), stored.thumbnailKey(),
+                stored.size(), stored.mime(), stored.width(), stored.height());
+    }
+
+    private static StoredPhoto toStoredPhoto(StoredAsset a) {
+        return new StoredPhoto(a.getStorageKey(), a.getPreviewKey(), a.getThumbnailKey(),
+                a.getFileSize(), a.getMimeType(), a.getWidth(), a.getHeight());
+    }
+}
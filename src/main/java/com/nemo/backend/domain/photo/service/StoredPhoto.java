@@ -0,0 +1,17 @@
+// backend/src/main/java/com/nemo/backend/domain/photo/service/StoredPhoto.java
+package com.nemo.backend.domain.photo.service;
+
+/**
+ * 업로드 1건의 저장 결과 (S3 키 기준).
+ * - key          : 본 이미지 (긴 변 2048px 이하)
+ * - previewKey   : 768px 렌디션 (상세/커버용, 이미지가 아니면 null)
+ * - thumbnailKey : 256px 렌디션 (그리드용, 이미지가 아니면 null)
+ * - size / mime / width / height : 본 이미지의 최종 바이트 수·MIME·픽셀 크기 (이미지가 아니면 width/height null)
+ */
+public record StoredPhoto(String key, String previewKey, String thumbnailKey,
+                          Long size, String mime, Integer width, Integer height) {
+
+    public static StoredPhoto of(String key) {
+        return new StoredPhoto(key, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,217 @@
+package com.nemo.backend.domain.storage.service;
+
+import com.nemo.backend.domain.album.repository.AlbumCoverUrlRow;
+import com.nemo.backend.domain.album.repository.AlbumRepository;
+import com.nemo.backend.domain.photo.repository.PhotoRefRow;
+import com.nemo.backend.domain.photo.repository.PhotoRepository;
+import com.nemo.backend.domain.photo.repository.StoredAssetRefRow;
+import com.nemo.backend.domain.photo.repository.StoredAssetRepository;
+import com.nemo.backend.domain.photo.service.S3PhotoStorage;
+import com.nemo.backend.domain.photo.service.StorageDeleteQueue;
+import com.nemo.backend.domain.user.repository.ProfileImageRow;
+import com.nemo.backend.domain.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * S3 고아 객체 정리 작업.
+ *
+ * 사진 삭제 실패, 교체된 앨범 썸네일/프로필 이미지, confirm 되지 않은 직접 업로드 등으로
+ * DB 가 참조하지 않는 객체가 버킷에 쌓인다. 두 단계로 찾는다.
+ *
+ * 1) DB 쪽: photos(살아있는 것) / stored_assets / albums.cover_photo_url / users.profile_image_url 의 키를
+ *    id 키셋 페이지로 읽어 Bloom filter 에 넣는다 (키 수에 비례하는 몇 MB, 행을 들고 있지 않음)
+ * 2) S3 쪽: prefixes 아래를 ListObjectsV2 페이지로 훑으며, grace 보다 오래됐고 filter 에 없는 객체를 고아로 본다
+ *
+ * - Bloom filter 는 거짓 음성이 없어서 참조 중인 객체를 지우지 않는다 (거짓 양성 고아는 남았다가 다음 실행에서 판정)
+ * - grace 는 업로드 중/처리 중 객체(DB 커밋 전, staging)를 보호한다
+ * - mode=report 는 개수/용량만 기록, mode=delete 는 StorageDeleteQueue 로 넘겨 DeleteObjects 로 지운다
+ */
+@Slf4j
+@Component
+public class OrphanObjectReconciler {
+
+    public enum Mode { REPORT, DELETE }
+
+    private static final int PAGE_SIZE = 5000;
+    private static final int SAMPLE_LOG_LIMIT = 20;
+
+    private final PhotoRepository photoRepository;
+    private final StoredAssetRepository assetRepository;
+    private final AlbumRepository albumRepository;
+    private final UserRepository userRepository;
+    private final S3PhotoStorage storage;
+    private final StorageDeleteQueue deleteQueue;
+    private final Mode mode;
+    private final List<String> prefixes;
+    private final Duration grace;
+    private final double fpp;
+
+    public OrphanObjectReconciler(
+            PhotoRepository photoRepository,
+            StoredAssetRepository assetRepository,
+            AlbumRepository albumRepository,
+            UserRepository userRepository,
+            S3PhotoStorage storage,
+            StorageDeleteQueue deleteQueue,
+            @Value("${app.storage.orphan.mode:report}") String mode,
+            @Value("${app.storage.orphan.prefixes:albums/,staging/}") String prefixes,
+            @Value("${app.storage.orphan.grace-hours:48}") long graceHours,
+            @Value("${app.storage.orphan.fpp:0.01}") double fpp
+    ) {
+        this.photoRepository = photoRepository;
+        this.assetRepository = assetRepository;
+        this.albumRepository = albumRepository;
+        this.userRepository = userRepository;
+        this.storage = storage;
+        this.deleteQueue = deleteQueue;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.prefixes = Arrays.stream(prefixes.split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .toList();
+        this.grace = Duration.ofHours(Math.max(1, graceHours));
+        this.fpp = Math.min(0.1, Math.max(1e-6, fpp));
+    }
+
+    @Scheduled(cron = "${app.storage.orphan.cron:0 0 3 * * SUN}")
+    public void reconcile() {
+        long started = System.nanoTime();
+
+        // 사진 1장당 최대 4개 키 (본 이미지 / 768 / 256 / storage_key), 공유 저장 결과 1행당 최대 3개
+        long expected = photoRepository.countByDeletedIsFalse() * 4 + assetRepository.count() * 3
+                + albumRepository.count() + userRepository.count();
+        KeyBloomFilter referenced = new KeyBloomFilter(expected + 1000, fpp);
+        long refCount = loadReferences(referenced);
+        if (refCount == 0) {
+            // DB 연결/설정 이상일 수 있으므로 아무것도 고아로 판정하지 않는다
+            log.warn("[OrphanObjectReconciler] no referenced keys loaded, skip");
+            return;
+        }
+
+        Instant cutoff = Instant.now().minus(grace);
+        Stats stats = new Stats();
+        List<String> pending = new ArrayList<>();
+
+        for (String prefix : prefixes) {
+            storage.forEachObject(prefix, o -> {
+                stats.scanned++;
+                if (o.lastModified() == null || o.lastModified().isAfter(cutoff)) return;
+                if (referenced.mightContain(o.key())) return;
+
+                stats.orphans++;
+                stats.orphanBytes += o.size() == null ? 0 : o.size();
+                if (stats.orphans <= SAMPLE_LOG_LIMIT) {
+                    log.info("[OrphanObjectReconciler] orphan: key={}, size={}, lastModified={}",
+                            o.key(), o.size(), o.lastModified());
+                }
+                if (mode == Mode.DELETE) {
+                    pending.add(o.key());
+                    if (pending.size() >= S3PhotoStorage.MAX_DELETE_BATCH) {
+                        deleteQueue.enqueue(pending);
+                        pending.clear();
+                    }
+                }
+            });
+        }
+        if (!pending.isEmpty()) deleteQueue.enqueue(pending);
+
+        log.info("[OrphanObjectReconciler] mode={}, prefixes={}, referencedKeys={}, filterBytes={}, scanned={}, "
+                        + "orphans={}, orphanBytes={}, took={}s",
+                mode, prefixes, refCount, referenced.sizeInBytes(), stats.scanned,
+                stats.orphans, stats.orphanBytes, Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    /** DB 가 참조하는 키를 filter 에 넣고 개수를 돌려준다 */
+    private long loadReferences(KeyBloomFilter filter) {
+        long count = 0;
+        PageRequest page = PageRequest.of(0, PAGE_SIZE);
+
+        long afterId = 0L;
+        for (List<PhotoRefRow> rows; !(rows = photoRepository.findStorageRefs(afterId, page)).isEmpty(); ) {
+            for (PhotoRefRow r : rows) {
+                count += put(filter, r.imageUrl()) + put(filter, r.thumbnailUrl())
+                        + put(filter, r.previewUrl()) + put(filter, r.storageKey());
+            }
+            afterId = rows.get(rows.size() - 1).id();
+        }
+
+        // 참조하는 사진이 없어도 행이 남아 있으면 다음 acquire / acquireQr 가 이 키를 그대로 연결한다
+        afterId = 0L;
+        for (List<StoredAssetRefRow> rows; !(rows = assetRepository.findStorageRefs(afterId, page)).isEmpty(); ) {
+            for (StoredAssetRefRow r : rows) {
+                count += put(filter, r.storageKey()) + put(filter, r.previewKey()) + put(filter, r.thumbnailKey());
+            }
+            afterId = rows.get(rows.size() - 1).id();
+        }
+
+        afterId = 0L;
+        for (List<AlbumCoverUrlRow> rows; !(rows = albumRepository.findCoverUrls(afterId, page)).isEmpty(); ) {
+            for (AlbumCoverUrlRow r : rows) count += put(filter, r.coverPhotoUrl());
+            afterId = rows.get(rows.size() - 1).id();
+        }
+
+        afterId = 0L;
+        for (List<ProfileImageRow> rows; !(rows = userRepository.findProfileImageUrls(afterId, page)).isEmpty(); ) {
+            for (ProfileImageRow r : rows) count += put(filter, r.profileImageUrl());
+            afterId = rows.get(rows.size() - 1).id();
+        }
+        return count;
+    }
+
+    private static int put(KeyBloomFilter filter, String urlOrKey) {
+        String key = keyOf(urlOrKey);
+        if (key == null) return 0;
+        filter.add(key);
+        return 1;
+    }
+
+    /**
+     * ".../files/{key}" URL 이면 key, 스킴 없는 값(storage_key)은 그대로, 외부 URL 은 null.
+     * public-base-url 이 바뀌기 전에 저장된 행도 잡히도록 호스트는 보지 않는다.
+     * URL 은 호스트 뒤 경로에서 처음 나오는 "/files/" 이후, 스킴 없는 값은 맨 앞 "/files/" 또는 "/" 만 뗀다
+     * → storage_key 중간에 "/files/" 가 있어도 잘리지 않음 (여기서 키가 틀리면 DELETE 모드가 참조 중인 객체를 지운다).
+     */
+    static String keyOf(String urlOrKey) {
+        if (urlOrKey == null || urlOrKey.isBlank()) return null;
+        String key;
+        int scheme = urlOrKey.indexOf("://");
+        if (scheme >= 0) {
+            int slash = urlOrKey.indexOf('/', scheme + "://".length());
+            int idx = slash < 0 ? -1 : urlOrKey.indexOf("/files/", slash);
+            if (idx < 0) return null;
+            key = urlOrKey.substring(idx + "/files/".length());
+        } else if (urlOrKey.startsWith("/files/")) {
+            key = urlOrKey.substring("/files/".length());
+        } else {
+            key = urlOrKey.startsWith("/") ? urlOrKey.substring(1) : urlOrKey;
+        }
+        int q = indexOfAny(key, '?', '#');
+        if (q >= 0) key = key.substring(0, q);
+        return key.isEmpty() ? null : key;
+    }
+
+    private static int indexOfAny(String s, char a, char b) {
+        int i = s.indexOf(a);
+        int j = s.indexOf(b);
+        if (i < 0) return j;
+        if (j < 0) return i;
+        return Math.min(i, j);
+    }
+
+    private static final class Stats {
+        long scanned;
+        long orphans;
+        long orphanBytes;
+    }
+}
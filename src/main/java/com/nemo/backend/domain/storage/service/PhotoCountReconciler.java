@@ -0,0 +1,35 @@
+package com.nemo.backend.domain.storage.service;
+
+import com.nemo.backend.domain.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * users.used_photo_count 보정 작업.
+ *
+ * 카운터는 업로드/삭제 트랜잭션에서 함께 증감하지만, 수동 DB 작업이나 배포 전 데이터 등으로
+ * 실제 photos 개수와 어긋날 수 있다. 주기적으로 실제 개수와 다른 사용자만 다시 맞춘다.
+ * 최초 백필은 마이그레이션에서 한 번만 수행한다. 기동 시 실행은 하지 않는다
+ * (롤링 배포 중 모든 인스턴스가 업로드와 동시에 전체 테이블 UPDATE 를 돌게 되므로).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PhotoCountReconciler {
+
+    private final UserRepository userRepository;
+
+    @Scheduled(cron = "${app.storage.reconcile-cron:0 30 4 * * *}")
+    @Transactional
+    public void reconcile() {
+        int fixed = userRepository.reconcileUsedPhotoCounts();
+        if (fixed > 0) {
+            log.warn("[PhotoCountReconciler] used_photo_count corrected for {} user(s)", fixed);
+        } else {
+            log.debug("[PhotoCountReconciler] no drift");
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.nemo.backend.domain.storage.service;
 
-import com.nemo.backend.domain.photo.repository.PhotoRepository;
 import com.nemo.backend.domain.storage.dto.StorageQuotaResponse;
 import com.nemo.backend.domain.storage.exception.PhotoLimitExceededException;
 import com.nemo.backend.domain.user.entity.User;
@@ -17,7 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 public class StorageService {
 
     private final UserRepository userRepository;
-    private final PhotoRepository photoRepository;
 
     // ✅ 저장 한도/사용량 조회
     public StorageQuotaResponse getQuota(Long userId) {
@@ -25,7 +23,7 @@ public class StorageService {
                 .orElseThrow(() -> new ApiException(ErrorCode.USER_NOT_FOUND));
 
         int maxPhotos = user.getMaxPhotoCount();
-        int usedPhotos = photoRepository.countByUserIdAndDeletedIsFalse(userId);
+        int usedPhotos = user.getUsedPhotoCount();
         int remainPhotos = Math.max(0, maxPhotos - usedPhotos);
 
         double usagePercent = 0.0;
@@ -43,16 +41,39 @@ public class StorageService {
                 .build();
     }
 
-    // ✅ 업로드 전에 한도 체크 (초과 시 예외 던짐)
-    public void checkPhotoLimitOrThrow(Long userId) {
+    // ✅ 무거운 작업 전에 한도만 미리 확인 (잠금 없는 조회, 확정은 reservePhotoSlotOrThrow)
+    public void checkPhotoSlotOrThrow(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ApiException(ErrorCode.USER_NOT_FOUND));
+        if (user.getUsedPhotoCount() >= user.getMaxPhotoCount()) {
+            throw new PhotoLimitExceededException(user.getMaxPhotoCount(), user.getUsedPhotoCount());
+        }
+    }
 
-        int maxPhotos = user.getMaxPhotoCount();
-        int usedPhotos = photoRepository.countByUserIdAndDeletedIsFalse(userId);
-
-        if (usedPhotos >= maxPhotos) {
-            throw new PhotoLimitExceededException(maxPhotos, usedPhotos);
+    // ✅ 저장 직전에 한도 체크 + 1장분 자리 확보 (초과 시 예외 던짐)
+    //    - users 행 1개에 대한 조건부 UPDATE 라 COUNT(*) 없이 원자적으로 판정
+    //    - 호출한 트랜잭션이 롤백되면 확보한 자리도 함께 롤백됨
+    //    - UPDATE 가 커밋까지 users 행을 잠그므로 트랜잭션의 마지막 단계(INSERT 직전)에서 호출할 것
+    @Transactional
+    public void reservePhotoSlotOrThrow(Long userId) {
+        if (userRepository.tryReservePhotoSlot(userId) > 0) {
+            return;
         }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ApiException(ErrorCode.USER_NOT_FOUND));
+        throw new PhotoLimitExceededException(user.getMaxPhotoCount(), user.getUsedPhotoCount());
+    }
+
+    // ✅ 사진 삭제 시 1장분 반환
+    @Transactional
+    public void releasePhotoSlot(Long userId) {
+        userRepository.releasePhotoSlot(userId);
+    }
+
+    // ✅ 일괄 삭제 시 count 장분 반환 (UPDATE 1번)
+    @Transactional
+    public void releasePhotoSlots(Long userId, int count) {
+        if (count <= 0) return;
+        userRepository.releasePhotoSlots(userId, count);
     }
 }
@@ -3,6 +3,7 @@ package com.nemo.backend.domain.timeline.controller;
 
 import com.nemo.backend.domain.auth.util.AuthExtractor;
 import com.nemo.backend.domain.timeline.dto.TimelineDayResponse;
+import com.nemo.backend.domain.timeline.dto.TimelineFeedResponse;
 import com.nemo.backend.domain.timeline.dto.TimelapseDayResponse;
 import com.nemo.backend.domain.timeline.service.TimelineService;
 import com.nemo.backend.global.exception.ApiException;
@@ -49,6 +50,25 @@ public class TimelineController {
         return ResponseEntity.ok(timeline);
     }
 
+    /**
+     * ✅ 타임라인 무한 스크롤
+     * GET /api/timeline/feed?cursor=...&size=30
+     * cursor 는 직전 응답의 nextCursor (첫 페이지는 생략), size 최대 100
+     */
+    @Operation(
+            summary = "타임라인 피드 조회 (커서 페이지네이션)",
+            description = "촬영일시 최신순으로 size 장씩 조회합니다. 응답의 nextCursor 로 다음 페이지를 요청합니다."
+    )
+    @GetMapping("/feed")
+    public ResponseEntity<TimelineFeedResponse> getTimelineFeed(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "30") int size
+    ) {
+        Long userId = authExtractor.extractUserId(authorizationHeader);
+        return ResponseEntity.ok(timelineService.getTimelineFeed(userId, cursor, size));
+    }
+
     /**
      * ✅ 캘린더 타임랩스 조회
      * GET /api/timeline/timelapse?year=2025&month=7
@@ -0,0 +1,14 @@
+// backend/src/main/java/com/nemo/backend/domain/timeline/dto/TimelineFeedResponse.java
+package com.nemo.backend.domain.timeline.dto;
+
+import java.util.List;
+
+/**
+ * 타임라인 무한 스크롤 1페이지.
+ * 페이지 경계에서 같은 날짜가 두 페이지에 걸칠 수 있으므로 클라이언트는 date 기준으로 이어 붙인다.
+ */
+public record TimelineFeedResponse(
+        List<TimelineDayResponse> days,
+        String nextCursor,        // 다음 페이지 요청 시 그대로 전달 (없으면 null)
+        boolean hasNext
+) {}
@@ -4,6 +4,7 @@ package com.nemo.backend.domain.timeline.dto;
 public record TimelinePhotoItem(
         long photoId,
         String imageUrl,
+        String thumbnailUrl,   // 그리드용 256px 렌디션 (없으면 imageUrl)
         String location,
         String brand
 ) {}
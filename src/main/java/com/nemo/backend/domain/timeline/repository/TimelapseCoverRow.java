@@ -0,0 +1,9 @@
+// backend/src/main/java/com/nemo/backend/domain/timeline/repository/TimelapseCoverRow.java
+package com.nemo.backend.domain.timeline.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 타임랩스 대표 이미지 후보 (일별 최신 사진)
+ */
+public record TimelapseCoverRow(LocalDateTime shotAt, String thumbnailUrl, String imageUrl) {}
@@ -0,0 +1,14 @@
+// backend/src/main/java/com/nemo/backend/domain/timeline/repository/TimelapseDayRow.java
+package com.nemo.backend.domain.timeline.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 타임랩스 일별 집계 결과 (GROUP BY 날짜)
+ *
+ * @param date     날짜 (takenAt, 없으면 createdAt 기준)
+ * @param count    그날 사진 수
+ * @param latestAt 그날 가장 늦은 촬영 시각 → 대표 썸네일 조회용
+ */
+public record TimelapseDayRow(LocalDate date, Long count, LocalDateTime latestAt) {}
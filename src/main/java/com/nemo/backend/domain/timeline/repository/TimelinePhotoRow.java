@@ -0,0 +1,26 @@
+// backend/src/main/java/com/nemo/backend/domain/timeline/repository/TimelinePhotoRow.java
+package com.nemo.backend.domain.timeline.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 타임라인 목록용 사진 프로젝션 (엔티티 전체 대신 필요한 컬럼만 조회)
+ */
+public record TimelinePhotoRow(
+        Long id,
+        String imageUrl,
+        String thumbnailUrl,
+        String location,
+        String brand,
+        LocalDateTime takenAt,
+        LocalDateTime createdAt
+) {
+
+    /** 타임라인 날짜: takenAt 우선, 없으면 createdAt */
+    public LocalDate date() {
+        if (takenAt != null) return takenAt.toLocalDate();
+        if (createdAt != null) return createdAt.toLocalDate();
+        return null;
+    }
+}
@@ -0,0 +1,147 @@
+// backend/src/main/java/com/nemo/backend/domain/timeline/repository/TimelineRepository.java
+package com.nemo.backend.domain.timeline.repository;
+
+import com.nemo.backend.domain.photo.entity.Photo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 타임라인/타임랩스 전용 조회 (photos 테이블, 읽기 전용).
+ * -------------------------------------------
+ * - 기간 조건과 날짜별 집계를 DB 에서 처리 → 유저 전체 사진을 메모리로 올리지 않음
+ * - 모든 기간 조건은 takenAt 범위(+ takenAt 이 없는 행은 createdAt 범위)로 표현해
+ *   photos(user_id, deleted, taken_at) 인덱스를 탄다
+ * - 날짜 기준은 기존과 동일하게 takenAt, 없으면 createdAt
+ */
+public interface TimelineRepository extends Repository<Photo, Long> {
+
+    /**
+     * ✅ 기간 내 사진 목록 (takenAt 최신순)
+     * - from 포함, to 미포함
+     */
+    @Query("""
+        SELECT new com.nemo.backend.domain.timeline.repository.TimelinePhotoRow(
+            p.id, p.imageUrl, p.thumbnailUrl, p.location, p.brand, p.takenAt, p.createdAt)
+        FROM Photo p
+        WHERE p.userId = :userId
+          AND p.deleted = false
+          AND ((p.takenAt >= :from AND p.takenAt < :to)
+               OR (p.takenAt IS NULL AND p.createdAt >= :from AND p.createdAt < :to))
+        ORDER BY p.takenAt DESC, p.id DESC
+        """)
+    List<TimelinePhotoRow> findRowsBetween(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * ✅ 기간 제한 없는 전체 목록 (year 없이 호출된 경우)
+     */
+    @Query("""
+        SELECT new com.nemo.backend.domain.timeline.repository.TimelinePhotoRow(
+            p.id, p.imageUrl, p.thumbnailUrl, p.location, p.brand, p.takenAt, p.createdAt)
+        FROM Photo p
+        WHERE p.userId = :userId
+          AND p.deleted = false
+        ORDER BY p.takenAt DESC, p.id DESC
+        """)
+    List<TimelinePhotoRow> findAllRows(@Param("userId") Long userId);
+
+    /**
+     * ✅ 기간 내 날짜별 사진 수 + 그날 가장 늦은 시각
+     */
+    @Query("""
+        SELECT new com.nemo.backend.domain.timeline.repository.TimelapseDayRow(
+            cast(coalesce(p.takenAt, p.createdAt) as LocalDate),
+            count(p),
+            max(coalesce(p.takenAt, p.createdAt)))
+        FROM Photo p
+        WHERE p.userId = :userId
+          AND p.deleted = false
+          AND ((p.takenAt >= :from AND p.takenAt < :to)
+               OR (p.takenAt IS NULL AND p.createdAt >= :from AND p.createdAt < :to))
+        GROUP BY cast(coalesce(p.takenAt, p.createdAt) as LocalDate)
+        """)
+    List<TimelapseDayRow> countByDayBetween(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * ✅ 일별 대표 이미지 후보: 각 날짜의 가장 늦은 시각에 찍힌 사진들
+     * - shotAts 는 countByDayBetween 의 latestAt 목록 (한 달 최대 31개)
+     */
+    @Query("""
+        SELECT new com.nemo.backend.domain.timeline.repository.TimelapseCoverRow(
+            coalesce(p.takenAt, p.createdAt), p.thumbnailUrl, p.imageUrl)
+        FROM Photo p
+        WHERE p.userId = :userId
+          AND p.deleted = false
+          AND ((p.takenAt IN :shotAts)
+               OR (p.takenAt IS NULL AND p.createdAt IN :shotAts))
+        ORDER BY p.id DESC
+        """)
+    List<TimelapseCoverRow> findCovers(
+            @Param("userId") Long userId,
+            @Param("shotAts") Collection<LocalDateTime> shotAts
+    );
+
+    // ===== 무한 스크롤 피드 (keyset) =====
+    // 정렬: takenAt DESC, id DESC (takenAt 이 없는 예전 데이터는 맨 뒤, id DESC)
+    // InnoDB 보조 인덱스는 PK(id) 를 뒤에 달고 있으므로 (user_id, deleted, taken_at) 인덱스로 정렬까지 해결된다.
+    // Pageable 은 LIMIT 용도로만 사용 (offset 항상 0)
+
+    /** ✅ 첫 페이지 */
+    @Query("""
+        SELECT new com.nemo.backend.domain.timeline.repository.TimelinePhotoRow(
+            p.id, p.imageUrl, p.thumbnailUrl, p.location, p.brand, p.takenAt, p.createdAt)
+        FROM Photo p
+        WHERE p.userId = :userId
+          AND p.deleted = false
+          AND p.takenAt IS NOT NULL
+        ORDER BY p.takenAt DESC, p.id DESC
+        """)
+    List<TimelinePhotoRow> findFeedFirst(@Param("userId") Long userId, Pageable limit);
+
+    /** ✅ (takenAt, id) < (:takenAt, :id) 다음 페이지 */
+    @Query("""
+        SELECT new com.nemo.backend.domain.timeline.repository.TimelinePhotoRow(
+            p.id, p.imageUrl, p.thumbnailUrl, p.location, p.brand, p.takenAt, p.createdAt)
+        FROM Photo p
+        WHERE p.userId = :userId
+          AND p.deleted = false
+          AND (p.takenAt < :takenAt OR (p.takenAt = :takenAt AND p.id < :id))
+        ORDER BY p.takenAt DESC, p.id DESC
+        """)
+    List<TimelinePhotoRow> findFeedAfter(
+            @Param("userId") Long userId,
+            @Param("takenAt") LocalDateTime takenAt,
+            @Param("id") Long id,
+            Pageable limit
+    );
+
+    /** ✅ takenAt 이 없는 사진 구간 (id < :id) */
+    @Query("""
+        SELECT new com.nemo.backend.domain.timeline.repository.TimelinePhotoRow(
+            p.id, p.imageUrl, p.thumbnailUrl, p.location, p.brand, p.takenAt, p.createdAt)
+        FROM Photo p
+        WHERE p.userId = :userId
+          AND p.deleted = false
+          AND p.takenAt IS NULL
+          AND p.id < :id
+        ORDER BY p.id DESC
+        """)
+    List<TimelinePhotoRow> findFeedUndatedAfter(
+            @Param("userId") Long userId,
+            @Param("id") Long id,
+            Pageable limit
+    );
+}
@@ -0,0 +1,38 @@
+// backend/src/main/java/com/nemo/backend/domain/timeline/service/TimelineCursor.java
+package com.nemo.backend.domain.timeline.service;
+
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 타임라인 피드 커서: 마지막으로 내려준 사진의 (takenAt, id).
+ * 클라이언트에는 base64url 문자열로만 노출한다 (형식은 서버 내부 사항).
+ * takenAt 이 null 이면 takenAt 없는 사진 구간을 읽는 중이라는 뜻.
+ */
+record TimelineCursor(LocalDateTime takenAt, long id) {
+
+    private static final String UNDATED = "-";
+
+    String encode() {
+        String raw = (takenAt != null ? takenAt.toString() : UNDATED) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TimelineCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep <= 0) throw new IllegalArgumentException("separator");
+            String t = raw.substring(0, sep);
+            long id = Long.parseLong(raw.substring(sep + 1));
+            return new TimelineCursor(UNDATED.equals(t) ? null : LocalDateTime.parse(t), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ApiException(ErrorCode.INVALID_QUERY, "cursor 값이 올바르지 않습니다.");
+        }
+    }
+}
@@ -2,6 +2,7 @@
 package com.nemo.backend.domain.timeline.service;
 
 import com.nemo.backend.domain.timeline.dto.TimelineDayResponse;
+import com.nemo.backend.domain.timeline.dto.TimelineFeedResponse;
 import com.nemo.backend.domain.timeline.dto.TimelapseDayResponse;
 
 import java.util.List;
@@ -14,6 +15,12 @@ public interface TimelineService {
      */
     List<TimelineDayResponse> getTimeline(Long userId, Integer year, Integer month);
 
+    /**
+     * 타임라인 무한 스크롤 (keyset 페이지네이션)
+     * cursor 는 직전 응답의 nextCursor (첫 페이지는 null)
+     */
+    TimelineFeedResponse getTimelineFeed(Long userId, String cursor, int size);
+
     /**
      * 캘린더 타임랩스 조회
      * year, month 필수
@@ -1,17 +1,21 @@
 // backend/src/main/java/com/nemo/backend/domain/timeline/service/TimelineServiceImpl.java
 package com.nemo.backend.domain.timeline.service;
 
-import com.nemo.backend.domain.photo.dto.PhotoResponseDto;
-import com.nemo.backend.domain.photo.entity.Photo;
-import com.nemo.backend.domain.photo.repository.PhotoRepository;
 import com.nemo.backend.domain.timeline.dto.TimelineDayResponse;
+import com.nemo.backend.domain.timeline.dto.TimelineFeedResponse;
 import com.nemo.backend.domain.timeline.dto.TimelinePhotoItem;
 import com.nemo.backend.domain.timeline.dto.TimelapseDayResponse;
+import com.nemo.backend.domain.timeline.repository.TimelapseCoverRow;
+import com.nemo.backend.domain.timeline.repository.TimelapseDayRow;
+import com.nemo.backend.domain.timeline.repository.TimelinePhotoRow;
+import com.nemo.backend.domain.timeline.repository.TimelineRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,81 +24,107 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class TimelineServiceImpl implements TimelineService {
 
-    private final PhotoRepository photoRepository;
+    /** 피드 1페이지 최대 사진 수 */
+    private static final int MAX_FEED_SIZE = 100;
+
+    private final TimelineRepository timelineRepository;
 
     @Override
     public List<TimelineDayResponse> getTimeline(Long userId, Integer year, Integer month) {
-        // takenAt 기준 최신순 전체 조회 (삭제되지 않은 것만)
-        List<Photo> photos = photoRepository.findByUserIdAndDeletedIsFalseOrderByTakenAtDesc(userId);
-
-        Map<LocalDate, List<TimelinePhotoItem>> grouped = new LinkedHashMap<>();
-
-        for (Photo photo : photos) {
-            LocalDate date = resolveDate(photo);
-            if (date == null) continue;
+        // year 가 있으면 해당 연/월 범위만 DB 에서 조회 (takenAt 최신순)
+        List<TimelinePhotoRow> rows;
+        if (year != null) {
+            LocalDate from = (month != null) ? LocalDate.of(year, month, 1) : LocalDate.of(year, 1, 1);
+            LocalDate to = (month != null) ? from.plusMonths(1) : from.plusYears(1);
+            rows = timelineRepository.findRowsBetween(userId, from.atStartOfDay(), to.atStartOfDay());
+        } else {
+            rows = timelineRepository.findAllRows(userId);
+        }
 
-            // year / month 선택적 필터링 (day 없음)
-            if (year != null && date.getYear() != year) continue;
-            if (month != null && date.getMonthValue() != month) continue;
+        // year 없이 month 만 온 경우 (모든 연도의 해당 월)
+        if (year == null && month != null) {
+            rows = rows.stream()
+                    .filter(row -> row.date() != null && row.date().getMonthValue() == month)
+                    .collect(Collectors.toList());
+        }
 
-            PhotoResponseDto dto = new PhotoResponseDto(photo);
+        return groupByDay(rows);
+    }
 
-            TimelinePhotoItem item = new TimelinePhotoItem(
-                    dto.getId(),
-                    dto.getImageUrl(),
-                    dto.getLocation(),
-                    dto.getBrand()
-            );
+    @Override
+    public TimelineFeedResponse getTimelineFeed(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        int limit = pageSize + 1; // 1건 더 읽어서 다음 페이지 유무 판단
+
+        TimelineCursor after = (cursor == null || cursor.isBlank()) ? null : TimelineCursor.decode(cursor);
+
+        List<TimelinePhotoRow> rows = new ArrayList<>(limit);
+        if (after == null) {
+            rows.addAll(timelineRepository.findFeedFirst(userId, PageRequest.of(0, limit)));
+        } else if (after.takenAt() != null) {
+            rows.addAll(timelineRepository.findFeedAfter(
+                    userId, after.takenAt(), after.id(), PageRequest.of(0, limit)));
+        }
+        // takenAt 있는 사진을 다 읽었으면 takenAt 없는 (예전) 사진으로 이어서 채운다
+        if (rows.size() < limit) {
+            long undatedAfter = (after != null && after.takenAt() == null) ? after.id() : Long.MAX_VALUE;
+            rows.addAll(timelineRepository.findFeedUndatedAfter(
+                    userId, undatedAfter, PageRequest.of(0, limit - rows.size())));
+        }
 
-            grouped.computeIfAbsent(date, d -> new ArrayList<>()).add(item);
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            TimelinePhotoRow last = rows.get(rows.size() - 1);
+            nextCursor = new TimelineCursor(last.takenAt(), last.id()).encode();
         }
 
-        // LinkedHashMap 순서 유지 → takenAt DESC 순으로 날짜 그룹 반환
-        return grouped.entrySet().stream()
-                .map(entry -> new TimelineDayResponse(
-                        entry.getKey().toString(), // "YYYY-MM-DD"
-                        entry.getValue()
-                ))
-                .collect(Collectors.toList());
+        return new TimelineFeedResponse(groupByDay(rows), nextCursor, hasNext);
     }
 
     @Override
     public List<TimelapseDayResponse> getTimelapse(Long userId, int year, int month) {
-        List<Photo> photos = photoRepository.findByUserIdAndDeletedIsFalseOrderByTakenAtDesc(userId);
-
-        Map<LocalDate, DayStats> statsMap = new HashMap<>();
-
-        for (Photo photo : photos) {
-            LocalDate date = resolveDate(photo);
-            if (date == null) continue;
-
-            if (date.getYear() != year || date.getMonthValue() != month) continue;
-
-            PhotoResponseDto dto = new PhotoResponseDto(photo);
-
-            DayStats stats = statsMap.computeIfAbsent(date, d -> new DayStats());
-            stats.count++;
-
-            if (stats.thumbnailUrl == null || stats.thumbnailUrl.isBlank()) {
-                String candidate = dto.getThumbnailUrl();
+        LocalDate firstDay = LocalDate.of(year, month, 1);
+        LocalDateTime from = firstDay.atStartOfDay();
+        LocalDateTime to = firstDay.plusMonths(1).atStartOfDay();
+
+        // 날짜별 개수는 DB GROUP BY 로 집계
+        List<TimelapseDayRow> days = timelineRepository.countByDayBetween(userId, from, to);
+
+        // 대표 썸네일: 각 날짜의 가장 최근 사진 (기존: takenAt DESC 순 첫 번째)
+        Map<LocalDateTime, String> coverByShotAt = new HashMap<>();
+        if (!days.isEmpty()) {
+            Set<LocalDateTime> shotAts = days.stream()
+                    .map(TimelapseDayRow::latestAt)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            for (TimelapseCoverRow cover : timelineRepository.findCovers(userId, shotAts)) {
+                String candidate = cover.thumbnailUrl();
                 if (candidate == null || candidate.isBlank()) {
-                    candidate = dto.getImageUrl();
+                    candidate = cover.imageUrl();
                 }
-                stats.thumbnailUrl = candidate;
+                coverByShotAt.putIfAbsent(cover.shotAt(), candidate);
             }
         }
 
-        LocalDate firstDay = LocalDate.of(year, month, 1);
+        Map<LocalDate, TimelapseDayRow> statsMap = new HashMap<>();
+        for (TimelapseDayRow day : days) {
+            if (day.date() != null) statsMap.put(day.date(), day);
+        }
+
         int daysInMonth = firstDay.lengthOfMonth();
 
         List<TimelapseDayResponse> result = new ArrayList<>(daysInMonth);
         for (int d = 1; d <= daysInMonth; d++) {
             LocalDate date = LocalDate.of(year, month, d);
-            DayStats stats = statsMap.get(date);
+            TimelapseDayRow stats = statsMap.get(date);
 
-            boolean hasPhoto = stats != null && stats.count > 0;
-            String thumbnailUrl = hasPhoto ? stats.thumbnailUrl : null;
-            int photoCount = hasPhoto ? stats.count : 0;
+            boolean hasPhoto = stats != null && stats.count() > 0;
+            String thumbnailUrl = hasPhoto ? coverByShotAt.get(stats.latestAt()) : null;
+            int photoCount = hasPhoto ? stats.count().intValue() : 0;
 
             result.add(new TimelapseDayResponse(
                     date.toString(),   // "YYYY-MM-DD"
@@ -107,18 +137,30 @@ public class TimelineServiceImpl implements TimelineService {
         return result;
     }
 
-    private LocalDate resolveDate(Photo photo) {
-        if (photo.getTakenAt() != null) {
-            return photo.getTakenAt().toLocalDate();
-        }
-        if (photo.getCreatedAt() != null) {
-            return photo.getCreatedAt().toLocalDate();
+    /** 정렬된 행을 날짜별로 묶는다 (LinkedHashMap 으로 입력 순서 유지) */
+    private List<TimelineDayResponse> groupByDay(List<TimelinePhotoRow> rows) {
+        Map<LocalDate, List<TimelinePhotoItem>> grouped = new LinkedHashMap<>();
+
+        for (TimelinePhotoRow row : rows) {
+            LocalDate date = row.date();
+            if (date == null) continue;
+
+            TimelinePhotoItem item = new TimelinePhotoItem(
+                    row.id(),
+                    row.imageUrl(),
+                    row.thumbnailUrl() != null ? row.thumbnailUrl() : row.imageUrl(),
+                    row.location(),
+                    row.brand()
+            );
+
+            grouped.computeIfAbsent(date, d -> new ArrayList<>()).add(item);
         }
-        return null;
-    }
 
-    private static class DayStats {
-        int count = 0;
-        String thumbnailUrl;
+        return grouped.entrySet().stream()
+                .map(entry -> new TimelineDayResponse(
+                        entry.getKey().toString(), // "YYYY-MM-DD"
+                        entry.getValue()
+                ))
+                .collect(Collectors.toList());
     }
 }
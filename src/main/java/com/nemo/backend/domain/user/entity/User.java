@@ -53,4 +53,13 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private int maxPhotoCount = 20;     // 최대 저장 사진 장수
 
+    /**
+     * 현재 저장 중인 사진 장수 (photos COUNT 비정규화).
+     * 업로드/삭제 시 UserRepository 의 조건부 UPDATE 로만 증감하고,
+     * 어긋난 값은 PhotoCountReconciler 가 주기적으로 바로잡는다.
+     */
+    @Getter
+    @Column(name = "used_photo_count", nullable = false)
+    private int usedPhotoCount = 0;
+
 }
@@ -0,0 +1,4 @@
+package com.nemo.backend.domain.user.repository;
+
+/** 고아 객체 정리용: 프로필 이미지 URL */
+public record ProfileImageRow(Long id, String profileImageUrl) {}
@@ -1,8 +1,11 @@
 package com.nemo.backend.domain.user.repository;
 
 import com.nemo.backend.domain.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,6 +17,7 @@ import java.util.Optional;
  * - 기본 CRUD (findById, save 등)
  * - 이메일 단건 조회 (findByEmail)
  * - 닉네임/이메일 기반 검색 기능 추가 (searchByNicknameOrEmail)
+ * - 사진 장수 카운터 증감/보정 (tryReservePhotoSlot / releasePhotoSlot / reconcileUsedPhotoCounts)
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -39,4 +43,52 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<User> searchByNicknameOrEmail(String keyword);
     boolean existsByEmail(String email);
+
+    /**
+     * ✅ 업로드 1장분 자리 확보
+     * -----------------------------
+     * - 한도 미만일 때만 +1 (단일 행 조건부 UPDATE → 동시 업로드에도 초과 불가)
+     * - 반환값 0 이면 한도 초과 또는 사용자 없음
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.usedPhotoCount = u.usedPhotoCount + 1 " +
+            "WHERE u.id = :userId AND u.usedPhotoCount < u.maxPhotoCount")
+    int tryReservePhotoSlot(@Param("userId") Long userId);
+
+    /**
+     * ✅ 사진 삭제 시 1장분 반환 (0 미만으로 내려가지 않음)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.usedPhotoCount = u.usedPhotoCount - 1 " +
+            "WHERE u.id = :userId AND u.usedPhotoCount > 0")
+    int releasePhotoSlot(@Param("userId") Long userId);
+
+    /**
+     * ✅ 일괄 삭제 시 count 장분 반환 (0 미만으로 내려가지 않음)
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.usedPhotoCount = " +
+            "CASE WHEN u.usedPhotoCount > :count THEN u.usedPhotoCount - :count ELSE 0 END " +
+            "WHERE u.id = :userId")
+    int releasePhotoSlots(@Param("userId") Long userId, @Param("count") int count);
+
+    /**
+     * ✅ 고아 객체 정리: 프로필 이미지 URL (id 키셋 페이지)
+     */
+    @Query("SELECT new com.nemo.backend.domain.user.repository.ProfileImageRow(u.id, u.profileImageUrl) " +
+            "FROM User u WHERE u.id > :afterId AND u.profileImageUrl IS NOT NULL ORDER BY u.id ASC")
+    List<ProfileImageRow> findProfileImageUrls(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * ✅ 카운터 보정
+     * -----------------------------
+     * - 실제 photos(deleted = false) 개수와 다른 사용자만 갱신
+     * - 반환값: 보정된 사용자 수
+     */
+    @Modifying
+    @Query(value = "UPDATE users " +
+            "SET used_photo_count = (SELECT COUNT(*) FROM photos p WHERE p.user_id = users.id AND p.deleted = false) " +
+            "WHERE used_photo_count <> (SELECT COUNT(*) FROM photos p WHERE p.user_id = users.id AND p.deleted = false)",
+            nativeQuery = true)
+    int reconcileUsedPhotoCounts();
 }
@@ -58,6 +58,11 @@ public enum ErrorCode {
     INVALID_ARGUMENT(HttpStatus.BAD_REQUEST, "INVALID_ARGUMENT", "잘못된 입력입니다."),
     UPSTREAM_FAILED(HttpStatus.BAD_GATEWAY,  "UPSTREAM_FAILED", "원격 자산 추출 실패했습니다."),
     PHOTO_LIMIT_EXCEEDED(HttpStatus.FORBIDDEN, "PHOTO_LIMIT_EXCEEDED", "저장 가능한 최대 사진 장수를 초과했습니다."),
+    UPLOAD_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "UPLOAD_BUSY", "업로드 처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."),
+    ZIP_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "ZIP_BUSY", "동시에 진행 중인 ZIP 다운로드가 많습니다. 잠시 후 다시 시도해주세요."),
+    UPLOAD_NOT_FOUND(HttpStatus.NOT_FOUND, "UPLOAD_NOT_FOUND", "업로드된 파일을 찾을 수 없습니다. 업로드 URL 로 먼저 파일을 올려주세요."),
+    UPLOAD_ALREADY_CONFIRMED(HttpStatus.CONFLICT, "UPLOAD_ALREADY_CONFIRMED", "이미 등록이 완료된 업로드입니다."),
+    FILE_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "FILE_TOO_LARGE", "파일 크기가 허용 범위를 초과했습니다."),
 
 
     // 사진/앨범 도메인
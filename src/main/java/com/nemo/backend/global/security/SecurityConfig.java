@@ -38,7 +38,8 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
                                 "/files/**",
-                                "/actuator/**",
+                                "/actuator/health",
+                                "/actuator/health/**",
 
                                 "/api/users/signup",
                                 "/api/users/login",
@@ -58,6 +59,9 @@ public class SecurityConfig {
                         // 🔒 그 외 모든 /api/** 는 인증 필요
                         .requestMatchers("/api/**").authenticated()
 
+                        // 🔒 health 외 actuator(metrics 등 JVM/라우트/캐시 지표)는 인증 필요
+                        .requestMatchers("/actuator/**").authenticated()
+
                         // 그 밖의 정적 리소스 등은 일단 허용
                         .anyRequest().permitAll()
                 )
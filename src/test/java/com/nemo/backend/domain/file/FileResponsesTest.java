@@ -0,0 +1,74 @@
+package com.nemo.backend.domain.file;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileResponsesTest {
+
+	private static String rangeOf(String header) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.RANGE, header);
+		return FileResponses.conditionsOf(request).range();
+	}
+
+	@Test
+	void singleRangesArePassedThrough() {
+		assertThat(rangeOf("bytes=0-99")).isEqualTo("bytes=0-99");
+		assertThat(rangeOf("bytes=100-")).isEqualTo("bytes=100-");
+		assertThat(rangeOf("bytes=-500")).isEqualTo("bytes=-500");
+		assertThat(rangeOf("bytes= 0 - 99")).isEqualTo("bytes=0-99");
+	}
+
+	@Test
+	void malformedOrMultiRangesFallBackToFullResponse() {
+		assertThat(rangeOf("bytes=0-99,200-299")).isNull();
+		assertThat(rangeOf("bytes=-")).isNull();
+		assertThat(rangeOf("bytes=abc-")).isNull();
+		assertThat(rangeOf("bytes=--5")).isNull();
+		assertThat(rangeOf("items=0-99")).isNull();
+		assertThat(rangeOf("0-99")).isNull();
+	}
+
+	@Test
+	void noHeadersMeansUnconditional() {
+		S3FileService.ReadConditions c = FileResponses.conditionsOf(new MockHttpServletRequest());
+		assertThat(c.range()).isNull();
+		assertThat(c.ifNoneMatch()).isNull();
+		assertThat(c.ifModifiedSince()).isNull();
+	}
+
+	@Test
+	void malformedIfModifiedSinceIsIgnored() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "not-a-date");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, " ");
+		S3FileService.ReadConditions c = FileResponses.conditionsOf(request);
+		assertThat(c.ifModifiedSince()).isNull();
+		assertThat(c.ifNoneMatch()).isNull();
+	}
+
+	@Test
+	void suffixRangesResolveAgainstObjectSize() {
+		assertThat(S3FileService.resolveRange("bytes=-500", 1000)).containsExactly(500, 999);
+		assertThat(S3FileService.resolveRange("bytes=-5000", 1000)).containsExactly(0, 999);
+		assertThat(S3FileService.resolveRange("bytes=-0", 1000)).isNull();
+		assertThat(S3FileService.resolveRange("bytes=-10", 0)).isNull();
+	}
+
+	@Test
+	void openAndClampedRangesResolveAgainstObjectSize() {
+		assertThat(S3FileService.resolveRange("bytes=0-99", 1000)).containsExactly(0, 99);
+		assertThat(S3FileService.resolveRange("bytes=100-", 1000)).containsExactly(100, 999);
+		assertThat(S3FileService.resolveRange("bytes=900-5000", 1000)).containsExactly(900, 999);
+	}
+
+	@Test
+	void unsatisfiableRangesResolveToNull() {
+		assertThat(S3FileService.resolveRange("bytes=1000-", 1000)).isNull();
+		assertThat(S3FileService.resolveRange("bytes=5-3", 1000)).isNull();
+		assertThat(S3FileService.resolveRange("bytes=99999999999999999999-", 1000)).isNull();
+	}
+}
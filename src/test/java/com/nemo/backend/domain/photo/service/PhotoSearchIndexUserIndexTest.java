@@ -0,0 +1,100 @@
+package com.nemo.backend.domain.photo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoSearchIndexUserIndexTest {
+
+	private static long[] search(PhotoSearchIndex.UserIndex idx, String query) {
+		return idx.search(PhotoSearchTokenizer.queryTokens(query), 100);
+	}
+
+	@Test
+	void multiTokenQueryIsAnAndOfAllTokens() {
+		PhotoSearchIndex.UserIndex idx = new PhotoSearchIndex.UserIndex();
+		idx.put(1, "성수동 카페", null, null);
+		idx.put(2, "성수동 빵집", null, null);
+		idx.put(3, "연남동 카페", null, null);
+
+		assertThat(search(idx, "성수 카페")).containsExactly(1L);
+		assertThat(search(idx, "카페")).containsExactly(3L, 1L);
+		assertThat(search(idx, "성수 라멘")).isEmpty();
+	}
+
+	@Test
+	void tokenInSeveralFieldsOfOneDocCountsOnceWithBestFieldWeight() {
+		PhotoSearchIndex.UserIndex idx = new PhotoSearchIndex.UserIndex();
+		idx.put(10, "성수 데이트", "성수", null);   // 장소(3) + 메모(1) → 장소 가중치
+		idx.put(20, "성수 맛집", null, null);        // 메모(1)
+		idx.put(30, null, null, "성수네컷");          // 브랜드(2)
+
+		assertThat(search(idx, "성수")).containsExactly(10L, 30L, 20L);
+	}
+
+	@Test
+	void equalScoresPreferRecentPhotos() {
+		PhotoSearchIndex.UserIndex idx = new PhotoSearchIndex.UserIndex();
+		idx.put(5, "카페", null, null);
+		idx.put(9, "카페", null, null);
+		idx.put(7, "카페", null, null);
+
+		assertThat(search(idx, "카페")).containsExactly(9L, 7L, 5L);
+	}
+
+	@Test
+	void removedDocIsExcluded() {
+		PhotoSearchIndex.UserIndex idx = new PhotoSearchIndex.UserIndex();
+		idx.put(1, "카페", null, null);
+		idx.put(2, "카페", null, null);
+
+		idx.remove(1);
+		idx.remove(99); // 없는 사진은 무시
+
+		assertThat(search(idx, "카페")).containsExactly(2L);
+	}
+
+	@Test
+	void reputReplacesTheEditedDoc() {
+		PhotoSearchIndex.UserIndex idx = new PhotoSearchIndex.UserIndex();
+		idx.put(1, "성수 카페", null, null);
+		idx.put(2, "성수 카페", null, null);
+
+		idx.put(1, "성수 빵집", null, null);
+
+		assertThat(search(idx, "카페")).containsExactly(2L);
+		assertThat(search(idx, "빵집")).containsExactly(1L);
+		assertThat(search(idx, "성수")).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void resultsStayCorrectAfterCompactionRemapsDocNos() {
+		PhotoSearchIndex.UserIndex idx = new PhotoSearchIndex.UserIndex();
+		for (long id = 1; id <= 1100; id++) {
+			idx.put(id, "카페 " + (id % 2 == 0 ? "성수" : "연남"), null, id <= 1000 ? "옛날" : null);
+		}
+		// 1060 개 삭제 → 1024 개째에서 압축 (지운 수 ≥ 살아있는 수)
+		for (long id = 1; id <= 1060; id++) idx.remove(id);
+
+		long[] live = LongStream.rangeClosed(1061, 1100).map(i -> 1100 + 1061 - i).toArray();
+		assertThat(search(idx, "카페")).containsExactly(live);
+		assertThat(search(idx, "성수 카페"))
+				.containsExactly(LongStream.of(live).filter(i -> i % 2 == 0).toArray());
+		assertThat(search(idx, "옛날")).isEmpty();
+
+		// 압축 전에 지워진 사진에만 있던 토큰의 posting 은 사라진다
+		PhotoSearchIndex.UserIndex fresh = new PhotoSearchIndex.UserIndex();
+		for (long id = 1061; id <= 1100; id++) {
+			fresh.put(id, "카페 " + (id % 2 == 0 ? "성수" : "연남"), null, null);
+		}
+		assertThat(idx.tokenCount()).isEqualTo(fresh.tokenCount());
+
+		// 압축 후 새 docNo 발급 / 재색인도 정상
+		idx.put(2000, "카페 성수", null, null);
+		idx.put(1100, "빵집", null, null);
+		assertThat(search(idx, "성수 카페")).startsWith(2000L).doesNotContain(1100L);
+		assertThat(search(idx, "빵집")).containsExactly(1100L);
+	}
+}
@@ -0,0 +1,66 @@
+package com.nemo.backend.domain.photo.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoSearchTokenizerTest {
+
+	@Test
+	void koreanWordIsIndexedAsUnigramsAndBigrams() {
+		assertThat(PhotoSearchTokenizer.indexTokens("성수동카페"))
+				.containsExactly("성", "성수", "수", "수동", "동", "동카", "카", "카페", "페");
+	}
+
+	@Test
+	void koreanQueryUsesBigramsOnly() {
+		assertThat(PhotoSearchTokenizer.queryTokens("성수동카페"))
+				.containsExactly("성수", "수동", "동카", "카페");
+	}
+
+	@Test
+	void substringQueryMatchesIndexedWord() {
+		assertThat(PhotoSearchTokenizer.indexTokens("성수동카페"))
+				.containsAll(PhotoSearchTokenizer.queryTokens("수동카"))
+				.containsAll(PhotoSearchTokenizer.queryTokens("카페"))
+				.containsAll(PhotoSearchTokenizer.queryTokens("동"));
+	}
+
+	@Test
+	void singleCharacterQueryIsUnigram() {
+		assertThat(PhotoSearchTokenizer.queryTokens("카")).containsExactly("카");
+	}
+
+	@Test
+	void mixedKoreanAndLatinIsSplitOnNonWordCharacters() {
+		assertThat(PhotoSearchTokenizer.queryTokens("Cafe 성수, 2024년!"))
+				.containsExactly("ca", "af", "fe", "성수", "20", "02", "24", "4년");
+		assertThat(PhotoSearchTokenizer.indexTokens("Cafe 성수"))
+				.containsExactly("c", "ca", "a", "af", "f", "fe", "e", "성", "성수", "수");
+	}
+
+	@Test
+	void fullWidthAndUpperCaseAreNormalized() {
+		assertThat(PhotoSearchTokenizer.queryTokens("ＮＥＭＯ")).containsExactly("ne", "em", "mo");
+		assertThat(PhotoSearchTokenizer.queryTokens("NeMo")).containsExactly("ne", "em", "mo");
+	}
+
+	@Test
+	void duplicateTokensAreRemoved() {
+		assertThat(PhotoSearchTokenizer.queryTokens("하하하 하하")).containsExactly("하하");
+	}
+
+	@Test
+	void supplementaryCharactersAreNotSplit() {
+		String ext = new String(Character.toChars(0x20000)); // CJK 확장 B 한자 (surrogate pair)
+		assertThat(PhotoSearchTokenizer.queryTokens(ext + "가")).containsExactly(ext + "가");
+		assertThat(PhotoSearchTokenizer.indexTokens(ext + "가")).containsExactly(ext, ext + "가", "가");
+	}
+
+	@Test
+	void blankInputHasNoTokens() {
+		assertThat(PhotoSearchTokenizer.indexTokens(null)).isEmpty();
+		assertThat(PhotoSearchTokenizer.queryTokens("   ")).isEmpty();
+		assertThat(PhotoSearchTokenizer.queryTokens("!@#")).isEmpty();
+	}
+}
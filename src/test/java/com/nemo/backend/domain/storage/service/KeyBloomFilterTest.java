@@ -0,0 +1,62 @@
+package com.nemo.backend.domain.storage.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyBloomFilterTest {
+
+	private static String key(int i) {
+		return "albums/2025-11-27/" + new UUID(i, ~i) + ".webp";
+	}
+
+	@Test
+	void everyAddedKeyIsReported() {
+		int n = 200_000;
+		KeyBloomFilter filter = new KeyBloomFilter(n, 0.01);
+		for (int i = 0; i < n; i++) filter.add(key(i));
+
+		for (int i = 0; i < n; i++) {
+			assertThat(filter.mightContain(key(i))).as(key(i)).isTrue();
+		}
+	}
+
+	@Test
+	void noFalseNegativesWhenOverfilled() {
+		KeyBloomFilter filter = new KeyBloomFilter(100, 0.01);
+		for (int i = 0; i < 10_000; i++) filter.add(key(i));
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain(key(i))).as(key(i)).isTrue();
+		}
+	}
+
+	@Test
+	void nonAsciiKeysAreHashedByUtf8Bytes() {
+		KeyBloomFilter filter = new KeyBloomFilter(10, 0.01);
+		filter.add("albums/성수동/카페.jpg");
+		assertThat(filter.mightContain("albums/성수동/카페.jpg")).isTrue();
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTarget() {
+		int n = 100_000;
+		KeyBloomFilter filter = new KeyBloomFilter(n, 0.01);
+		for (int i = 0; i < n; i++) filter.add(key(i));
+
+		int falsePositives = 0;
+		for (int i = n; i < 2 * n; i++) {
+			if (filter.mightContain(key(i))) falsePositives++;
+		}
+		assertThat((double) falsePositives / n).isLessThan(0.03);
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		KeyBloomFilter filter = new KeyBloomFilter(0, 0.01);
+		assertThat(filter.mightContain("albums/a.jpg")).isFalse();
+		assertThat(filter.sizeInBytes()).isPositive();
+	}
+}
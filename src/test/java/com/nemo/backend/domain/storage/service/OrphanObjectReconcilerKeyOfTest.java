@@ -0,0 +1,73 @@
+package com.nemo.backend.domain.storage.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * keyOf 가 틀리면 참조 중인 객체가 Bloom filter 에 안 들어가 DELETE 모드에서 지워진다.
+ * 저장 형식별로 S3 키가 정확히 그대로 나오는지 확인.
+ */
+class OrphanObjectReconcilerKeyOfTest {
+
+	private static final String KEY = "albums/2025-11-27/0b7c1f5e-4a0e-4f43-9d55-3c1f0d6e2b9a.webp";
+
+	@Test
+	void filesUrlYieldsKey() {
+		assertThat(OrphanObjectReconciler.keyOf("http://localhost:8080/files/" + KEY)).isEqualTo(KEY);
+		assertThat(OrphanObjectReconciler.keyOf("https://api.nemo.app/files/" + KEY)).isEqualTo(KEY);
+	}
+
+	@Test
+	void filesUrlUnderContextPathYieldsKey() {
+		assertThat(OrphanObjectReconciler.keyOf("https://api.nemo.app/backend/files/" + KEY)).isEqualTo(KEY);
+	}
+
+	@Test
+	void queryAndFragmentAreStripped() {
+		assertThat(OrphanObjectReconciler.keyOf("https://api.nemo.app/files/" + KEY + "?v=3")).isEqualTo(KEY);
+		assertThat(OrphanObjectReconciler.keyOf("https://api.nemo.app/files/" + KEY + "#top")).isEqualTo(KEY);
+		assertThat(OrphanObjectReconciler.keyOf(KEY + "?v=3")).isEqualTo(KEY);
+	}
+
+	@Test
+	void bareStorageKeyIsUnchanged() {
+		assertThat(OrphanObjectReconciler.keyOf(KEY)).isEqualTo(KEY);
+		assertThat(OrphanObjectReconciler.keyOf("staging/direct/7/2025-11-27/a.jpg")).isEqualTo("staging/direct/7/2025-11-27/a.jpg");
+	}
+
+	@Test
+	void leadingSlashIsRemoved() {
+		assertThat(OrphanObjectReconciler.keyOf("/" + KEY)).isEqualTo(KEY);
+		assertThat(OrphanObjectReconciler.keyOf("/files/" + KEY)).isEqualTo(KEY);
+	}
+
+	@Test
+	void bareKeyContainingFilesSegmentIsNotTruncated() {
+		assertThat(OrphanObjectReconciler.keyOf("albums/files/x.jpg")).isEqualTo("albums/files/x.jpg");
+		assertThat(OrphanObjectReconciler.keyOf("albums/a/files/x.jpg")).isEqualTo("albums/a/files/x.jpg");
+	}
+
+	@Test
+	void filesSegmentInsideKeyOfUrlIsKept() {
+		assertThat(OrphanObjectReconciler.keyOf("https://api.nemo.app/files/albums/files/x.jpg"))
+				.isEqualTo("albums/files/x.jpg");
+	}
+
+	@Test
+	void externalUrlsAreNotOurKeys() {
+		assertThat(OrphanObjectReconciler.keyOf("https://k.kakaocdn.net/dn/profile.jpg")).isNull();
+		assertThat(OrphanObjectReconciler.keyOf("https://example.com")).isNull();
+		assertThat(OrphanObjectReconciler.keyOf("https://example.com/")).isNull();
+	}
+
+	@Test
+	void blankOrEmptyKeyIsNull() {
+		assertThat(OrphanObjectReconciler.keyOf(null)).isNull();
+		assertThat(OrphanObjectReconciler.keyOf("")).isNull();
+		assertThat(OrphanObjectReconciler.keyOf("   ")).isNull();
+		assertThat(OrphanObjectReconciler.keyOf("https://api.nemo.app/files/")).isNull();
+		assertThat(OrphanObjectReconciler.keyOf("/files/?v=1")).isNull();
+		assertThat(OrphanObjectReconciler.keyOf("/")).isNull();
+	}
+}
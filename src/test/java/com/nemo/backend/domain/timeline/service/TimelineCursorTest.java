@@ -0,0 +1,63 @@
+package com.nemo.backend.domain.timeline.service;
+
+import com.nemo.backend.global.exception.ApiException;
+import com.nemo.backend.global.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimelineCursorTest {
+
+	private static String encodeRaw(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void assertRejected(String cursor) {
+		assertThatThrownBy(() -> TimelineCursor.decode(cursor))
+				.isInstanceOf(ApiException.class)
+				.extracting(e -> ((ApiException) e).getErrorCode())
+				.isEqualTo(ErrorCode.INVALID_QUERY);
+	}
+
+	@Test
+	void datedCursorRoundTrips() {
+		TimelineCursor cursor = new TimelineCursor(LocalDateTime.of(2024, 5, 17, 13, 45, 12, 123_000_000), 42L);
+		assertThat(TimelineCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void undatedCursorRoundTrips() {
+		TimelineCursor cursor = new TimelineCursor(null, Long.MAX_VALUE);
+		assertThat(TimelineCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void encodedCursorIsUrlSafe() {
+		String encoded = new TimelineCursor(LocalDateTime.of(2024, 1, 1, 0, 0), 7L).encode();
+		assertThat(encoded).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void notBase64IsRejected() {
+		assertRejected("!!!not-base64!!!");
+	}
+
+	@Test
+	void missingSeparatorIsRejected() {
+		assertRejected(encodeRaw("2024-05-17T13:45:12"));
+		assertRejected(encodeRaw("|42"));
+	}
+
+	@Test
+	void tamperedFieldsAreRejected() {
+		assertRejected(encodeRaw("2024-13-40T99:00:00|42"));
+		assertRejected(encodeRaw("2024-05-17T13:45:12|abc"));
+		assertRejected(encodeRaw("2024-05-17T13:45:12|"));
+		assertRejected(encodeRaw("-|99999999999999999999"));
+	}
+}